@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.actuate.metrics.buffer.BufferCounterService;
+import org.springframework.boot.actuate.metrics.buffer.BufferGaugeService;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.buffer.GaugeBuffers;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Benchmarks for the per-request cost of the {@link MetricsFilter}.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsFilterBenchmark {
+
+	private static final FilterChain CHAIN = new FilterChain() {
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response)
+				throws IOException, ServletException {
+			((HttpServletResponse) response).setStatus(200);
+		}
+
+	};
+
+	@Param({ "merged", "per-http-method" })
+	public String submissions;
+
+	@Param({ "1", "100" })
+	public int patterns;
+
+	private MetricsFilter filter;
+
+	@Setup
+	public void setup() {
+		MetricFilterProperties properties = new MetricFilterProperties();
+		if ("per-http-method".equals(this.submissions)) {
+			EnumSet<MetricsFilterSubmission> all = EnumSet
+					.allOf(MetricsFilterSubmission.class);
+			properties.getGaugeSubmissions().addAll(all);
+			properties.getCounterSubmissions().addAll(all);
+		}
+		this.filter = new MetricsFilter(new BufferCounterService(new CounterBuffers()),
+				new BufferGaugeService(new GaugeBuffers()), null, properties);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void filterSingleThread(Requests requests) throws Exception {
+		doFilter(requests);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void filterMaxThreads(Requests requests) throws Exception {
+		doFilter(requests);
+	}
+
+	private void doFilter(Requests requests) throws Exception {
+		this.filter.doFilter(requests.nextRequest(this.patterns), requests.response,
+				CHAIN);
+	}
+
+	/**
+	 * Per-thread requests, one for each path pattern.
+	 */
+	@State(Scope.Thread)
+	public static class Requests {
+
+		private final MockHttpServletRequest[] requests = new MockHttpServletRequest[100];
+
+		private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+		private int next;
+
+		@Setup
+		public void setup() {
+			for (int i = 0; i < this.requests.length; i++) {
+				MockHttpServletRequest request = new MockHttpServletRequest("GET",
+						"/api/orders" + i + "/42");
+				request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+						"/api/orders" + i + "/{id}");
+				this.requests[i] = request;
+			}
+		}
+
+		MockHttpServletRequest nextRequest(int patterns) {
+			MockHttpServletRequest request = this.requests[this.next];
+			this.next = (this.next + 1 >= patterns ? 0 : this.next + 1);
+			return request;
+		}
+
+	}
+
+}
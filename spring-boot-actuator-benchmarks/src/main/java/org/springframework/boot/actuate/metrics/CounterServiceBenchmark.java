@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.actuate.metrics.buffer.BufferCounterService;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.dropwizard.DropwizardMetricServices;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.writer.DefaultCounterService;
+
+/**
+ * Benchmarks for the {@link CounterService} implementations.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterServiceBenchmark {
+
+	@Param({ "default", "buffer", "buffer-coarse", "dropwizard" })
+	public String implementation;
+
+	@Param({ "1", "100", "10000" })
+	public int cardinality;
+
+	private CounterService counterService;
+
+	private String[] names;
+
+	@Setup
+	public void setup() {
+		this.counterService = createCounterService(this.implementation);
+		this.names = MetricNames.create("counter.", this.cardinality);
+	}
+
+	static CounterService createCounterService(String implementation) {
+		if ("default".equals(implementation)) {
+			return new DefaultCounterService(new InMemoryMetricRepository());
+		}
+		if ("buffer".equals(implementation)) {
+			return new BufferCounterService(new CounterBuffers());
+		}
+		if ("buffer-coarse".equals(implementation)) {
+			return new BufferCounterService(new CounterBuffers(1000));
+		}
+		if ("dropwizard".equals(implementation)) {
+			return new DropwizardMetricServices(new MetricRegistry());
+		}
+		throw new IllegalArgumentException(
+				"Unknown implementation '" + implementation + "'");
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void incrementSingleThread(MetricNames.Index index) {
+		this.counterService.increment(index.next(this.names));
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void incrementFourThreads(MetricNames.Index index) {
+		this.counterService.increment(index.next(this.names));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void incrementMaxThreads(MetricNames.Index index) {
+		this.counterService.increment(index.next(this.names));
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.actuate.metrics.buffer.BufferGaugeService;
+import org.springframework.boot.actuate.metrics.buffer.GaugeBuffers;
+import org.springframework.boot.actuate.metrics.dropwizard.DropwizardMetricServices;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.writer.DefaultGaugeService;
+
+/**
+ * Benchmarks for the {@link GaugeService} implementations.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaugeServiceBenchmark {
+
+	@Param({ "default", "buffer", "dropwizard" })
+	public String implementation;
+
+	@Param({ "1", "100", "10000" })
+	public int cardinality;
+
+	private GaugeService gaugeService;
+
+	private String[] names;
+
+	@Setup
+	public void setup() {
+		this.gaugeService = createGaugeService(this.implementation);
+		this.names = MetricNames.create("gauge.", this.cardinality);
+	}
+
+	static GaugeService createGaugeService(String implementation) {
+		if ("default".equals(implementation)) {
+			return new DefaultGaugeService(new InMemoryMetricRepository());
+		}
+		if ("buffer".equals(implementation)) {
+			return new BufferGaugeService(new GaugeBuffers());
+		}
+		if ("dropwizard".equals(implementation)) {
+			return new DropwizardMetricServices(new MetricRegistry());
+		}
+		throw new IllegalArgumentException(
+				"Unknown implementation '" + implementation + "'");
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void submitSingleThread(MetricNames.Index index) {
+		this.gaugeService.submit(index.next(this.names), 12.5);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void submitFourThreads(MetricNames.Index index) {
+		this.gaugeService.submit(index.next(this.names), 12.5);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void submitMaxThreads(MetricNames.Index index) {
+		this.gaugeService.submit(index.next(this.names), 12.5);
+	}
+
+}
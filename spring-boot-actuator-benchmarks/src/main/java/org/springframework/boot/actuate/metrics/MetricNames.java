@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Metric names shared by the benchmarks.
+ *
+ * @author agent (agent@local)
+ */
+public final class MetricNames {
+
+	private MetricNames() {
+	}
+
+	/**
+	 * Create the given number of distinct metric names.
+	 * @param prefix the prefix of the names
+	 * @param cardinality the number of names
+	 * @return the names
+	 */
+	public static String[] create(String prefix, int cardinality) {
+		String[] names = new String[cardinality];
+		for (int i = 0; i < cardinality; i++) {
+			names[i] = prefix + "service" + (i % 10) + ".endpoint" + i;
+		}
+		return names;
+	}
+
+	/**
+	 * Per-thread position used to cycle through the names.
+	 */
+	@State(Scope.Thread)
+	public static class Index {
+
+		private int next;
+
+		public String next(String[] names) {
+			String name = names[this.next];
+			this.next = (this.next + 1 == names.length ? 0 : this.next + 1);
+			return name;
+		}
+
+	}
+
+}
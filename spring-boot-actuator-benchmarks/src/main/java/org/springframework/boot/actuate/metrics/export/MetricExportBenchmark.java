@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.export;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.buffer.BufferMetricReader;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.buffer.GaugeBuffers;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMultiMetricRepository;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.boot.actuate.metrics.writer.MetricWriter;
+import org.springframework.boot.actuate.metrics.writer.PrefixMetricWriter;
+
+/**
+ * Benchmarks for the export path of {@link MetricCopyExporter} and
+ * {@link PrefixMetricGroupExporter}.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricExportBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	public int cardinality;
+
+	private MetricCopyExporter copyExporter;
+
+	private PrefixMetricGroupExporter groupExporter;
+
+	private CountingMetricWriter writer;
+
+	@Setup
+	public void setup() {
+		CounterBuffers counters = new CounterBuffers();
+		GaugeBuffers gauges = new GaugeBuffers();
+		Map<String, List<Metric<?>>> groupValues = new HashMap<>();
+		for (int i = 0; i < this.cardinality; i++) {
+			counters.increment("counter.service" + i, i);
+			gauges.set("gauge.service" + i, i);
+			String group = "group" + (i % 10);
+			if (!groupValues.containsKey(group)) {
+				groupValues.put(group, new ArrayList<Metric<?>>());
+			}
+			groupValues.get(group).add(new Metric<>(group + ".service" + i, i));
+		}
+		InMemoryMultiMetricRepository repository = new InMemoryMultiMetricRepository();
+		for (Map.Entry<String, List<Metric<?>>> entry : groupValues.entrySet()) {
+			repository.set(entry.getKey(), entry.getValue());
+		}
+		this.writer = new CountingMetricWriter();
+		this.copyExporter = new MetricCopyExporter(
+				new BufferMetricReader(counters, gauges), this.writer);
+		this.copyExporter.setIgnoreTimestamps(true);
+		this.groupExporter = new PrefixMetricGroupExporter(repository, this.writer);
+		this.groupExporter.setGroups(groupValues.keySet());
+		this.groupExporter.setIgnoreTimestamps(true);
+	}
+
+	@Benchmark
+	public long copyExport() {
+		this.copyExporter.export();
+		return this.writer.count;
+	}
+
+	@Benchmark
+	public long prefixGroupExport() {
+		this.groupExporter.export();
+		return this.writer.count;
+	}
+
+	private static class CountingMetricWriter
+			implements MetricWriter, PrefixMetricWriter {
+
+		private long count;
+
+		@Override
+		public void set(Metric<?> value) {
+			this.count++;
+		}
+
+		@Override
+		public void increment(Delta<?> delta) {
+			this.count++;
+		}
+
+		@Override
+		public void reset(String metricName) {
+		}
+
+		@Override
+		public void set(String group, Collection<Metric<?>> values) {
+			this.count += values.size();
+		}
+
+		@Override
+		public void increment(String group, Delta<?> delta) {
+			this.count++;
+		}
+
+	}
+
+}
@@ -79,7 +79,8 @@ public class EndpointDocumentation {
 
 	private static final Set<String> SKIPPED = Collections
 			.<String>unmodifiableSet(new HashSet<>(
-					Arrays.asList("/docs", "/logfile", "/heapdump", "/auditevents")));
+					Arrays.asList("/docs", "/logfile", "/heapdump", "/auditevents",
+							"/prometheus")));
 
 	@Autowired
 	private MvcEndpoints mvcEndpoints;
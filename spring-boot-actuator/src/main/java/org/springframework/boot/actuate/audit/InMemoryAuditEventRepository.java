@@ -16,14 +16,20 @@
 
 package org.springframework.boot.actuate.audit;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.util.Assert;
 
 /**
- * In-memory {@link AuditEventRepository} implementation.
+ * In-memory {@link AuditEventRepository} implementation. Events are held in a circular
+ * buffer, indexed by principal and by type. As long as events are added in time order,
+ * the earliest event matching a {@code after} restriction is located using a binary
+ * search. Finding events never blocks the addition of new ones.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -35,19 +41,14 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	private final Object monitor = new Object();
 
-	/**
-	 * Circular buffer of the event with tail pointing to the last element.
-	 */
-	private AuditEvent[] events;
-
-	private volatile int tail = -1;
+	private volatile Events events;
 
 	public InMemoryAuditEventRepository() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public InMemoryAuditEventRepository(int capacity) {
-		this.events = new AuditEvent[capacity];
+		this.events = new Events(capacity);
 	}
 
 	/**
@@ -56,7 +57,7 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 	 */
 	public void setCapacity(int capacity) {
 		synchronized (this.monitor) {
-			this.events = new AuditEvent[capacity];
+			this.events = new Events(capacity);
 		}
 	}
 
@@ -64,8 +65,7 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 	public void add(AuditEvent event) {
 		Assert.notNull(event, "AuditEvent must not be null");
 		synchronized (this.monitor) {
-			this.tail = (this.tail + 1) % this.events.length;
-			this.events[this.tail] = event;
+			this.events.add(event);
 		}
 	}
 
@@ -81,29 +81,251 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	@Override
 	public List<AuditEvent> find(String principal, Date after, String type) {
-		LinkedList<AuditEvent> events = new LinkedList<>();
-		synchronized (this.monitor) {
-			for (int i = 0; i < this.events.length; i++) {
-				AuditEvent event = resolveTailEvent(i);
-				if (event != null && isMatch(principal, after, type, event)) {
-					events.addFirst(event);
+		return this.events.find(principal, after, type);
+	}
+
+	/**
+	 * Circular buffer of events, each event being identified by a sequence number that
+	 * increases with every addition. Only a single thread may add events at a time.
+	 */
+	private static final class Events {
+
+		private final AtomicReferenceArray<Entry> entries;
+
+		private final Map<String, Index> principals = new ConcurrentHashMap<>();
+
+		private final Map<String, Index> types = new ConcurrentHashMap<>();
+
+		private volatile long next;
+
+		private volatile boolean ordered = true;
+
+		private long latestTimestamp = Long.MIN_VALUE;
+
+		Events(int capacity) {
+			this.entries = new AtomicReferenceArray<>(capacity);
+		}
+
+		public void add(AuditEvent event) {
+			long sequence = this.next;
+			int index = index(sequence);
+			Entry evicted = this.entries.get(index);
+			if (evicted != null) {
+				evict(this.principals, evicted.event.getPrincipal());
+				evict(this.types, evicted.event.getType());
+			}
+			long timestamp = event.getTimestamp().getTime();
+			if (timestamp < this.latestTimestamp) {
+				this.ordered = false;
+			}
+			this.latestTimestamp = Math.max(this.latestTimestamp, timestamp);
+			this.entries.set(index, new Entry(sequence, event));
+			getOrCreateIndex(this.principals, event.getPrincipal()).add(sequence);
+			getOrCreateIndex(this.types, event.getType()).add(sequence);
+			this.next = sequence + 1;
+		}
+
+		private void evict(Map<String, Index> indexes, String key) {
+			Index index = indexes.get(key);
+			index.removeFirst();
+			if (index.isEmpty()) {
+				indexes.remove(key);
+			}
+		}
+
+		private Index getOrCreateIndex(Map<String, Index> indexes, String key) {
+			Index index = indexes.get(key);
+			if (index == null) {
+				index = new Index();
+				indexes.put(key, index);
+			}
+			return index;
+		}
+
+		public List<AuditEvent> find(String principal, Date after, String type) {
+			boolean search = (after != null && this.ordered);
+			List<AuditEvent> events = new ArrayList<>();
+			if (principal == null && type == null) {
+				long next = this.next;
+				long first = Math.max(0, next - this.entries.length());
+				long from = (search ? search(first, next, after) : first);
+				for (long sequence = from; sequence < next; sequence++) {
+					addIfMatch(events, sequence, principal, after, type);
+				}
+				return events;
+			}
+			Index index = selectIndex(principal, type);
+			if (index == null) {
+				return events;
+			}
+			Sequences sequences = index.sequences;
+			int end = sequences.end;
+			int start = sequences.start;
+			int from = (search ? search(sequences.values, start, end, after) : start);
+			for (int i = from; i < end; i++) {
+				addIfMatch(events, sequences.values[i], principal, after, type);
+			}
+			return events;
+		}
+
+		private Index selectIndex(String principal, String type) {
+			Index byPrincipal = (principal == null ? null
+					: this.principals.get(principal));
+			Index byType = (type == null ? null : this.types.get(type));
+			if (principal != null && type != null) {
+				if (byPrincipal == null || byType == null) {
+					return null;
 				}
+				return (byPrincipal.size() <= byType.size() ? byPrincipal : byType);
 			}
+			return (principal != null ? byPrincipal : byType);
 		}
-		return events;
+
+		private void addIfMatch(List<AuditEvent> events, long sequence, String principal,
+				Date after, String type) {
+			AuditEvent event = get(sequence);
+			if (event != null && isMatch(principal, after, type, event)) {
+				events.add(event);
+			}
+		}
+
+		/**
+		 * Find the lowest sequence in the specified range whose event is not before the
+		 * specified date.
+		 */
+		private long search(long low, long high, Date after) {
+			while (low < high) {
+				long middle = (low + high) >>> 1;
+				if (isBefore(middle, after)) {
+					low = middle + 1;
+				}
+				else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Find the lowest position in the specified range of indexed sequences whose
+		 * event is not before the specified date.
+		 */
+		private int search(long[] sequences, int low, int high, Date after) {
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (isBefore(sequences[middle], after)) {
+					low = middle + 1;
+				}
+				else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private boolean isBefore(long sequence, Date after) {
+			// Events that have been evicted are older than any event that is left
+			AuditEvent event = get(sequence);
+			return event == null || event.getTimestamp().before(after);
+		}
+
+		private AuditEvent get(long sequence) {
+			Entry entry = this.entries.get(index(sequence));
+			return (entry != null && entry.sequence == sequence ? entry.event : null);
+		}
+
+		private boolean isMatch(String principal, Date after, String type,
+				AuditEvent event) {
+			boolean match = true;
+			match = match
+					&& (principal == null || event.getPrincipal().equals(principal));
+			match = match
+					&& (after == null || event.getTimestamp().compareTo(after) >= 0);
+			match = match && (type == null || event.getType().equals(type));
+			return match;
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.entries.length());
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final long sequence;
+
+		private final AuditEvent event;
+
+		Entry(long sequence, AuditEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+
 	}
 
-	private boolean isMatch(String principal, Date after, String type, AuditEvent event) {
-		boolean match = true;
-		match = match && (principal == null || event.getPrincipal().equals(principal));
-		match = match && (after == null || event.getTimestamp().compareTo(after) >= 0);
-		match = match && (type == null || event.getType().equals(type));
-		return match;
+	/**
+	 * The sequences of the events sharing a principal or a type, in the order in which
+	 * they were added. Sequences are only ever added at the end and removed from the
+	 * start, so readers can safely use a {@link Sequences} instance even after it has
+	 * been replaced.
+	 */
+	private static final class Index {
+
+		private static final int INITIAL_SIZE = 8;
+
+		private volatile Sequences sequences = new Sequences(new long[INITIAL_SIZE], 0);
+
+		public void add(long sequence) {
+			Sequences sequences = this.sequences;
+			if (sequences.end == sequences.values.length) {
+				sequences = sequences.compact(Math.max(INITIAL_SIZE, size() * 2));
+				this.sequences = sequences;
+			}
+			sequences.values[sequences.end] = sequence;
+			sequences.end = sequences.end + 1;
+		}
+
+		public void removeFirst() {
+			Sequences sequences = this.sequences;
+			sequences.start = sequences.start + 1;
+			int length = sequences.values.length;
+			if (length > INITIAL_SIZE && size() < length / 4) {
+				this.sequences = sequences.compact(Math.max(INITIAL_SIZE, size() * 2));
+			}
+		}
+
+		public int size() {
+			Sequences sequences = this.sequences;
+			return sequences.end - sequences.start;
+		}
+
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
 	}
 
-	private AuditEvent resolveTailEvent(int offset) {
-		int index = ((this.tail + this.events.length - offset) % this.events.length);
-		return this.events[index];
+	private static final class Sequences {
+
+		private final long[] values;
+
+		private volatile int start;
+
+		private volatile int end;
+
+		Sequences(long[] values, int end) {
+			this.values = values;
+			this.end = end;
+		}
+
+		public Sequences compact(int length) {
+			int size = this.end - this.start;
+			long[] values = new long[length];
+			System.arraycopy(this.values, this.start, values, 0, size);
+			return new Sequences(values, size);
+		}
+
 	}
 
 }
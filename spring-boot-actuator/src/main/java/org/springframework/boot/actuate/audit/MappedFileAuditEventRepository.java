@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.audit;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import org.springframework.boot.actuate.store.MappedSegmentLog;
+import org.springframework.boot.actuate.store.MappedSegmentLog.RecordCallback;
+import org.springframework.util.Assert;
+
+/**
+ * {@link AuditEventRepository} implementation that stores events as JSON in a
+ * {@link MappedSegmentLog}, keeping them off-heap and across restarts. The number of
+ * events that are kept is bounded by the size and number of segments of the log.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class MappedFileAuditEventRepository implements AuditEventRepository, Closeable {
+
+	private static final String PRINCIPAL = "principal";
+
+	private static final String TYPE = "type";
+
+	private static final String DATA = "data";
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+	private final MappedSegmentLog log;
+
+	/**
+	 * Create a new {@link MappedFileAuditEventRepository} storing its events in the
+	 * specified directory.
+	 * @param directory the directory
+	 * @throws IOException if the existing events cannot be opened
+	 */
+	public MappedFileAuditEventRepository(File directory) throws IOException {
+		this(new MappedSegmentLog(directory));
+	}
+
+	/**
+	 * Create a new {@link MappedFileAuditEventRepository} backed by the specified log.
+	 * @param log the log
+	 */
+	public MappedFileAuditEventRepository(MappedSegmentLog log) {
+		this.log = log;
+	}
+
+	@Override
+	public void add(AuditEvent event) {
+		Assert.notNull(event, "AuditEvent must not be null");
+		Map<String, Object> content = new LinkedHashMap<>();
+		content.put(PRINCIPAL, event.getPrincipal());
+		content.put(TYPE, event.getType());
+		content.put(DATA, event.getData());
+		try {
+			this.log.append(event.getTimestamp().getTime(),
+					this.objectMapper.writeValueAsBytes(content));
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unable to write audit event", ex);
+		}
+	}
+
+	@Override
+	public List<AuditEvent> find(Date after) {
+		return find(null, after, null);
+	}
+
+	@Override
+	public List<AuditEvent> find(String principal, Date after) {
+		return find(principal, after, null);
+	}
+
+	@Override
+	public List<AuditEvent> find(final String principal, Date after,
+			final String type) {
+		final List<AuditEvent> events = new ArrayList<>();
+		this.log.read((after == null ? Long.MIN_VALUE : after.getTime()), false,
+				new RecordCallback() {
+
+					@Override
+					public boolean doWithRecord(long timestamp, ByteBuffer payload) {
+						AuditEvent event = readEvent(timestamp, payload);
+						if ((principal == null || principal.equals(event.getPrincipal()))
+								&& (type == null || type.equals(event.getType()))) {
+							events.add(event);
+						}
+						return true;
+					}
+
+				});
+		return events;
+	}
+
+	@SuppressWarnings("unchecked")
+	private AuditEvent readEvent(long timestamp, ByteBuffer payload) {
+		try {
+			Map<String, Object> content = this.objectMapper
+					.readValue(new ByteBufferBackedInputStream(payload), Map.class);
+			Map<String, Object> data = (Map<String, Object>) content.get(DATA);
+			return new AuditEvent(new Date(timestamp), (String) content.get(PRINCIPAL),
+					(String) content.get(TYPE),
+					(data == null ? Collections.<String, Object>emptyMap() : data));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to read audit event", ex);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.log.close();
+	}
+
+}
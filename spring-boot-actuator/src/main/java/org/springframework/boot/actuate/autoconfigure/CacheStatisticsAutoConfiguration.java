@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.statistics.StatisticsGateway;
 import org.infinispan.spring.provider.SpringCache;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.CaffeineCacheStatisticsProvider;
@@ -33,12 +35,15 @@ import org.springframework.boot.actuate.cache.DefaultCacheStatistics;
 import org.springframework.boot.actuate.cache.EhCacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.HazelcastCacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.InfinispanCacheStatisticsProvider;
+import org.springframework.boot.actuate.cache.InstrumentedCacheManager;
 import org.springframework.boot.actuate.cache.JCacheCacheStatisticsProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -61,6 +66,7 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @AutoConfigureAfter(CacheAutoConfiguration.class)
 @ConditionalOnBean(CacheManager.class)
+@EnableConfigurationProperties(CacheStatisticsProperties.class)
 public class CacheStatisticsAutoConfiguration {
 
 	@Configuration
@@ -68,8 +74,11 @@ public class CacheStatisticsAutoConfiguration {
 	static class JCacheCacheStatisticsProviderConfiguration {
 
 		@Bean
-		public JCacheCacheStatisticsProvider jCacheCacheStatisticsProvider() {
-			return new JCacheCacheStatisticsProvider();
+		public JCacheCacheStatisticsProvider jCacheCacheStatisticsProvider(
+				CacheStatisticsProperties properties) {
+			JCacheCacheStatisticsProvider provider = new JCacheCacheStatisticsProvider();
+			provider.setTimeToLive(properties.getStatisticsTimeToLive());
+			return provider;
 		}
 
 	}
@@ -101,8 +110,11 @@ public class CacheStatisticsAutoConfiguration {
 	static class InfinispanCacheStatisticsProviderConfiguration {
 
 		@Bean
-		public InfinispanCacheStatisticsProvider infinispanCacheStatisticsProvider() {
-			return new InfinispanCacheStatisticsProvider();
+		public InfinispanCacheStatisticsProvider infinispanCacheStatisticsProvider(
+				CacheStatisticsProperties properties) {
+			InfinispanCacheStatisticsProvider provider = new InfinispanCacheStatisticsProvider();
+			provider.setTimeToLive(properties.getStatisticsTimeToLive());
+			return provider;
 		}
 
 	}
@@ -151,4 +163,40 @@ public class CacheStatisticsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnProperty(prefix = "spring.metrics.cache", name = "instrument")
+	static class InstrumentedCacheManagerConfiguration {
+
+		@Bean
+		public static BeanPostProcessor instrumentedCacheManagerPostProcessor() {
+			return new InstrumentedCacheManagerPostProcessor();
+		}
+
+	}
+
+	/**
+	 * {@link BeanPostProcessor} to wrap {@link CacheManager} beans in an
+	 * {@link InstrumentedCacheManager}.
+	 */
+	private static class InstrumentedCacheManagerPostProcessor
+			implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof CacheManager
+					&& !(bean instanceof InstrumentedCacheManager)) {
+				return new InstrumentedCacheManager((CacheManager) bean);
+			}
+			return bean;
+		}
+
+	}
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for cache statistics.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "spring.metrics.cache")
+public class CacheStatisticsProperties {
+
+	/**
+	 * Time in milliseconds during which the statistics of a cache that are read over JMX
+	 * are reused rather than read again. When not set, the statistics are read on every
+	 * request.
+	 */
+	private long statisticsTimeToLive;
+
+	/**
+	 * Instrument cache managers to record the hits, misses, puts, explicit evicts, clears
+	 * and latency of their caches.
+	 */
+	private boolean instrument;
+
+	public long getStatisticsTimeToLive() {
+		return this.statisticsTimeToLive;
+	}
+
+	public void setStatisticsTimeToLive(long statisticsTimeToLive) {
+		this.statisticsTimeToLive = statisticsTimeToLive;
+	}
+
+	public boolean isInstrument() {
+		return this.instrument;
+	}
+
+	public void setInstrument(boolean instrument) {
+		this.instrument = instrument;
+	}
+
+}
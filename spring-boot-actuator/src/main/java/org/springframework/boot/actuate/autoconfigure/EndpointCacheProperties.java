@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the caching of MVC endpoints' responses.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "endpoints.cache")
+public class EndpointCacheProperties {
+
+	/**
+	 * Enable the caching of the serialized responses of endpoints.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Comma-separated list of the ids of the endpoints whose responses are cached.
+	 */
+	private List<String> ids = new ArrayList<>(
+			Arrays.asList("autoconfig", "beans", "configprops", "env", "mappings"));
+
+	/**
+	 * Time in milliseconds that a cached response is served before the endpoint is
+	 * invoked again. When not set, responses are cached until the context is refreshed.
+	 */
+	private Long timeToLive;
+
+	/**
+	 * Compress cached responses with gzip when the client accepts it.
+	 */
+	private boolean compress = true;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<String> getIds() {
+		return this.ids;
+	}
+
+	public void setIds(List<String> ids) {
+		this.ids = ids;
+	}
+
+	public Long getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	public void setTimeToLive(Long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	public boolean isCompress() {
+		return this.compress;
+	}
+
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
+}
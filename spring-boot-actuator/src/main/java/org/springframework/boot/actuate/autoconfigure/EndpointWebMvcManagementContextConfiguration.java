@@ -20,9 +20,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.boot.actuate.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
 import org.springframework.boot.actuate.endpoint.Endpoint;
 import org.springframework.boot.actuate.endpoint.EnvironmentEndpoint;
 import org.springframework.boot.actuate.endpoint.HealthEndpoint;
@@ -30,8 +33,10 @@ import org.springframework.boot.actuate.endpoint.LoggersEndpoint;
 import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.AuditEventsMvcEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.DumpMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMapping;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMappingCustomizer;
+import org.springframework.boot.actuate.endpoint.mvc.EndpointResponseCache;
 import org.springframework.boot.actuate.endpoint.mvc.EnvironmentMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.HealthMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.HeapdumpMvcEndpoint;
@@ -41,11 +46,13 @@ import org.springframework.boot.actuate.endpoint.mvc.MetricsMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.MvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.MvcEndpointSecurityInterceptor;
 import org.springframework.boot.actuate.endpoint.mvc.MvcEndpoints;
+import org.springframework.boot.actuate.endpoint.mvc.PrometheusMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.ShutdownMvcEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage;
 import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -68,7 +75,7 @@ import org.springframework.web.cors.CorsConfiguration;
  */
 @ManagementContextConfiguration
 @EnableConfigurationProperties({ HealthMvcEndpointProperties.class,
-		EndpointCorsProperties.class })
+		EndpointCorsProperties.class, EndpointCacheProperties.class })
 public class EndpointWebMvcManagementContextConfiguration {
 
 	private final HealthMvcEndpointProperties healthMvcEndpointProperties;
@@ -77,21 +84,29 @@ public class EndpointWebMvcManagementContextConfiguration {
 
 	private final EndpointCorsProperties corsProperties;
 
+	private final EndpointCacheProperties cacheProperties;
+
 	private final List<EndpointHandlerMappingCustomizer> mappingCustomizers;
 
+	private final ObjectProvider<EndpointResponseCache> responseCache;
+
 	public EndpointWebMvcManagementContextConfiguration(
 			HealthMvcEndpointProperties healthMvcEndpointProperties,
 			ManagementServerProperties managementServerProperties,
 			EndpointCorsProperties corsProperties,
-			ObjectProvider<List<EndpointHandlerMappingCustomizer>> mappingCustomizers) {
+			EndpointCacheProperties cacheProperties,
+			ObjectProvider<List<EndpointHandlerMappingCustomizer>> mappingCustomizers,
+			ObjectProvider<EndpointResponseCache> responseCache) {
 		this.healthMvcEndpointProperties = healthMvcEndpointProperties;
 		this.managementServerProperties = managementServerProperties;
 		this.corsProperties = corsProperties;
+		this.cacheProperties = cacheProperties;
 		List<EndpointHandlerMappingCustomizer> providedCustomizers = mappingCustomizers
 				.getIfAvailable();
 		this.mappingCustomizers = providedCustomizers == null
 				? Collections.<EndpointHandlerMappingCustomizer>emptyList()
 				: providedCustomizers;
+		this.responseCache = responseCache;
 	}
 
 	@Bean
@@ -139,7 +154,32 @@ public class EndpointWebMvcManagementContextConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public MvcEndpoints mvcEndpoints() {
-		return new MvcEndpoints();
+		MvcEndpoints mvcEndpoints = new MvcEndpoints();
+		mvcEndpoints.setResponseCache(this.responseCache.getIfAvailable());
+		return mvcEndpoints;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "endpoints.cache", name = "enabled")
+	public EndpointResponseCache endpointResponseCache(
+			ObjectProvider<ObjectMapper> objectMapper) {
+		ObjectMapper mapper = objectMapper.getIfAvailable();
+		EndpointResponseCache responseCache = new EndpointResponseCache(
+				mapper != null ? mapper : new ObjectMapper());
+		if (this.cacheProperties.getTimeToLive() != null) {
+			responseCache.setTimeToLive(this.cacheProperties.getTimeToLive());
+		}
+		responseCache.setCompress(this.cacheProperties.isCompress());
+		responseCache.setIds(this.cacheProperties.getIds());
+		return responseCache;
+	}
+
+	@Bean
+	@ConditionalOnBean(DumpEndpoint.class)
+	@ConditionalOnEnabledEndpoint("dump")
+	public DumpMvcEndpoint dumpMvcEndpoint(DumpEndpoint delegate) {
+		return new DumpMvcEndpoint(delegate);
 	}
 
 	@Bean
@@ -186,6 +226,14 @@ public class EndpointWebMvcManagementContextConfiguration {
 		return new MetricsMvcEndpoint(delegate);
 	}
 
+	@Bean
+	@ConditionalOnBean(MetricsEndpoint.class)
+	@ConditionalOnMissingBean
+	@ConditionalOnEnabledEndpoint("prometheus")
+	public PrometheusMvcEndpoint prometheusMvcEndpoint(MetricsEndpoint delegate) {
+		return new PrometheusMvcEndpoint(delegate);
+	}
+
 	@Bean
 	@ConditionalOnEnabledEndpoint("logfile")
 	@Conditional(LogFileCondition.class)
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-memory metric buffers.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "spring.metrics.buffer")
+public class MetricBufferProperties {
+
+	/**
+	 * Resolution in milliseconds of the timestamps of counters. Timestamps are only
+	 * advanced once they are older than the resolution, which reduces contention when a
+	 * counter is incremented concurrently. When not set, the timestamp is updated on
+	 * every increment.
+	 */
+	private long counterTimestampResolution;
+
+	public long getCounterTimestampResolution() {
+		return this.counterTimestampResolution;
+	}
+
+	public void setCounterTimestampResolution(long counterTimestampResolution) {
+		this.counterTimestampResolution = counterTimestampResolution;
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.Map;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.endpoint.MetricsEndpointMetricReader;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.actuate.metrics.export.Exporter;
 import org.springframework.boot.actuate.metrics.export.MetricExportProperties;
 import org.springframework.boot.actuate.metrics.export.MetricExporters;
@@ -63,15 +65,23 @@ public class MetricExportAutoConfiguration {
 
 	private final Map<String, Exporter> exporters;
 
+	private final ObjectProvider<GaugeService> gaugeService;
+
+	private final ObjectProvider<CounterService> counterService;
+
 	public MetricExportAutoConfiguration(MetricExportProperties properties,
 			ObjectProvider<MetricsEndpointMetricReader> endpointReader,
 			@ExportMetricReader ObjectProvider<List<MetricReader>> readers,
 			@ExportMetricWriter ObjectProvider<Map<String, GaugeWriter>> writers,
-			ObjectProvider<Map<String, Exporter>> exporters) {
+			ObjectProvider<Map<String, Exporter>> exporters,
+			ObjectProvider<GaugeService> gaugeService,
+			ObjectProvider<CounterService> counterService) {
 		this.endpointReader = endpointReader.getIfAvailable();
 		this.readers = readers.getIfAvailable();
 		this.writers = writers.getIfAvailable();
 		this.exporters = exporters.getIfAvailable();
+		this.gaugeService = gaugeService;
+		this.counterService = counterService;
 	}
 
 	@Bean
@@ -97,6 +107,8 @@ public class MetricExportAutoConfiguration {
 		}
 		exporters.setExporters(this.exporters == null
 				? Collections.<String, Exporter>emptyMap() : this.exporters);
+		exporters.setGaugeService(this.gaugeService.getIfUnique());
+		exporters.setCounterService(this.counterService.getIfUnique());
 		return exporters;
 	}
 
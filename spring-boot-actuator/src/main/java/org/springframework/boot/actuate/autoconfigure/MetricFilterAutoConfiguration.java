@@ -19,12 +19,18 @@ package org.springframework.boot.actuate.autoconfigure;
 import javax.servlet.Servlet;
 import javax.servlet.ServletRegistration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeMetricReader;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeReader;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeRepository;
+import org.springframework.boot.actuate.metrics.rich.InMemoryHistogramGaugeRepository;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -54,18 +60,49 @@ public class MetricFilterAutoConfiguration {
 
 	private final GaugeService gaugeService;
 
+	private final ObjectProvider<HistogramGaugeRepository> histogramGaugeRepository;
+
 	private final MetricFilterProperties properties;
 
 	public MetricFilterAutoConfiguration(CounterService counterService,
-			GaugeService gaugeService, MetricFilterProperties properties) {
+			GaugeService gaugeService,
+			ObjectProvider<HistogramGaugeRepository> histogramGaugeRepository,
+			MetricFilterProperties properties) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
+		this.histogramGaugeRepository = histogramGaugeRepository;
 		this.properties = properties;
 	}
 
 	@Bean
 	public MetricsFilter metricsFilter() {
-		return new MetricsFilter(this.counterService, this.gaugeService, this.properties);
+		return new MetricsFilter(this.counterService, this.gaugeService,
+				this.histogramGaugeRepository.getIfAvailable(), this.properties);
+	}
+
+	@Configuration
+	@ConditionalOnProperty(prefix = "endpoints.metrics.filter", name = "histogram-submissions")
+	static class HistogramGaugeConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(HistogramGaugeRepository.class)
+		public InMemoryHistogramGaugeRepository histogramGaugeRepository(
+				MetricFilterProperties properties) {
+			InMemoryHistogramGaugeRepository repository = new InMemoryHistogramGaugeRepository();
+			repository.setWindow(properties.getHistogramWindow());
+			return repository;
+		}
+
+		@Bean
+		@ExportMetricReader
+		@ConditionalOnMissingBean
+		public HistogramGaugeMetricReader histogramGaugeMetricReader(
+				HistogramGaugeReader histogramGaugeReader,
+				MetricFilterProperties properties) {
+			return new HistogramGaugeMetricReader(histogramGaugeReader,
+					properties.getHistogramPercentiles());
+		}
+
 	}
 
 }
@@ -42,10 +42,28 @@ public class MetricFilterProperties {
 	 */
 	private Set<MetricsFilterSubmission> counterSubmissions;
 
+	/**
+	 * Submissions that should be recorded in a response time histogram.
+	 */
+	private Set<MetricsFilterSubmission> histogramSubmissions;
+
+	/**
+	 * Percentiles of the response time histograms exposed as metrics.
+	 */
+	private double[] histogramPercentiles = { 0.5, 0.95, 0.99 };
+
+	/**
+	 * Duration in milliseconds of the rolling window of the response time histograms.
+	 * Only the response times recorded during the window are used to compute the
+	 * percentiles. Set to 0 to keep all response times.
+	 */
+	private long histogramWindow = 60000;
+
 	public MetricFilterProperties() {
 		this.gaugeSubmissions = new HashSet<>(EnumSet.of(MetricsFilterSubmission.MERGED));
 		this.counterSubmissions = new HashSet<>(
 				EnumSet.of(MetricsFilterSubmission.MERGED));
+		this.histogramSubmissions = new HashSet<>();
 	}
 
 	public Set<MetricsFilterSubmission> getGaugeSubmissions() {
@@ -64,6 +82,31 @@ public class MetricFilterProperties {
 		this.counterSubmissions = counterSubmissions;
 	}
 
+	public Set<MetricsFilterSubmission> getHistogramSubmissions() {
+		return this.histogramSubmissions;
+	}
+
+	public void setHistogramSubmissions(
+			Set<MetricsFilterSubmission> histogramSubmissions) {
+		this.histogramSubmissions = histogramSubmissions;
+	}
+
+	public double[] getHistogramPercentiles() {
+		return this.histogramPercentiles;
+	}
+
+	public void setHistogramPercentiles(double[] histogramPercentiles) {
+		this.histogramPercentiles = histogramPercentiles;
+	}
+
+	public long getHistogramWindow() {
+		return this.histogramWindow;
+	}
+
+	public void setHistogramWindow(long histogramWindow) {
+		this.histogramWindow = histogramWindow;
+	}
+
 	boolean shouldSubmitToGauge(MetricsFilterSubmission submission) {
 		return shouldSubmit(this.gaugeSubmissions, submission);
 	}
@@ -72,6 +115,10 @@ public class MetricFilterProperties {
 		return shouldSubmit(this.counterSubmissions, submission);
 	}
 
+	boolean shouldSubmitToHistogram(MetricsFilterSubmission submission) {
+		return shouldSubmit(this.histogramSubmissions, submission);
+	}
+
 	private boolean shouldSubmit(Set<MetricsFilterSubmission> submissions,
 			MetricsFilterSubmission submission) {
 		return submissions != null && submissions.contains(submission);
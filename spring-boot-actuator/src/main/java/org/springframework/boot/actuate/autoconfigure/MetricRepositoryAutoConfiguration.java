@@ -31,6 +31,7 @@ import org.springframework.boot.actuate.metrics.repository.InMemoryMetricReposit
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.MessageChannel;
@@ -61,6 +62,10 @@ import org.springframework.messaging.MessageChannel;
  * By default all metric updates go to all {@link MetricWriter} instances in the
  * application context via a {@link MetricCopyExporter} firing every 5 seconds (disable
  * this by setting {@code spring.metrics.export.enabled=false}).
+ * <p>
+ * Setting {@code spring.metrics.buffer.counter-timestamp-resolution} makes the default
+ * {@link CounterBuffers} only advance the timestamps of counters at that resolution,
+ * which reduces contention on counters that are incremented from many threads.
  *
  * @see GaugeService
  * @see CounterService
@@ -74,12 +79,19 @@ public class MetricRepositoryAutoConfiguration {
 
 	@Configuration
 	@ConditionalOnMissingBean(GaugeService.class)
+	@EnableConfigurationProperties(MetricBufferProperties.class)
 	static class FastMetricServicesConfiguration {
 
+		private final MetricBufferProperties properties;
+
+		FastMetricServicesConfiguration(MetricBufferProperties properties) {
+			this.properties = properties;
+		}
+
 		@Bean
 		@ConditionalOnMissingBean
 		public CounterBuffers counterBuffers() {
-			return new CounterBuffers();
+			return new CounterBuffers(this.properties.getCounterTimestampResolution());
 		}
 
 		@Bean
@@ -17,9 +17,14 @@
 package org.springframework.boot.actuate.autoconfigure;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -32,11 +37,12 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeRepository;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
-import org.springframework.util.StopWatch;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
@@ -47,7 +53,7 @@ import org.springframework.web.util.UrlPathHelper;
 @Order(Ordered.HIGHEST_PRECEDENCE)
 final class MetricsFilter extends OncePerRequestFilter {
 
-	private static final String ATTRIBUTE_STOP_WATCH = MetricsFilter.class.getName()
+	private static final String ATTRIBUTE_START_TIME = MetricsFilter.class.getName()
 			+ ".StopWatch";
 
 	private static final int UNDEFINED_HTTP_STATUS = 999;
@@ -60,8 +66,17 @@ final class MetricsFilter extends OncePerRequestFilter {
 
 	private final GaugeService gaugeService;
 
+	private final HistogramGaugeRepository histogramGaugeRepository;
+
 	private final MetricFilterProperties properties;
 
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	private final ConcurrentMap<String, PatternMetricNames> patternMetricNames = new ConcurrentHashMap<>();
+
+	private final PatternMetricNames unmappedMetricNames = new PatternMetricNames(
+			UNKNOWN_PATH_SUFFIX);
+
 	private static final Set<PatternReplacer> STATUS_REPLACERS;
 
 	static {
@@ -84,9 +99,11 @@ final class MetricsFilter extends OncePerRequestFilter {
 	}
 
 	MetricsFilter(CounterService counterService, GaugeService gaugeService,
+			HistogramGaugeRepository histogramGaugeRepository,
 			MetricFilterProperties properties) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
+		this.histogramGaugeRepository = histogramGaugeRepository;
 		this.properties = properties;
 	}
 
@@ -99,8 +116,8 @@ final class MetricsFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request,
 			HttpServletResponse response, FilterChain chain)
 					throws ServletException, IOException {
-		StopWatch stopWatch = createStopWatchIfNecessary(request);
-		String path = new UrlPathHelper().getPathWithinApplication(request);
+		long startTime = getStartTime(request);
+		String path = this.urlPathHelper.getPathWithinApplication(request);
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
 			chain.doFilter(request, response);
@@ -111,21 +128,20 @@ final class MetricsFilter extends OncePerRequestFilter {
 				if (response.isCommitted()) {
 					status = getStatus(response);
 				}
-				stopWatch.stop();
-				request.removeAttribute(ATTRIBUTE_STOP_WATCH);
-				recordMetrics(request, path, status, stopWatch.getTotalTimeMillis());
+				long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+				request.removeAttribute(ATTRIBUTE_START_TIME);
+				recordMetrics(request, path, status, time);
 			}
 		}
 	}
 
-	private StopWatch createStopWatchIfNecessary(HttpServletRequest request) {
-		StopWatch stopWatch = (StopWatch) request.getAttribute(ATTRIBUTE_STOP_WATCH);
-		if (stopWatch == null) {
-			stopWatch = new StopWatch();
-			stopWatch.start();
-			request.setAttribute(ATTRIBUTE_STOP_WATCH, stopWatch);
+	private long getStartTime(HttpServletRequest request) {
+		Long startTime = (Long) request.getAttribute(ATTRIBUTE_START_TIME);
+		if (startTime == null) {
+			startTime = System.nanoTime();
+			request.setAttribute(ATTRIBUTE_START_TIME, startTime);
 		}
-		return stopWatch;
+		return startTime;
 	}
 
 	private int getStatus(HttpServletResponse response) {
@@ -139,25 +155,36 @@ final class MetricsFilter extends OncePerRequestFilter {
 
 	private void recordMetrics(HttpServletRequest request, String path, int status,
 			long time) {
-		String suffix = determineMetricNameSuffix(request, path, status);
-		submitMetrics(MetricsFilterSubmission.MERGED, request, status, time, suffix);
-		submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD, request, status, time,
-				suffix);
+		PatternMetricNames names = getPatternMetricNames(request, path, status);
+		submitMetrics(MetricsFilterSubmission.MERGED, names.getMerged(), status, time);
+		if (shouldSubmit(MetricsFilterSubmission.PER_HTTP_METHOD)) {
+			submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD,
+					names.getPerHttpMethod(request.getMethod()), status, time);
+		}
 	}
 
-	private String determineMetricNameSuffix(HttpServletRequest request, String path,
-			int status) {
+	private PatternMetricNames getPatternMetricNames(HttpServletRequest request,
+			String path, int status) {
 		Object bestMatchingPattern = request
 				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
 		if (bestMatchingPattern != null) {
-			return fixSpecialCharacters(bestMatchingPattern.toString());
+			String pattern = bestMatchingPattern.toString();
+			PatternMetricNames names = this.patternMetricNames.get(pattern);
+			if (names == null) {
+				names = new PatternMetricNames(fixSpecialCharacters(pattern));
+				PatternMetricNames existing = this.patternMetricNames
+						.putIfAbsent(pattern, names);
+				names = (existing == null ? names : existing);
+			}
+			return names;
 		}
 		Series series = getSeries(status);
 		if (Series.CLIENT_ERROR.equals(series) || Series.SERVER_ERROR.equals(series)
 				|| Series.REDIRECTION.equals(series)) {
-			return UNKNOWN_PATH_SUFFIX;
+			return this.unmappedMetricNames;
 		}
-		return path;
+		// Raw paths are unbounded so their names are not cached
+		return new PatternMetricNames(path);
 	}
 
 	private String fixSpecialCharacters(String value) {
@@ -183,21 +210,31 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
-	private void submitMetrics(MetricsFilterSubmission submission,
-			HttpServletRequest request, int status, long time, String suffix) {
-		String prefix = "";
-		if (submission == MetricsFilterSubmission.PER_HTTP_METHOD) {
-			prefix = request.getMethod() + ".";
-		}
+	private boolean shouldSubmit(MetricsFilterSubmission submission) {
+		return this.properties.shouldSubmitToGauge(submission)
+				|| this.properties.shouldSubmitToCounter(submission)
+				|| shouldSubmitToHistogram(submission);
+	}
+
+	private boolean shouldSubmitToHistogram(MetricsFilterSubmission submission) {
+		return this.histogramGaugeRepository != null
+				&& this.properties.shouldSubmitToHistogram(submission);
+	}
+
+	private void submitMetrics(MetricsFilterSubmission submission, MetricNames names,
+			int status, long time) {
 		if (this.properties.shouldSubmitToGauge(submission)) {
-			submitToGauge(getKey("response." + prefix + suffix), time);
+			submitToGauge(names.getGaugeName(), time);
 		}
 		if (this.properties.shouldSubmitToCounter(submission)) {
-			incrementCounter(getKey("status." + prefix + status + suffix));
+			incrementCounter(names.getCounterName(status));
+		}
+		if (shouldSubmitToHistogram(submission)) {
+			recordHistogram(names.getGaugeName(), time);
 		}
 	}
 
-	private String getKey(String string) {
+	private static String getKey(String string) {
 		// graphite compatible metric names
 		String key = string;
 		for (PatternReplacer replacer : KEY_REPLACERS) {
@@ -221,6 +258,15 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	private void recordHistogram(String metricName, double value) {
+		try {
+			this.histogramGaugeRepository.record(metricName, value);
+		}
+		catch (Exception ex) {
+			logger.warn("Unable to record histogram metric '" + metricName + "'", ex);
+		}
+	}
+
 	private void incrementCounter(String metricName) {
 		try {
 			this.counterService.increment(metricName);
@@ -230,6 +276,127 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	/**
+	 * Metric names for a single path pattern, created once and reused for every request
+	 * that matches the pattern. Only the names of the standard HTTP methods are cached, so
+	 * that requests with arbitrary methods cannot grow the cache.
+	 */
+	private static class PatternMetricNames {
+
+		private static final int HTTP_METHOD_COUNT = HttpMethod.values().length;
+
+		private final String suffix;
+
+		private final MetricNames merged;
+
+		private final AtomicReferenceArray<MetricNames> perHttpMethod = new AtomicReferenceArray<>(
+				HTTP_METHOD_COUNT);
+
+		PatternMetricNames(String suffix) {
+			this.suffix = suffix;
+			this.merged = new MetricNames("", suffix);
+		}
+
+		public MetricNames getMerged() {
+			return this.merged;
+		}
+
+		public MetricNames getPerHttpMethod(String method) {
+			HttpMethod httpMethod = HttpMethod.resolve(method);
+			if (httpMethod == null) {
+				return new MetricNames(method + ".", this.suffix);
+			}
+			int index = httpMethod.ordinal();
+			MetricNames names = this.perHttpMethod.get(index);
+			if (names == null) {
+				names = new MetricNames(method + ".", this.suffix);
+				if (!this.perHttpMethod.compareAndSet(index, null, names)) {
+					names = this.perHttpMethod.get(index);
+				}
+			}
+			return names;
+		}
+
+	}
+
+	/**
+	 * Gauge and counter names for a pattern and an optional HTTP method prefix. Counter
+	 * names are held in a copy-on-write table sorted by status so that lookups neither
+	 * allocate nor box.
+	 */
+	private static class MetricNames {
+
+		private final String prefix;
+
+		private final String suffix;
+
+		private final String gaugeName;
+
+		private volatile CounterNames counterNames = new CounterNames(new int[0],
+				new String[0]);
+
+		MetricNames(String prefix, String suffix) {
+			this.prefix = prefix;
+			this.suffix = suffix;
+			this.gaugeName = getKey("response." + prefix + suffix);
+		}
+
+		public String getGaugeName() {
+			return this.gaugeName;
+		}
+
+		public String getCounterName(int status) {
+			String name = this.counterNames.get(status);
+			return (name != null ? name : addCounterName(status));
+		}
+
+		private synchronized String addCounterName(int status) {
+			String name = this.counterNames.get(status);
+			if (name == null) {
+				name = getKey("status." + this.prefix + status + this.suffix);
+				this.counterNames = this.counterNames.with(status, name);
+			}
+			return name;
+		}
+
+	}
+
+	/**
+	 * Immutable table of counter names sorted by status.
+	 */
+	private static final class CounterNames {
+
+		private final int[] statuses;
+
+		private final String[] names;
+
+		CounterNames(int[] statuses, String[] names) {
+			this.statuses = statuses;
+			this.names = names;
+		}
+
+		public String get(int status) {
+			int index = Arrays.binarySearch(this.statuses, status);
+			return (index >= 0 ? this.names[index] : null);
+		}
+
+		public CounterNames with(int status, String name) {
+			int insertion = -(Arrays.binarySearch(this.statuses, status) + 1);
+			int[] statuses = new int[this.statuses.length + 1];
+			String[] names = new String[statuses.length];
+			System.arraycopy(this.statuses, 0, statuses, 0, insertion);
+			System.arraycopy(this.names, 0, names, 0, insertion);
+			statuses[insertion] = status;
+			names[insertion] = name;
+			System.arraycopy(this.statuses, insertion, statuses, insertion + 1,
+					this.statuses.length - insertion);
+			System.arraycopy(this.names, insertion, names, insertion + 1,
+					this.names.length - insertion);
+			return new CounterNames(statuses, names);
+		}
+
+	}
+
 	private static class PatternReplacer {
 
 		private final Pattern pattern;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,17 +21,30 @@ import java.util.List;
 import javax.servlet.Servlet;
 import javax.sql.DataSource;
 
+import io.undertow.Undertow;
+import io.undertow.Undertow.Builder;
+import io.undertow.UndertowOptions;
 import org.apache.catalina.startup.Tomcat;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.JettyPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
+import org.springframework.boot.actuate.endpoint.UndertowPublicMetrics;
+import org.springframework.boot.actuate.jdbc.DataSourceInstrumenter;
 import org.springframework.boot.actuate.metrics.integration.SpringIntegrationMetricReader;
 import org.springframework.boot.actuate.metrics.reader.CompositeMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
@@ -43,11 +56,18 @@ import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.autoconfigure.integration.IntegrationAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.jetty.JettyServerCustomizer;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowBuilderCustomizer;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -111,6 +131,19 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass(DataSource.class)
+	@ConditionalOnProperty(prefix = "spring.metrics.datasource", name = "instrument")
+	@EnableConfigurationProperties(DataSourceMetricsProperties.class)
+	static class InstrumentedDataSourceConfiguration {
+
+		@Bean
+		public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+			return new InstrumentedDataSourcePostProcessor();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass({ Servlet.class, Tomcat.class })
 	@ConditionalOnWebApplication
@@ -124,6 +157,46 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass(value = { Servlet.class, Server.class }, name = "org.eclipse.jetty.webapp.WebAppContext")
+	@ConditionalOnWebApplication
+	@EnableConfigurationProperties(ServerMetricsProperties.class)
+	static class JettyMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JettyPublicMetrics jettyPublicMetrics() {
+			return new JettyPublicMetrics();
+		}
+
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.metrics.server", name = "instrument")
+		public WebServerFactoryCustomizer<JettyServletWebServerFactory> jettyStatisticsCustomizer() {
+			return new JettyStatisticsCustomizer();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass({ Servlet.class, Undertow.class })
+	@ConditionalOnWebApplication
+	@EnableConfigurationProperties(ServerMetricsProperties.class)
+	static class UndertowMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public UndertowPublicMetrics undertowPublicMetrics() {
+			return new UndertowPublicMetrics();
+		}
+
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.metrics.server", name = "instrument")
+		public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowStatisticsCustomizer() {
+			return new UndertowStatisticsCustomizer();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(CacheManager.class)
 	@ConditionalOnBean(CacheManager.class)
@@ -161,4 +234,82 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	/**
+	 * {@link BeanPostProcessor} to instrument the supported {@link DataSource} beans
+	 * using a {@link DataSourceInstrumenter}.
+	 */
+	private static class InstrumentedDataSourcePostProcessor
+			implements BeanPostProcessor, BeanClassLoaderAware {
+
+		private DataSourceInstrumenter instrumenter;
+
+		@Override
+		public void setBeanClassLoader(ClassLoader classLoader) {
+			this.instrumenter = new DataSourceInstrumenter(classLoader);
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof DataSource
+					&& this.instrumenter.isSupported((DataSource) bean)) {
+				return this.instrumenter.instrument((DataSource) bean);
+			}
+			return bean;
+		}
+
+	}
+
+	/**
+	 * {@link WebServerFactoryCustomizer} that adds a {@link StatisticsHandler} to Jetty
+	 * and {@link ConnectionStatistics} to its connectors so that they can be exposed by
+	 * {@link JettyPublicMetrics}.
+	 */
+	private static class JettyStatisticsCustomizer
+			implements WebServerFactoryCustomizer<JettyServletWebServerFactory>,
+			JettyServerCustomizer {
+
+		@Override
+		public void customize(JettyServletWebServerFactory factory) {
+			factory.addServerCustomizers(this);
+		}
+
+		@Override
+		public void customize(Server server) {
+			StatisticsHandler statisticsHandler = new StatisticsHandler();
+			statisticsHandler.setHandler(server.getHandler());
+			server.setHandler(statisticsHandler);
+			for (Connector connector : server.getConnectors()) {
+				connector.addBean(new ConnectionStatistics());
+			}
+		}
+
+	}
+
+	/**
+	 * {@link WebServerFactoryCustomizer} that enables the statistics of Undertow so that
+	 * they can be exposed by {@link UndertowPublicMetrics}.
+	 */
+	private static class UndertowStatisticsCustomizer
+			implements WebServerFactoryCustomizer<UndertowServletWebServerFactory>,
+			UndertowBuilderCustomizer {
+
+		@Override
+		public void customize(UndertowServletWebServerFactory factory) {
+			factory.addBuilderCustomizers(this);
+		}
+
+		@Override
+		public void customize(Builder builder) {
+			builder.setServerOption(UndertowOptions.ENABLE_STATISTICS, true);
+		}
+
+	}
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for embedded web server metrics.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "spring.metrics.server")
+public class ServerMetricsProperties {
+
+	/**
+	 * Add a statistics handler to Jetty and enable the statistics of Undertow to record
+	 * the requests, errors, bytes and processing time of the embedded web server.
+	 */
+	private boolean instrument;
+
+	public boolean isInstrument() {
+		return this.instrument;
+	}
+
+	public void setInstrument(boolean instrument) {
+		this.instrument = instrument;
+	}
+
+}
@@ -17,9 +17,12 @@
 package org.springframework.boot.actuate.cache;
 
 import java.lang.management.ManagementFactory;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanException;
@@ -37,6 +40,11 @@ import org.springframework.cache.CacheManager;
 /**
  * Base {@link CacheStatisticsProvider} implementation that uses JMX to retrieve the cache
  * statistics.
+ * <p>
+ * The {@link ObjectName} of the MBean of each cache is resolved only once. Subclasses
+ * should favor {@link #getAttributes(ObjectName, String...)} to read all the attributes
+ * they need with a single call and, if a {@link #setTimeToLive(long) time to live} is
+ * set, the statistics of a cache are only read again once that time has elapsed.
  *
  * @param <C> The cache type
  * @author Stephane Nicoll
@@ -52,11 +60,30 @@ public abstract class AbstractJmxCacheStatisticsProvider<C extends Cache>
 
 	private final Map<String, ObjectNameWrapper> caches = new ConcurrentHashMap<>();
 
+	private long timeToLive;
+
+	/**
+	 * Set the time in milliseconds during which the statistics of a cache are reused
+	 * rather than read again from its MBean. A value of zero or less disables the
+	 * caching of the statistics.
+	 * @param timeToLive the time to live of the statistics
+	 * @since 2.0.0
+	 */
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
 	@Override
 	public CacheStatistics getCacheStatistics(CacheManager cacheManager, C cache) {
 		try {
-			ObjectName objectName = internalGetObjectName(cache);
-			return (objectName == null ? null : getCacheStatistics(objectName));
+			ObjectNameWrapper wrapper = getObjectNameWrapper(cache);
+			if (wrapper.objectName == null) {
+				return null;
+			}
+			if (this.timeToLive <= 0) {
+				return getCacheStatistics(wrapper.objectName);
+			}
+			return wrapper.getStatistics(this.timeToLive);
 		}
 		catch (MalformedObjectNameException ex) {
 			throw new IllegalStateException(ex);
@@ -82,16 +109,16 @@ public abstract class AbstractJmxCacheStatisticsProvider<C extends Cache>
 	 */
 	protected abstract CacheStatistics getCacheStatistics(ObjectName objectName);
 
-	private ObjectName internalGetObjectName(C cache)
+	private ObjectNameWrapper getObjectNameWrapper(C cache)
 			throws MalformedObjectNameException {
 		String cacheName = cache.getName();
 		ObjectNameWrapper value = this.caches.get(cacheName);
 		if (value != null) {
-			return value.objectName;
+			return value;
 		}
-		ObjectName objectName = getObjectName(cache);
-		this.caches.put(cacheName, new ObjectNameWrapper(objectName));
-		return objectName;
+		value = new ObjectNameWrapper(getObjectName(cache));
+		this.caches.put(cacheName, value);
+		return value;
 	}
 
 	protected MBeanServer getMBeanServer() {
@@ -123,14 +150,70 @@ public abstract class AbstractJmxCacheStatisticsProvider<C extends Cache>
 		}
 	}
 
-	private static class ObjectNameWrapper {
+	/**
+	 * Read the specified attributes of an MBean with a single call to the
+	 * {@link MBeanServer}. Attributes that could not be read are not included in the
+	 * result.
+	 * @param objectName the object name of the MBean
+	 * @param attributeNames the names of the attributes to read
+	 * @return the attribute values keyed by name or {@code null} if the MBean is no
+	 * longer available
+	 * @since 2.0.0
+	 */
+	protected Map<String, Object> getAttributes(ObjectName objectName,
+			String... attributeNames) {
+		try {
+			AttributeList attributes = getMBeanServer().getAttributes(objectName,
+					attributeNames);
+			Map<String, Object> values = new HashMap<>(attributes.size());
+			for (Attribute attribute : attributes.asList()) {
+				values.put(attribute.getName(), attribute.getValue());
+			}
+			return values;
+		}
+		catch (ReflectionException ex) {
+			throw new IllegalStateException(ex);
+		}
+		catch (InstanceNotFoundException ex) {
+			logger.warn("Cache statistics are no longer available", ex);
+			return null;
+		}
+	}
+
+	private class ObjectNameWrapper {
 
 		private final ObjectName objectName;
 
+		private volatile Snapshot snapshot;
+
 		ObjectNameWrapper(ObjectName objectName) {
 			this.objectName = objectName;
 		}
 
+		CacheStatistics getStatistics(long timeToLive) {
+			long now = System.currentTimeMillis();
+			Snapshot snapshot = this.snapshot;
+			if (snapshot == null || now >= snapshot.expiry) {
+				snapshot = new Snapshot(getCacheStatistics(this.objectName),
+						now + timeToLive);
+				this.snapshot = snapshot;
+			}
+			return snapshot.statistics;
+		}
+
+	}
+
+	private static class Snapshot {
+
+		private final CacheStatistics statistics;
+
+		private final long expiry;
+
+		Snapshot(CacheStatistics statistics, long expiry) {
+			this.statistics = statistics;
+			this.expiry = expiry;
+		}
+
 	}
 
 }
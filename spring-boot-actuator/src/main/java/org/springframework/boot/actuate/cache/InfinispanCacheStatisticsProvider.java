@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.cache;
 
+import java.util.Map;
 import java.util.Set;
 
 import javax.management.MalformedObjectNameException;
@@ -50,20 +51,21 @@ public class InfinispanCacheStatisticsProvider
 	@Override
 	protected CacheStatistics getCacheStatistics(ObjectName objectName) {
 		DefaultCacheStatistics statistics = new DefaultCacheStatistics();
-		Integer size = getAttribute(objectName, "numberOfEntries", Integer.class);
+		Map<String, Object> attributes = getAttributes(objectName, "numberOfEntries",
+				"hitRatio");
+		Integer size = (attributes != null
+				? (Integer) attributes.get("numberOfEntries") : null);
 		if (size != null) {
 			statistics.setSize((long) size);
 			if (size > 0) {
 				// Let's initialize the stats if we have some data
-				initializeStats(objectName, statistics);
+				initializeStats((Double) attributes.get("hitRatio"), statistics);
 			}
 		}
 		return statistics;
 	}
 
-	private void initializeStats(ObjectName objectName,
-			DefaultCacheStatistics statistics) {
-		Double hitRatio = getAttribute(objectName, "hitRatio", Double.class);
+	private void initializeStats(Double hitRatio, DefaultCacheStatistics statistics) {
 		if ((hitRatio != null)) {
 			statistics.setHitRatio(hitRatio);
 			statistics.setMissRatio(1 - hitRatio);
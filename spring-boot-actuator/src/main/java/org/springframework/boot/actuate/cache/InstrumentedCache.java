@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} decorator that counts the hits, misses, puts and evictions of a cache
+ * and measures the time spent in gets and puts, regardless of the underlying caching
+ * library. Counters are striped so that concurrent accesses to the cache do not contend
+ * on them.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ * @see InstrumentedCacheManager
+ */
+public class InstrumentedCache implements Cache {
+
+	private final Cache delegate;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder puts = new LongAdder();
+
+	private final LongAdder evicts = new LongAdder();
+
+	private final LongAdder clears = new LongAdder();
+
+	private final LongAdder getTime = new LongAdder();
+
+	private final LongAdder putTime = new LongAdder();
+
+	public InstrumentedCache(Cache delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Return the instrumented cache.
+	 * @return the delegate
+	 */
+	public Cache getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public String getName() {
+		return this.delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.delegate.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		long start = System.nanoTime();
+		ValueWrapper value = this.delegate.get(key);
+		recordGet(start, value != null);
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		long start = System.nanoTime();
+		T value = this.delegate.get(key, type);
+		recordGet(start, value != null);
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		long start = System.nanoTime();
+		MissDetectingValueLoader<T> loader = new MissDetectingValueLoader<>(valueLoader);
+		T value = this.delegate.get(key, loader);
+		recordGet(start, !loader.isInvoked());
+		return value;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		long start = System.nanoTime();
+		this.delegate.put(key, value);
+		recordPut(start);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		long start = System.nanoTime();
+		ValueWrapper existing = this.delegate.putIfAbsent(key, value);
+		if (existing == null) {
+			recordPut(start);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.delegate.evict(key);
+		this.evicts.increment();
+	}
+
+	@Override
+	public void clear() {
+		this.delegate.clear();
+		this.clears.increment();
+	}
+
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	public long getPutCount() {
+		return this.puts.sum();
+	}
+
+	/**
+	 * Return the number of calls to {@link #evict(Object)}. Entries that the underlying
+	 * cache removes on its own (expiry, size limit) or that are removed by
+	 * {@link #clear()} are not counted.
+	 * @return the number of explicit evictions
+	 */
+	public long getEvictCount() {
+		return this.evicts.sum();
+	}
+
+	/**
+	 * Return the number of calls to {@link #clear()}.
+	 * @return the number of clears
+	 */
+	public long getClearCount() {
+		return this.clears.sum();
+	}
+
+	/**
+	 * Return the statistics of this cache, completing the specified statistics of the
+	 * underlying cache (if any) with the ones that have been recorded.
+	 * @param delegateStatistics the statistics of the delegate or {@code null}
+	 * @return the statistics of this cache
+	 */
+	public CacheStatistics getStatistics(CacheStatistics delegateStatistics) {
+		long hits = this.hits.sum();
+		long misses = this.misses.sum();
+		long puts = this.puts.sum();
+		InstrumentedCacheStatistics statistics = new InstrumentedCacheStatistics(hits,
+				misses, puts, this.evicts.sum(), this.clears.sum(),
+				getAverage(this.getTime.sum(), hits + misses),
+				getAverage(this.putTime.sum(), puts));
+		if (delegateStatistics != null) {
+			statistics.setSize(delegateStatistics.getSize());
+			statistics.setHitRatio(delegateStatistics.getHitRatio());
+			statistics.setMissRatio(delegateStatistics.getMissRatio());
+		}
+		statistics.setGetCacheCounts(hits, misses);
+		return statistics;
+	}
+
+	private Double getAverage(long totalNanos, long count) {
+		if (count == 0) {
+			return null;
+		}
+		return totalNanos / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private void recordGet(long start, boolean hit) {
+		this.getTime.add(System.nanoTime() - start);
+		if (hit) {
+			this.hits.increment();
+		}
+		else {
+			this.misses.increment();
+		}
+	}
+
+	private void recordPut(long start) {
+		this.putTime.add(System.nanoTime() - start);
+		this.puts.increment();
+	}
+
+	/**
+	 * Value loader that records whether it has been invoked, i.e. if the value was not
+	 * present in the cache.
+	 */
+	private static final class MissDetectingValueLoader<T> implements Callable<T> {
+
+		private final Callable<T> delegate;
+
+		private volatile boolean invoked;
+
+		MissDetectingValueLoader(Callable<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public T call() throws Exception {
+			this.invoked = true;
+			return this.delegate.call();
+		}
+
+		boolean isInvoked() {
+			return this.invoked;
+		}
+
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} decorator that wraps the caches of another {@link CacheManager}
+ * in {@link InstrumentedCache instrumented caches}.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+	private final CacheManager delegate;
+
+	private final ConcurrentMap<String, InstrumentedCache> caches;
+
+	public InstrumentedCacheManager(CacheManager delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+		this.caches = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Return the instrumented cache manager.
+	 * @return the delegate
+	 */
+	public CacheManager getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = this.delegate.getCache(name);
+		if (cache == null) {
+			return null;
+		}
+		InstrumentedCache instrumented = this.caches.get(name);
+		if (instrumented != null && instrumented.getDelegate() == cache) {
+			return instrumented;
+		}
+		// The cache has not been instrumented yet or has been replaced
+		return this.caches.compute(name,
+				(key, existing) -> (existing != null && existing.getDelegate() == cache
+						? existing : new InstrumentedCache(cache)));
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.delegate.getCacheNames();
+	}
+
+}
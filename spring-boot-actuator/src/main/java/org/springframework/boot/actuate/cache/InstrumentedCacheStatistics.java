@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.Collection;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * {@link CacheStatistics} of an {@link InstrumentedCache}.
+ *
+ * @author agent (agent@local)
+ */
+class InstrumentedCacheStatistics extends DefaultCacheStatistics {
+
+	private final long hits;
+
+	private final long misses;
+
+	private final long puts;
+
+	private final long evicts;
+
+	private final long clears;
+
+	private final Double getLatency;
+
+	private final Double putLatency;
+
+	InstrumentedCacheStatistics(long hits, long misses, long puts, long evicts,
+			long clears, Double getLatency, Double putLatency) {
+		this.hits = hits;
+		this.misses = misses;
+		this.puts = puts;
+		this.evicts = evicts;
+		this.clears = clears;
+		this.getLatency = getLatency;
+		this.putLatency = putLatency;
+	}
+
+	@Override
+	public Collection<Metric<?>> toMetrics(String prefix) {
+		Collection<Metric<?>> result = super.toMetrics(prefix);
+		result.add(new Metric<>(prefix + "hits", this.hits));
+		result.add(new Metric<>(prefix + "misses", this.misses));
+		result.add(new Metric<>(prefix + "puts", this.puts));
+		result.add(new Metric<>(prefix + "evicts", this.evicts));
+		result.add(new Metric<>(prefix + "clears", this.clears));
+		if (this.getLatency != null) {
+			result.add(new Metric<>(prefix + "get.latency", this.getLatency));
+		}
+		if (this.putLatency != null) {
+			result.add(new Metric<>(prefix + "put.latency", this.putLatency));
+		}
+		return result;
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.actuate.cache.InstrumentedCache;
+import org.springframework.boot.actuate.cache.InstrumentedCacheManager;
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -32,7 +34,9 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 /**
- * A {@link PublicMetrics} implementation that provides cache statistics.
+ * A {@link PublicMetrics} implementation that provides cache statistics. The statistics
+ * of an {@link InstrumentedCache} combine the statistics of the underlying cache with
+ * the ones recorded by the instrumentation.
  *
  * @author Stephane Nicoll
  * @since 1.3.0
@@ -83,8 +87,21 @@ public class CachePublicMetrics implements PublicMetrics {
 		}
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private CacheStatistics getCacheStatistics(Cache cache, CacheManager cacheManager) {
+		if (cache instanceof InstrumentedCache) {
+			InstrumentedCache instrumentedCache = (InstrumentedCache) cache;
+			CacheManager delegate = (cacheManager instanceof InstrumentedCacheManager
+					? ((InstrumentedCacheManager) cacheManager).getDelegate()
+					: cacheManager);
+			return instrumentedCache.getStatistics(
+					getProvidedCacheStatistics(instrumentedCache.getDelegate(), delegate));
+		}
+		return getProvidedCacheStatistics(cache, cacheManager);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private CacheStatistics getProvidedCacheStatistics(Cache cache,
+			CacheManager cacheManager) {
 		if (this.statisticsProviders != null) {
 			for (CacheStatisticsProvider provider : this.statisticsProviders) {
 				Class<?> cacheType = ResolvableType
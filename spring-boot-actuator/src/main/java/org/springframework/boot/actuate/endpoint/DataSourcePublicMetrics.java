@@ -27,6 +27,8 @@ import javax.sql.DataSource;
 
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.jdbc.DataSourceStatistics;
+import org.springframework.boot.actuate.jdbc.InstrumentedDataSource;
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadata;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
@@ -36,6 +38,9 @@ import org.springframework.context.annotation.Primary;
 
 /**
  * A {@link PublicMetrics} implementation that provides data source usage statistics.
+ * Data sources that are {@link InstrumentedDataSource instrumented} also provide the
+ * number of checkouts and the distribution of the time spent waiting for and holding
+ * connections.
  *
  * @author Stephane Nicoll
  * @since 1.2.0
@@ -52,6 +57,8 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 
 	private final Map<String, DataSourcePoolMetadata> metadataByPrefix = new HashMap<>();
 
+	private final Map<String, DataSourceStatistics> statisticsByPrefix = new HashMap<>();
+
 	@PostConstruct
 	public void initialize() {
 		DataSource primaryDataSource = getPrimaryDataSource();
@@ -67,6 +74,10 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 			if (poolMetadata != null) {
 				this.metadataByPrefix.put(prefix, poolMetadata);
 			}
+			if (bean instanceof InstrumentedDataSource) {
+				this.statisticsByPrefix.put(prefix,
+						((InstrumentedDataSource) bean).getStatistics());
+			}
 		}
 	}
 
@@ -81,6 +92,12 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 			addMetric(metrics, prefix + "active", metadata.getActive());
 			addMetric(metrics, prefix + "usage", metadata.getUsage());
 		}
+		for (Map.Entry<String, DataSourceStatistics> entry : this.statisticsByPrefix
+				.entrySet()) {
+			String prefix = entry.getKey();
+			prefix = (prefix.endsWith(".") ? prefix : prefix + ".");
+			entry.getValue().addMetrics(prefix, metrics);
+		}
 		return metrics;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,43 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
 
 /**
  * {@link Endpoint} to expose thread info.
+ * <p>
+ * Besides the full {@link ThreadInfo thread info}, the endpoint can provide a compact
+ * dump that omits locked monitors and synchronizers and a sampling profile that
+ * aggregates the stacks of running threads over a time window.
  *
  * @author Dave Syer
  */
 @ConfigurationProperties(prefix = "endpoints.dump")
 public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
 
+	/**
+	 * Maximum duration in milliseconds of a sampling profile.
+	 */
+	private long maxProfileDuration = 60000;
+
+	/**
+	 * Minimum interval in milliseconds between the samples of a sampling profile.
+	 */
+	private long minProfileInterval = 10;
+
 	/**
 	 * Create a new {@link DumpEndpoint} instance.
 	 */
@@ -44,4 +66,194 @@ public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
 				.asList(ManagementFactory.getThreadMXBean().dumpAllThreads(true, true));
 	}
 
+	public long getMaxProfileDuration() {
+		return this.maxProfileDuration;
+	}
+
+	public void setMaxProfileDuration(long maxProfileDuration) {
+		this.maxProfileDuration = maxProfileDuration;
+	}
+
+	public long getMinProfileInterval() {
+		return this.minProfileInterval;
+	}
+
+	public void setMinProfileInterval(long minProfileInterval) {
+		this.minProfileInterval = minProfileInterval;
+	}
+
+	/**
+	 * Return a compact dump of all threads. Each thread is described by its id, name,
+	 * state, the lock it is waiting on (if any) and its stack frames.
+	 * @return the compact thread dump
+	 */
+	public List<Map<String, Object>> compact() {
+		ThreadInfo[] threads = dumpThreads();
+		List<Map<String, Object>> result = new ArrayList<>(threads.length);
+		for (ThreadInfo thread : threads) {
+			Map<String, Object> info = new LinkedHashMap<>();
+			info.put("id", thread.getThreadId());
+			info.put("name", thread.getThreadName());
+			info.put("state", thread.getThreadState());
+			if (thread.getLockName() != null) {
+				info.put("lockName", thread.getLockName());
+			}
+			if (thread.getLockOwnerName() != null) {
+				info.put("lockOwnerId", thread.getLockOwnerId());
+				info.put("lockOwnerName", thread.getLockOwnerName());
+			}
+			StackTraceElement[] stackTrace = thread.getStackTrace();
+			List<String> frames = new ArrayList<>(stackTrace.length);
+			for (StackTraceElement frame : stackTrace) {
+				frames.add(frame.toString());
+			}
+			info.put("stackTrace", frames);
+			result.add(info);
+		}
+		return result;
+	}
+
+	/**
+	 * Write a compact, {@code jstack}-like, plain text dump of all threads.
+	 * @param out the destination of the dump
+	 * @throws IOException on IO error
+	 */
+	public void writeCompact(Appendable out) throws IOException {
+		for (ThreadInfo thread : dumpThreads()) {
+			out.append('"').append(thread.getThreadName()).append("\" #");
+			out.append(Long.toString(thread.getThreadId())).append(' ');
+			out.append(thread.getThreadState().name());
+			if (thread.getLockName() != null) {
+				out.append(" on ").append(thread.getLockName());
+			}
+			if (thread.getLockOwnerName() != null) {
+				out.append(" owned by \"").append(thread.getLockOwnerName());
+				out.append("\" #").append(Long.toString(thread.getLockOwnerId()));
+			}
+			out.append('\n');
+			for (StackTraceElement frame : thread.getStackTrace()) {
+				out.append("\tat ").append(frame.toString()).append('\n');
+			}
+			out.append('\n');
+		}
+	}
+
+	/**
+	 * Sample the stacks of all {@link Thread.State#RUNNABLE runnable} threads at a
+	 * regular interval and aggregate them as collapsed stacks, i.e. the frames from the
+	 * root to the leaf separated by {@code ;}, that can be rendered as a flame graph.
+	 * The duration is bounded by the {@link #getMaxProfileDuration() maximum profile
+	 * duration} and the interval by the {@link #getMinProfileInterval() minimum profile
+	 * interval}. The calling thread is blocked while profiling, see {@link Profile} to
+	 * take the samples from another thread.
+	 * @param duration the duration of the profile in milliseconds
+	 * @param interval the interval between samples in milliseconds
+	 * @return the number of samples of each collapsed stack, most frequent first
+	 * @throws InterruptedException if the thread is interrupted while profiling
+	 */
+	public Map<String, Long> profile(long duration, long interval)
+			throws InterruptedException {
+		Assert.isTrue(duration > 0, "Duration must be positive");
+		Assert.isTrue(interval > 0, "Interval must be positive");
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(getProfileDuration(duration));
+		long delay = getProfileInterval(interval);
+		Profile profile = new Profile();
+		while (true) {
+			profile.sample();
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remaining <= 0) {
+				break;
+			}
+			Thread.sleep(Math.min(delay, remaining));
+		}
+		return profile.getSamples();
+	}
+
+	/**
+	 * Return the duration of a profile bounded by the maximum profile duration.
+	 * @param duration the requested duration in milliseconds
+	 * @return the duration to use
+	 * @since 2.0.0
+	 */
+	public long getProfileDuration(long duration) {
+		return Math.min(duration, this.maxProfileDuration);
+	}
+
+	/**
+	 * Return the interval between the samples of a profile bounded by the minimum
+	 * profile interval.
+	 * @param interval the requested interval in milliseconds
+	 * @return the interval to use
+	 * @since 2.0.0
+	 */
+	public long getProfileInterval(long interval) {
+		return Math.max(interval, this.minProfileInterval);
+	}
+
+	private ThreadInfo[] dumpThreads() {
+		return ManagementFactory.getThreadMXBean().dumpAllThreads(false, false);
+	}
+
+	/**
+	 * A sampling profile that aggregates the collapsed stacks of the
+	 * {@link Thread.State#RUNNABLE runnable} threads each time it is
+	 * {@link #sample() sampled}. The thread taking a sample is not included in it.
+	 * @since 2.0.0
+	 */
+	public static final class Profile {
+
+		private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+		private final Map<String, Long> samples = new HashMap<>();
+
+		/**
+		 * Take a sample of the stacks of all runnable threads.
+		 */
+		public synchronized void sample() {
+			long self = Thread.currentThread().getId();
+			ThreadInfo[] threads = this.threadMXBean.getThreadInfo(
+					this.threadMXBean.getAllThreadIds(), Integer.MAX_VALUE);
+			for (ThreadInfo thread : threads) {
+				if (isSampled(thread, self)) {
+					this.samples.merge(collapse(thread.getStackTrace()), 1L, Long::sum);
+				}
+			}
+		}
+
+		/**
+		 * Return the samples taken so far.
+		 * @return the number of samples of each collapsed stack, most frequent first
+		 */
+		public synchronized Map<String, Long> getSamples() {
+			List<Map.Entry<String, Long>> entries = new ArrayList<>(
+					this.samples.entrySet());
+			entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+			Map<String, Long> result = new LinkedHashMap<>();
+			for (Map.Entry<String, Long> entry : entries) {
+				result.put(entry.getKey(), entry.getValue());
+			}
+			return result;
+		}
+
+		private boolean isSampled(ThreadInfo thread, long self) {
+			return thread != null && thread.getThreadId() != self
+					&& thread.getThreadState() == Thread.State.RUNNABLE
+					&& thread.getStackTrace().length > 0;
+		}
+
+		private String collapse(StackTraceElement[] stackTrace) {
+			StringBuilder builder = new StringBuilder();
+			for (int i = stackTrace.length - 1; i >= 0; i--) {
+				builder.append(stackTrace[i].getClassName()).append('.');
+				builder.append(stackTrace[i].getMethodName());
+				if (i > 0) {
+					builder.append(';');
+				}
+			}
+			return builder.toString();
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,20 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.ScheduledHealthIndicator;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.Assert;
 
 /**
@@ -33,15 +40,49 @@ import org.springframework.util.Assert;
  * @author Andy Wilkinson
  */
 @ConfigurationProperties(prefix = "endpoints.health")
-public class HealthEndpoint extends AbstractEndpoint<Health> {
+public class HealthEndpoint extends AbstractEndpoint<Health>
+		implements InitializingBean, DisposableBean {
 
-	private final HealthIndicator healthIndicator;
+	private final Map<String, HealthIndicator> healthIndicators = new LinkedHashMap<>();
+
+	private final CompositeHealthIndicator healthIndicator;
 
 	/**
 	 * Time to live for cached result, in milliseconds.
 	 */
 	private long timeToLive = 1000;
 
+	/**
+	 * Maximum number of health indicators invoked concurrently. By default they are
+	 * invoked one after the other on the request thread. A health indicator that is
+	 * still running is not invoked again until it responds and health indicators that
+	 * cannot be queued because all threads are busy are reported as down.
+	 */
+	private int concurrency = 1;
+
+	/**
+	 * Time in milliseconds after which a health indicator that has not responded is
+	 * reported as down. Only applies when health indicators are invoked concurrently.
+	 */
+	private long indicatorTimeout = 0;
+
+	/**
+	 * Delay in milliseconds between background refreshes of each health indicator. When
+	 * set, requests are served from the latest results instead of invoking the health
+	 * indicators. Results older than three refresh intervals are reported as down.
+	 */
+	private long refreshInterval = 0;
+
+	/**
+	 * Delay in milliseconds between background refreshes of specific health indicators,
+	 * overriding the refresh interval.
+	 */
+	private Map<String, Long> refreshIntervals = new HashMap<>();
+
+	private ThreadPoolTaskExecutor executor;
+
+	private ThreadPoolTaskScheduler scheduler;
+
 	/**
 	 * Create a new {@link HealthEndpoint} instance.
 	 * @param healthAggregator the health aggregator
@@ -55,6 +96,7 @@ public class HealthEndpoint extends AbstractEndpoint<Health> {
 		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
 				healthAggregator);
 		for (Map.Entry<String, HealthIndicator> entry : healthIndicators.entrySet()) {
+			this.healthIndicators.put(getKey(entry.getKey()), entry.getValue());
 			healthIndicator.addHealthIndicator(getKey(entry.getKey()), entry.getValue());
 		}
 		this.healthIndicator = healthIndicator;
@@ -73,6 +115,85 @@ public class HealthEndpoint extends AbstractEndpoint<Health> {
 		this.timeToLive = ttl;
 	}
 
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+		shutdownExecutor();
+		if (concurrency > 1) {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setCorePoolSize(concurrency);
+			executor.setMaxPoolSize(concurrency);
+			executor.setQueueCapacity(Math.max(this.healthIndicators.size(), 1));
+			executor.setAllowCoreThreadTimeOut(true);
+			executor.setThreadNamePrefix("health-");
+			executor.setDaemon(true);
+			executor.initialize();
+			this.executor = executor;
+		}
+		this.healthIndicator.setExecutor(this.executor);
+	}
+
+	public long getIndicatorTimeout() {
+		return this.indicatorTimeout;
+	}
+
+	public void setIndicatorTimeout(long indicatorTimeout) {
+		this.indicatorTimeout = indicatorTimeout;
+		this.healthIndicator.setTimeout(indicatorTimeout);
+	}
+
+	public long getRefreshInterval() {
+		return this.refreshInterval;
+	}
+
+	public void setRefreshInterval(long refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	public Map<String, Long> getRefreshIntervals() {
+		return this.refreshIntervals;
+	}
+
+	public void setRefreshIntervals(Map<String, Long> refreshIntervals) {
+		this.refreshIntervals = refreshIntervals;
+	}
+
+	/**
+	 * Return whether the health indicators are refreshed in the background, in which
+	 * case {@link #invoke()} returns immediately and its result does not need to be
+	 * cached.
+	 * @return {@code true} if the health indicators are refreshed in the background
+	 * @since 2.0.0
+	 */
+	public boolean isRefreshedInBackground() {
+		return this.scheduler != null;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.refreshInterval <= 0 || this.healthIndicators.isEmpty()) {
+			return;
+		}
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(this.healthIndicators.size());
+		scheduler.setThreadNamePrefix("health-refresh-");
+		scheduler.setDaemon(true);
+		scheduler.initialize();
+		for (Map.Entry<String, HealthIndicator> entry : this.healthIndicators
+				.entrySet()) {
+			ScheduledHealthIndicator indicator = new ScheduledHealthIndicator(
+					entry.getValue());
+			Long interval = this.refreshIntervals.get(entry.getKey());
+			indicator.schedule(scheduler,
+					(interval != null ? interval : this.refreshInterval));
+			this.healthIndicator.addHealthIndicator(entry.getKey(), indicator);
+		}
+		this.scheduler = scheduler;
+	}
+
 	/**
 	 * Invoke all {@link HealthIndicator} delegates and collect their health information.
 	 */
@@ -81,6 +202,21 @@ public class HealthEndpoint extends AbstractEndpoint<Health> {
 		return this.healthIndicator.health();
 	}
 
+	@Override
+	public void destroy() {
+		shutdownExecutor();
+		if (this.scheduler != null) {
+			this.scheduler.shutdown();
+		}
+	}
+
+	private void shutdownExecutor() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null;
+		}
+	}
+
 	/**
 	 * Turns the bean name into a key that can be used in the map of health information.
 	 * @param name the bean name
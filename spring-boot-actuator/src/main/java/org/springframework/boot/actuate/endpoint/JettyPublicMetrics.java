@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.web.embedded.jetty.JettyWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * A {@link PublicMetrics} implementation that provides Jetty statistics: the threads of
+ * the server's thread pool and, when the server has a {@link StatisticsHandler} and
+ * its connectors a {@link ConnectionStatistics} bean, the requests it has processed.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class JettyPublicMetrics implements PublicMetrics, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.applicationContext instanceof ServletWebServerApplicationContext) {
+			Server server = getServer(
+					(ServletWebServerApplicationContext) this.applicationContext);
+			if (server != null) {
+				return metrics(server);
+			}
+		}
+		return Collections.emptySet();
+	}
+
+	private Server getServer(ServletWebServerApplicationContext applicationContext) {
+		WebServer webServer = applicationContext.getWebServer();
+		if (webServer instanceof JettyWebServer) {
+			return ((JettyWebServer) webServer).getServer();
+		}
+		return null;
+	}
+
+	private Collection<Metric<?>> metrics(Server server) {
+		List<Metric<?>> metrics = new ArrayList<>();
+		ThreadPool threadPool = server.getThreadPool();
+		if (threadPool instanceof QueuedThreadPool) {
+			addThreadPoolMetrics(metrics, (QueuedThreadPool) threadPool);
+		}
+		StatisticsHandler statisticsHandler = server
+				.getChildHandlerByClass(StatisticsHandler.class);
+		if (statisticsHandler != null) {
+			addRequestMetrics(metrics, statisticsHandler);
+		}
+		addConnectionMetrics(metrics, server.getConnectors());
+		return metrics;
+	}
+
+	private void addThreadPoolMetrics(List<Metric<?>> metrics,
+			QueuedThreadPool threadPool) {
+		addMetric(metrics, "httpserver.threads.busy", threadPool.getBusyThreads());
+		addMetric(metrics, "httpserver.threads.max", threadPool.getMaxThreads());
+		addMetric(metrics, "httpserver.threads", threadPool.getThreads());
+		addMetric(metrics, "httpserver.queue", threadPool.getQueueSize());
+	}
+
+	private void addRequestMetrics(List<Metric<?>> metrics,
+			StatisticsHandler statisticsHandler) {
+		addMetric(metrics, "httpserver.requests", statisticsHandler.getRequests());
+		addMetric(metrics, "httpserver.errors", statisticsHandler.getResponses4xx()
+				+ statisticsHandler.getResponses5xx());
+		addMetric(metrics, "httpserver.processing.time",
+				statisticsHandler.getRequestTimeTotal());
+		addMetric(metrics, "httpserver.processing.max",
+				statisticsHandler.getRequestTimeMax());
+	}
+
+	private void addConnectionMetrics(List<Metric<?>> metrics, Connector[] connectors) {
+		long bytesSent = 0;
+		long bytesReceived = 0;
+		boolean found = false;
+		for (Connector connector : connectors) {
+			ConnectionStatistics statistics = connector
+					.getBean(ConnectionStatistics.class);
+			if (statistics != null) {
+				bytesSent += statistics.getSentBytes();
+				bytesReceived += statistics.getReceivedBytes();
+				found = true;
+			}
+		}
+		if (found) {
+			addMetric(metrics, "httpserver.bytes.sent", bytesSent);
+			addMetric(metrics, "httpserver.bytes.received", bytesReceived);
+		}
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String name, Number value) {
+		metrics.add(new Metric<>(name, value));
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+}
@@ -41,6 +41,15 @@ public class MetricReaderPublicMetrics implements PublicMetrics {
 		this.metricReader = metricReader;
 	}
 
+	/**
+	 * Return the underlying {@link MetricReader}.
+	 * @return the metric reader
+	 * @since 2.0.0
+	 */
+	public MetricReader getMetricReader() {
+		return this.metricReader;
+	}
+
 	@Override
 	public Collection<Metric<?>> metrics() {
 		List<Metric<?>> result = new ArrayList<>();
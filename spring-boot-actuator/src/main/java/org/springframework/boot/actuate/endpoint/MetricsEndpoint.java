@@ -67,14 +67,23 @@ public class MetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
 		this.publicMetrics.remove(metrics);
 	}
 
+	/**
+	 * Return the {@link PublicMetrics} exposed by this endpoint, in order.
+	 * @return a snapshot of the public metrics
+	 * @since 2.0.0
+	 */
+	public List<PublicMetrics> getPublicMetrics() {
+		return new ArrayList<>(this.publicMetrics);
+	}
+
 	@Override
 	public Map<String, Object> invoke() {
 		Map<String, Object> result = new LinkedHashMap<>();
-		List<PublicMetrics> metrics = new ArrayList<>(this.publicMetrics);
-		for (PublicMetrics publicMetric : metrics) {
+		for (PublicMetrics publicMetric : getPublicMetrics()) {
 			try {
 				for (Metric<?> metric : publicMetric.metrics()) {
-					result.put(metric.getName(), metric.getValue());
+					result.put(metric.getTags().flatten(metric.getName()),
+							metric.getValue());
 				}
 			}
 			catch (Exception ex) {
@@ -16,21 +16,43 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.lang.management.BufferPoolMXBean;
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.lang.management.MemoryUsage;
 import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.Histogram;
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
  * A {@link PublicMetrics} implementation that provides various system-related metrics.
+ * <p>
+ * The distribution of garbage collection pauses is recorded as collections happen by
+ * listening to the notifications of the garbage collectors, and the allocation rate is
+ * sampled at most once per second, so that neither is computed from scratch each time
+ * the metrics are read.
  *
  * @author Dave Syer
  * @author Christian Dupuis
@@ -38,12 +60,63 @@ import org.springframework.util.StringUtils;
  * @author Johannes Edmeier
  * @since 1.2.0
  */
-public class SystemPublicMetrics implements PublicMetrics, Ordered {
+public class SystemPublicMetrics implements PublicMetrics, Ordered, DisposableBean {
+
+	private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+	private static final long[] GC_PAUSE_BUCKETS = { 1, 5, 10, 50, 100, 500, 1000 };
+
+	private static final long ALLOCATION_SAMPLE_INTERVAL = 1000;
 
 	private long timestamp;
 
+	private final Map<String, Histogram> pauseHistograms = new LinkedHashMap<>();
+
+	private final List<NotificationEmitter> gcNotificationEmitters = new ArrayList<>();
+
+	private final NotificationListener gcNotificationListener = this::handleGcNotification;
+
+	private AllocationSampler allocationSampler;
+
 	public SystemPublicMetrics() {
 		this.timestamp = System.currentTimeMillis();
+		try {
+			registerGcNotificationListener();
+			this.allocationSampler = AllocationSampler.get();
+		}
+		catch (NoClassDefFoundError ex) {
+			// Expected on Google App Engine
+		}
+	}
+
+	private void registerGcNotificationListener() {
+		for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			if (garbageCollectorMXBean instanceof NotificationEmitter) {
+				NotificationEmitter emitter = (NotificationEmitter) garbageCollectorMXBean;
+				Histogram histogram = new Histogram(GC_PAUSE_BUCKETS);
+				emitter.addNotificationListener(this.gcNotificationListener,
+						(notification) -> GC_NOTIFICATION.equals(notification.getType()),
+						histogram);
+				this.pauseHistograms.put(beautifyGcName(garbageCollectorMXBean.getName()),
+						histogram);
+				this.gcNotificationEmitters.add(emitter);
+			}
+		}
+	}
+
+	private void handleGcNotification(Notification notification, Object handback) {
+		CompositeData data = (CompositeData) notification.getUserData();
+		CompositeData gcInfo = (CompositeData) data.get("gcInfo");
+		((Histogram) handback).record((Long) gcInfo.get("duration"));
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (NotificationEmitter emitter : this.gcNotificationEmitters) {
+			emitter.removeNotificationListener(this.gcNotificationListener);
+		}
+		this.gcNotificationEmitters.clear();
 	}
 
 	@Override
@@ -97,6 +170,9 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 					ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage()));
 			addHeapMetrics(result);
 			addNonHeapMetrics(result);
+			addCodeCacheMetrics(result);
+			addBufferPoolMetrics(result);
+			addAllocationMetrics(result);
 			addThreadMetrics(result);
 			addClassLoadingMetrics(result);
 			addGarbageCollectionMetrics(result);
@@ -132,6 +208,64 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 		result.add(newMemoryMetric("nonheap", memoryUsage.getMax()));
 	}
 
+	/**
+	 * Add code cache metrics, summing the code heaps of the JVM when its code cache is
+	 * segmented.
+	 * @param result the result
+	 */
+	protected void addCodeCacheMetrics(Collection<Metric<?>> result) {
+		long committed = 0;
+		long used = 0;
+		long max = 0;
+		boolean found = false;
+		for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory
+				.getMemoryPoolMXBeans()) {
+			if (memoryPoolMXBean.getType() == MemoryType.NON_HEAP
+					&& memoryPoolMXBean.getName().startsWith("Code")) {
+				MemoryUsage memoryUsage = memoryPoolMXBean.getUsage();
+				committed += memoryUsage.getCommitted();
+				used += memoryUsage.getUsed();
+				max += Math.max(memoryUsage.getMax(), 0);
+				found = true;
+			}
+		}
+		if (found) {
+			result.add(newMemoryMetric("codecache.committed", committed));
+			result.add(newMemoryMetric("codecache.used", used));
+			result.add(newMemoryMetric("codecache", max));
+		}
+	}
+
+	/**
+	 * Add direct and mapped buffer pool metrics.
+	 * @param result the result
+	 */
+	protected void addBufferPoolMetrics(Collection<Metric<?>> result) {
+		for (BufferPoolMXBean bufferPoolMXBean : ManagementFactory
+				.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			String name = "buffers." + beautifyBufferPoolName(bufferPoolMXBean.getName());
+			result.add(new Metric<>(name + ".count", bufferPoolMXBean.getCount()));
+			result.add(newMemoryMetric(name + ".used", bufferPoolMXBean.getMemoryUsed()));
+			result.add(newMemoryMetric(name + ".capacity",
+					bufferPoolMXBean.getTotalCapacity()));
+		}
+	}
+
+	/**
+	 * Add the memory allocated by the threads of the JVM and its allocation rate, if
+	 * the JVM is able to measure them.
+	 * @param result the result
+	 */
+	protected void addAllocationMetrics(Collection<Metric<?>> result) {
+		if (this.allocationSampler != null) {
+			this.allocationSampler.sample(ALLOCATION_SAMPLE_INTERVAL);
+			result.add(newMemoryMetric("mem.allocated",
+					this.allocationSampler.getAllocated()));
+			result.add(newMemoryMetric("mem.allocation.rate",
+					this.allocationSampler.getRate()));
+		}
+	}
+
 	private Metric<Long> newMemoryMetric(String name, long bytes) {
 		return new Metric<>(name, bytes / 1024);
 	}
@@ -178,6 +312,10 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 					garbageCollectorMXBean.getCollectionCount()));
 			result.add(new Metric<>("gc." + name + ".time",
 					garbageCollectorMXBean.getCollectionTime()));
+			Histogram histogram = this.pauseHistograms.get(name);
+			if (histogram != null) {
+				histogram.addMetrics("gc." + name + ".pause", result);
+			}
 		}
 	}
 
@@ -191,4 +329,99 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 		return StringUtils.replace(name, " ", "_").toLowerCase();
 	}
 
+	/**
+	 * Turn buffer pool names like 'direct' or "mapped - 'non-volatile memory'" into
+	 * something that is more metrics friendly.
+	 * @param name the source name
+	 * @return a metric friendly name
+	 */
+	private String beautifyBufferPoolName(String name) {
+		return StringUtils.trimTrailingCharacter(
+				name.toLowerCase().replaceAll("[^a-z0-9]+", "_"), '_');
+	}
+
+	/**
+	 * Samples the memory allocated by the live threads of the JVM using
+	 * {@code com.sun.management.ThreadMXBean}, available on Oracle and OpenJDK.
+	 */
+	private static final class AllocationSampler {
+
+		private final ThreadMXBean threadMxBean;
+
+		private final Method allocatedBytesMethod;
+
+		private Map<Long, Long> threadAllocated = new HashMap<>();
+
+		private long lastSample;
+
+		private long allocated;
+
+		private long rate;
+
+		private AllocationSampler(ThreadMXBean threadMxBean,
+				Method allocatedBytesMethod) {
+			this.threadMxBean = threadMxBean;
+			this.allocatedBytesMethod = allocatedBytesMethod;
+		}
+
+		public synchronized void sample(long interval) {
+			long now = System.currentTimeMillis();
+			if (this.lastSample != 0 && now - this.lastSample < interval) {
+				return;
+			}
+			long[] ids = this.threadMxBean.getAllThreadIds();
+			long[] allocatedBytes = (long[]) ReflectionUtils
+					.invokeMethod(this.allocatedBytesMethod, this.threadMxBean, ids);
+			Map<Long, Long> threadAllocated = new HashMap<>(ids.length * 2);
+			long delta = 0;
+			for (int i = 0; i < ids.length; i++) {
+				if (allocatedBytes[i] >= 0) {
+					Long previous = this.threadAllocated.get(ids[i]);
+					delta += allocatedBytes[i] - (previous != null ? previous : 0);
+					threadAllocated.put(ids[i], allocatedBytes[i]);
+				}
+			}
+			this.allocated += delta;
+			this.rate = (this.lastSample != 0
+					? delta * 1000 / Math.max(now - this.lastSample, 1) : 0);
+			this.threadAllocated = threadAllocated;
+			this.lastSample = now;
+		}
+
+		public synchronized long getAllocated() {
+			return this.allocated;
+		}
+
+		public synchronized long getRate() {
+			return this.rate;
+		}
+
+		static AllocationSampler get() {
+			try {
+				Class<?> threadMxBeanClass = ClassUtils.resolveClassName(
+						"com.sun.management.ThreadMXBean", null);
+				ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+				if (!threadMxBeanClass.isInstance(threadMxBean)) {
+					return null;
+				}
+				Method supported = ReflectionUtils.findMethod(threadMxBeanClass,
+						"isThreadAllocatedMemorySupported");
+				Method enabled = ReflectionUtils.findMethod(threadMxBeanClass,
+						"isThreadAllocatedMemoryEnabled");
+				if (!Boolean.TRUE.equals(ReflectionUtils.invokeMethod(supported,
+						threadMxBean))
+						|| !Boolean.TRUE.equals(
+								ReflectionUtils.invokeMethod(enabled, threadMxBean))) {
+					return null;
+				}
+				return new AllocationSampler(threadMxBean, ReflectionUtils.findMethod(
+						threadMxBeanClass, "getThreadAllocatedBytes", long[].class));
+			}
+			catch (Exception ex) {
+				return null;
+			}
+		}
+
+	}
+
 }
@@ -16,15 +16,23 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.Context;
 import org.apache.catalina.Manager;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.session.ManagerBase;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.RequestGroupInfo;
+import org.apache.tomcat.util.net.AbstractEndpoint;
 
 import org.springframework.beans.BeansException;
 import org.springframework.boot.actuate.metrics.Metric;
@@ -33,9 +41,12 @@ import org.springframework.boot.web.server.WebServer;
 import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.util.ReflectionUtils;
 
 /**
- * A {@link PublicMetrics} implementation that provides Tomcat statistics.
+ * A {@link PublicMetrics} implementation that provides Tomcat statistics: the sessions
+ * of the application and, summed over all connectors, the threads of their executors
+ * and the requests they have processed.
  *
  * @author Johannes Edmeier
  * @author Phillip Webb
@@ -48,26 +59,35 @@ public class TomcatPublicMetrics implements PublicMetrics, ApplicationContextAwa
 	@Override
 	public Collection<Metric<?>> metrics() {
 		if (this.applicationContext instanceof ServletWebServerApplicationContext) {
-			Manager manager = getManager(
+			Tomcat tomcat = getTomcat(
 					(ServletWebServerApplicationContext) this.applicationContext);
-			if (manager != null) {
-				return metrics(manager);
+			if (tomcat != null) {
+				return metrics(tomcat);
 			}
 		}
 		return Collections.emptySet();
 	}
 
-	private Manager getManager(ServletWebServerApplicationContext applicationContext) {
+	private Tomcat getTomcat(ServletWebServerApplicationContext applicationContext) {
 		WebServer webServer = applicationContext.getWebServer();
 		if (webServer instanceof TomcatWebServer) {
-			return getManager((TomcatWebServer) webServer);
+			return ((TomcatWebServer) webServer).getTomcat();
 		}
 		return null;
 	}
 
-	private Manager getManager(TomcatWebServer webServer) {
-		for (Container container : webServer.getTomcat().getHost()
-				.findChildren()) {
+	private Collection<Metric<?>> metrics(Tomcat tomcat) {
+		List<Metric<?>> metrics = new ArrayList<>();
+		Manager manager = getManager(tomcat);
+		if (manager != null) {
+			addSessionMetrics(metrics, manager);
+		}
+		addConnectorMetrics(metrics, tomcat.getService().findConnectors());
+		return metrics;
+	}
+
+	private Manager getManager(Tomcat tomcat) {
+		for (Container container : tomcat.getHost().findChildren()) {
 			if (container instanceof Context) {
 				return ((Context) container).getManager();
 			}
@@ -75,17 +95,98 @@ public class TomcatPublicMetrics implements PublicMetrics, ApplicationContextAwa
 		return null;
 	}
 
-	private Collection<Metric<?>> metrics(Manager manager) {
-		List<Metric<?>> metrics = new ArrayList<>(2);
+	private void addSessionMetrics(List<Metric<?>> metrics, Manager manager) {
 		if (manager instanceof ManagerBase) {
 			addMetric(metrics, "httpsessions.max",
 					((ManagerBase) manager).getMaxActiveSessions());
 		}
 		addMetric(metrics, "httpsessions.active", manager.getActiveSessions());
-		return metrics;
 	}
 
-	private void addMetric(List<Metric<?>> metrics, String name, Integer value) {
+	private void addConnectorMetrics(List<Metric<?>> metrics, Connector[] connectors) {
+		List<ThreadPoolExecutor> executors = new ArrayList<>();
+		List<RequestGroupInfo> requestInfos = new ArrayList<>();
+		for (Connector connector : connectors) {
+			ProtocolHandler protocolHandler = connector.getProtocolHandler();
+			Executor executor = protocolHandler.getExecutor();
+			if (executor instanceof ThreadPoolExecutor) {
+				executors.add((ThreadPoolExecutor) executor);
+			}
+			RequestGroupInfo requestInfo = getRequestGroupInfo(protocolHandler);
+			if (requestInfo != null) {
+				requestInfos.add(requestInfo);
+			}
+		}
+		if (!executors.isEmpty()) {
+			addThreadPoolMetrics(metrics, executors);
+		}
+		if (!requestInfos.isEmpty()) {
+			addRequestMetrics(metrics, requestInfos);
+		}
+	}
+
+	private void addThreadPoolMetrics(List<Metric<?>> metrics,
+			List<ThreadPoolExecutor> executors) {
+		int busy = 0;
+		int max = 0;
+		int current = 0;
+		int queued = 0;
+		for (ThreadPoolExecutor executor : executors) {
+			busy += executor.getActiveCount();
+			max += executor.getMaximumPoolSize();
+			current += executor.getPoolSize();
+			queued += executor.getQueue().size();
+		}
+		addMetric(metrics, "httpserver.threads.busy", busy);
+		addMetric(metrics, "httpserver.threads.max", max);
+		addMetric(metrics, "httpserver.threads", current);
+		addMetric(metrics, "httpserver.queue", queued);
+	}
+
+	private void addRequestMetrics(List<Metric<?>> metrics,
+			List<RequestGroupInfo> requestInfos) {
+		long requests = 0;
+		long errors = 0;
+		long bytesSent = 0;
+		long bytesReceived = 0;
+		long processingTime = 0;
+		long maxProcessingTime = 0;
+		for (RequestGroupInfo requestInfo : requestInfos) {
+			requests += requestInfo.getRequestCount();
+			errors += requestInfo.getErrorCount();
+			bytesSent += requestInfo.getBytesSent();
+			bytesReceived += requestInfo.getBytesReceived();
+			processingTime += requestInfo.getProcessingTime();
+			maxProcessingTime = Math.max(maxProcessingTime, requestInfo.getMaxTime());
+		}
+		addMetric(metrics, "httpserver.requests", requests);
+		addMetric(metrics, "httpserver.errors", errors);
+		addMetric(metrics, "httpserver.bytes.sent", bytesSent);
+		addMetric(metrics, "httpserver.bytes.received", bytesReceived);
+		addMetric(metrics, "httpserver.processing.time", processingTime);
+		addMetric(metrics, "httpserver.processing.max", maxProcessingTime);
+	}
+
+	private RequestGroupInfo getRequestGroupInfo(ProtocolHandler protocolHandler) {
+		// The request statistics are held by the connection handler of the protocol
+		// that is not exposed publicly
+		Method getHandler = ReflectionUtils.findMethod(protocolHandler.getClass(),
+				"getHandler");
+		if (getHandler == null) {
+			return null;
+		}
+		ReflectionUtils.makeAccessible(getHandler);
+		Object handler = ReflectionUtils.invokeMethod(getHandler, protocolHandler);
+		if (handler instanceof AbstractEndpoint.Handler) {
+			Object global = ((AbstractEndpoint.Handler<?>) handler).getGlobal();
+			if (global instanceof RequestGroupInfo) {
+				return (RequestGroupInfo) global;
+			}
+		}
+		return null;
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String name, Number value) {
 		metrics.add(new Metric<>(name, value));
 	}
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.Undertow;
+import io.undertow.Undertow.ListenerInfo;
+import io.undertow.server.ConnectorStatistics;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * A {@link PublicMetrics} implementation that provides Undertow statistics: the maximum
+ * number of worker threads and, when statistics are enabled on the server using
+ * {@code UndertowOptions.ENABLE_STATISTICS}, the requests processed by its listeners.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class UndertowPublicMetrics implements PublicMetrics, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.applicationContext instanceof ServletWebServerApplicationContext) {
+			Undertow undertow = getUndertow(
+					(ServletWebServerApplicationContext) this.applicationContext);
+			if (undertow != null) {
+				return metrics(undertow);
+			}
+		}
+		return Collections.emptySet();
+	}
+
+	private Undertow getUndertow(ServletWebServerApplicationContext applicationContext) {
+		WebServer webServer = applicationContext.getWebServer();
+		if (webServer instanceof UndertowServletWebServer) {
+			return ((UndertowServletWebServer) webServer).getUndertow();
+		}
+		return null;
+	}
+
+	private Collection<Metric<?>> metrics(Undertow undertow) {
+		List<Metric<?>> metrics = new ArrayList<>();
+		XnioWorker worker = undertow.getWorker();
+		if (worker != null) {
+			addWorkerMetrics(metrics, worker);
+		}
+		List<ConnectorStatistics> statistics = new ArrayList<>();
+		for (ListenerInfo listener : undertow.getListenerInfo()) {
+			if (listener.getConnectorStatistics() != null) {
+				statistics.add(listener.getConnectorStatistics());
+			}
+		}
+		if (!statistics.isEmpty()) {
+			addRequestMetrics(metrics, statistics);
+		}
+		return metrics;
+	}
+
+	private void addWorkerMetrics(List<Metric<?>> metrics, XnioWorker worker) {
+		try {
+			Integer maxThreads = worker.getOption(Options.WORKER_TASK_MAX_THREADS);
+			if (maxThreads != null) {
+				addMetric(metrics, "httpserver.threads.max", maxThreads);
+			}
+		}
+		catch (IOException ex) {
+			// Continue without the worker metrics
+		}
+	}
+
+	private void addRequestMetrics(List<Metric<?>> metrics,
+			List<ConnectorStatistics> statistics) {
+		long requests = 0;
+		long errors = 0;
+		long bytesSent = 0;
+		long bytesReceived = 0;
+		long processingTime = 0;
+		long maxProcessingTime = 0;
+		for (ConnectorStatistics connectorStatistics : statistics) {
+			requests += connectorStatistics.getRequestCount();
+			errors += connectorStatistics.getErrorCount();
+			bytesSent += connectorStatistics.getBytesSent();
+			bytesReceived += connectorStatistics.getBytesReceived();
+			processingTime += connectorStatistics.getProcessingTime();
+			maxProcessingTime = Math.max(maxProcessingTime,
+					connectorStatistics.getMaxProcessingTime());
+		}
+		addMetric(metrics, "httpserver.requests", requests);
+		addMetric(metrics, "httpserver.errors", errors);
+		addMetric(metrics, "httpserver.bytes.sent", bytesSent);
+		addMetric(metrics, "httpserver.bytes.received", bytesReceived);
+		addMetric(metrics, "httpserver.processing.time",
+				TimeUnit.NANOSECONDS.toMillis(processingTime));
+		addMetric(metrics, "httpserver.processing.max",
+				TimeUnit.NANOSECONDS.toMillis(maxProcessingTime));
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String name, Number value) {
+		metrics.add(new Metric<>(name, value));
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,14 @@
 
 package org.springframework.boot.actuate.endpoint.mvc;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.springframework.boot.actuate.endpoint.Endpoint;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Abstract base class for {@link MvcEndpoint} implementations.
@@ -39,6 +44,8 @@ public abstract class AbstractEndpointMvcAdapter<E extends Endpoint<?>>
 	 */
 	private String path;
 
+	private EndpointResponseCache responseCache;
+
 	/**
 	 * Create a new {@link EndpointMvcAdapter}.
 	 * @param delegate the underlying {@link Endpoint} to adapt.
@@ -53,9 +60,21 @@ public abstract class AbstractEndpointMvcAdapter<E extends Endpoint<?>>
 			// Shouldn't happen - shouldn't be registered when delegate's disabled
 			return getDisabledResponse();
 		}
+		HttpServletRequest request = getCurrentRequest();
+		if (this.responseCache != null && request != null) {
+			return this.responseCache.getResponse(this.delegate, request);
+		}
 		return this.delegate.invoke();
 	}
 
+	private HttpServletRequest getCurrentRequest() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			return ((ServletRequestAttributes) attributes).getRequest();
+		}
+		return null;
+	}
+
 	public E getDelegate() {
 		return this.delegate;
 	}
@@ -80,6 +99,16 @@ public abstract class AbstractEndpointMvcAdapter<E extends Endpoint<?>>
 		this.path = path;
 	}
 
+	/**
+	 * Set the {@link EndpointResponseCache} used to serve the serialized result of the
+	 * endpoint instead of invoking it on every request.
+	 * @param responseCache the response cache or {@code null}
+	 * @since 2.0.0
+	 */
+	public void setResponseCache(EndpointResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
 	@Override
 	public boolean isSensitive() {
 		return this.delegate.isSensitive();
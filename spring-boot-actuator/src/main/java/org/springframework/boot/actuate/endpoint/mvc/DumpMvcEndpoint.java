@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Adapter to expose {@link DumpEndpoint} as an {@link MvcEndpoint}. In addition to the
+ * full thread dump, {@code /compact} returns a compact JSON dump, {@code /text} a
+ * compact plain text dump and {@code /profile} the collapsed stacks of a sampling
+ * profile (one stack per line followed by its number of samples) that can be fed to
+ * flame graph tools. Only one profile can be taken at a time. Profiles are taken
+ * asynchronously: samples are taken on a small shared scheduler and the request thread
+ * is released until the profile is complete.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "endpoints.dump")
+public class DumpMvcEndpoint extends EndpointMvcAdapter implements DisposableBean {
+
+	/**
+	 * Extra time given to the async request so that the profile, not the container,
+	 * completes it.
+	 */
+	private static final long PROFILE_TIMEOUT_MARGIN = 1000;
+
+	private final DumpEndpoint delegate;
+
+	private final AtomicBoolean profiling = new AtomicBoolean();
+
+	private ThreadPoolTaskScheduler profileScheduler;
+
+	public DumpMvcEndpoint(DumpEndpoint delegate) {
+		super(delegate);
+		this.delegate = delegate;
+	}
+
+	@ActuatorGetMapping("/compact")
+	@ResponseBody
+	@HypermediaDisabled
+	public Object compact() {
+		if (!this.delegate.isEnabled()) {
+			return getDisabledResponse();
+		}
+		return this.delegate.compact();
+	}
+
+	@GetMapping(path = "/text", produces = MediaType.TEXT_PLAIN_VALUE)
+	@HypermediaDisabled
+	public void text(HttpServletResponse response) throws IOException {
+		if (!this.delegate.isEnabled()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		Writer writer = response.getWriter();
+		this.delegate.writeCompact(writer);
+		writer.flush();
+	}
+
+	@GetMapping(path = "/profile", produces = MediaType.TEXT_PLAIN_VALUE)
+	@ResponseBody
+	@HypermediaDisabled
+	public DeferredResult<String> profile(
+			@RequestParam(defaultValue = "10000") long duration,
+			@RequestParam(defaultValue = "10") long interval,
+			HttpServletResponse response) {
+		if (!this.delegate.isEnabled()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return null;
+		}
+		if (duration <= 0 || interval <= 0) {
+			response.setStatus(HttpStatus.BAD_REQUEST.value());
+			return null;
+		}
+		if (!this.profiling.compareAndSet(false, true)) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			return null;
+		}
+		long profileDuration = this.delegate.getProfileDuration(duration);
+		DeferredResult<String> result = new DeferredResult<>(
+				profileDuration + PROFILE_TIMEOUT_MARGIN);
+		Profiler profiler = new Profiler(result,
+				System.currentTimeMillis() + profileDuration);
+		profiler.start(getProfileScheduler(),
+				this.delegate.getProfileInterval(interval));
+		return result;
+	}
+
+	private synchronized TaskScheduler getProfileScheduler() {
+		if (this.profileScheduler == null) {
+			ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+			scheduler.setThreadNamePrefix("dump-profile-");
+			scheduler.setDaemon(true);
+			scheduler.initialize();
+			this.profileScheduler = scheduler;
+		}
+		return this.profileScheduler;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.profileScheduler != null) {
+			this.profileScheduler.shutdown();
+			this.profileScheduler = null;
+		}
+	}
+
+	/**
+	 * Samples a profile until its deadline and then completes the request with the
+	 * collapsed stacks.
+	 */
+	private final class Profiler implements Runnable {
+
+		private final DumpEndpoint.Profile profile = new DumpEndpoint.Profile();
+
+		private final DeferredResult<String> result;
+
+		private final long deadline;
+
+		private final AtomicBoolean stopped = new AtomicBoolean();
+
+		private volatile ScheduledFuture<?> future;
+
+		Profiler(DeferredResult<String> result, long deadline) {
+			this.result = result;
+			this.deadline = deadline;
+		}
+
+		void start(TaskScheduler scheduler, long interval) {
+			this.result.onCompletion(this::stop);
+			this.future = scheduler.scheduleWithFixedDelay(this, interval);
+			if (this.stopped.get()) {
+				this.future.cancel(false);
+			}
+		}
+
+		@Override
+		public void run() {
+			if (this.stopped.get()) {
+				stop();
+				return;
+			}
+			this.profile.sample();
+			if (System.currentTimeMillis() >= this.deadline) {
+				stop();
+				this.result.setResult(format(this.profile.getSamples()));
+			}
+		}
+
+		private String format(Map<String, Long> samples) {
+			StringBuilder builder = new StringBuilder();
+			for (Map.Entry<String, Long> entry : samples.entrySet()) {
+				builder.append(entry.getKey()).append(' ');
+				builder.append(entry.getValue()).append('\n');
+			}
+			return builder.toString();
+		}
+
+		private void stop() {
+			ScheduledFuture<?> future = this.future;
+			if (future != null) {
+				future.cancel(false);
+			}
+			if (this.stopped.compareAndSet(false, true)) {
+				DumpMvcEndpoint.this.profiling.set(false);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Cache of the serialized results of {@link Endpoint endpoints} whose results rarely
+ * change. The serialized bytes (and their gzip compressed form when the client accepts
+ * it) are served with an {@code ETag} so that a conditional request results in a
+ * {@code 304 Not Modified} response without invoking the endpoint. The cache is cleared
+ * when the context is refreshed and, if a time to live has been set, cached responses
+ * expire after that time. {@link #clear()} can be called to clear the cache when the
+ * results of the endpoints are known to have changed, for example when the
+ * {@code Environment} has been updated. Each endpoint is invoked at most once per cached
+ * response, even if several requests miss the cache at the same time.
+ * <p>
+ * Responses that are served from the cache are not enhanced with hypermedia links.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class EndpointResponseCache
+		implements ApplicationListener<ContextRefreshedEvent> {
+
+	private static final int MIN_COMPRESSED_SIZE = 1024;
+
+	private final ObjectMapper objectMapper;
+
+	private final ConcurrentMap<String, CachedResponse> responses;
+
+	private long timeToLive;
+
+	private boolean compress = true;
+
+	private Set<String> ids;
+
+	public EndpointResponseCache(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+		this.responses = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Set the time in milliseconds that a cached response is served before the endpoint
+	 * is invoked again. A value of zero or less means that responses are cached until
+	 * the cache is cleared.
+	 * @param timeToLive the time to live
+	 */
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Set whether responses should be compressed with gzip when the client accepts it.
+	 * @param compress if responses should be compressed
+	 */
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
+	/**
+	 * Set the ids of the endpoints whose responses are cached. By default the responses
+	 * of all endpoints that use the cache are cached.
+	 * @param ids the endpoint ids
+	 */
+	public void setIds(Collection<String> ids) {
+		this.ids = (ids != null ? new HashSet<>(ids) : null);
+	}
+
+	/**
+	 * Return whether the responses of the endpoint with the given id should be cached.
+	 * @param id the endpoint id
+	 * @return if the responses are cached
+	 */
+	public boolean isCached(String id) {
+		return this.ids == null || this.ids.contains(id);
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		clear();
+	}
+
+	/**
+	 * Clear all cached responses.
+	 */
+	public void clear() {
+		this.responses.clear();
+	}
+
+	/**
+	 * Return the response for the given endpoint, invoking it and serializing its
+	 * result only if there is no cached response that is still valid.
+	 * @param endpoint the endpoint
+	 * @param request the current request
+	 * @return the response
+	 */
+	public ResponseEntity<byte[]> getResponse(Endpoint<?> endpoint,
+			HttpServletRequest request) {
+		CachedResponse response = this.responses.get(endpoint.getId());
+		if (response == null || response.isExpired(this.timeToLive)) {
+			// Concurrent misses for the same endpoint wait for a single invocation
+			response = this.responses.compute(endpoint.getId(),
+					(id, existing) -> (existing != null
+							&& !existing.isExpired(this.timeToLive) ? existing
+									: new CachedResponse(serialize(endpoint.invoke()))));
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(response.getETag());
+		byte[] body = response.getBody();
+		if (this.compress && body.length >= MIN_COMPRESSED_SIZE) {
+			headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (acceptsGzip(request)) {
+				headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+				body = response.getCompressedBody();
+			}
+		}
+		return new ResponseEntity<>(body, headers, HttpStatus.OK);
+	}
+
+	private byte[] serialize(Object result) {
+		try {
+			return this.objectMapper.writeValueAsBytes(result);
+		}
+		catch (IOException ex) {
+			throw new HttpMessageNotWritableException("Cannot serialize response", ex);
+		}
+	}
+
+	private boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.contains("gzip");
+	}
+
+	/**
+	 * A cached response.
+	 */
+	private static final class CachedResponse {
+
+		private final byte[] body;
+
+		private final String eTag;
+
+		private final long creationTime = System.currentTimeMillis();
+
+		private volatile byte[] compressedBody;
+
+		CachedResponse(byte[] body) {
+			this.body = body;
+			// The same weak ETag is used for the plain and compressed representations
+			this.eTag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+		}
+
+		boolean isExpired(long timeToLive) {
+			return timeToLive > 0
+					&& System.currentTimeMillis() - this.creationTime >= timeToLive;
+		}
+
+		byte[] getBody() {
+			return this.body;
+		}
+
+		String getETag() {
+			return this.eTag;
+		}
+
+		byte[] getCompressedBody() {
+			byte[] compressedBody = this.compressedBody;
+			if (compressedBody == null) {
+				compressedBody = compress(this.body);
+				this.compressedBody = compressedBody;
+			}
+			return compressedBody;
+		}
+
+		private static byte[] compress(byte[] body) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+			try {
+				GZIPOutputStream gzip = new GZIPOutputStream(out);
+				gzip.write(body);
+				gzip.close();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return out.toByteArray();
+		}
+
+	}
+
+}
@@ -176,7 +176,7 @@ public class HealthMvcEndpoint extends AbstractEndpointMvcAdapter<HealthEndpoint
 	}
 
 	private boolean isCacheStale(long accessTime) {
-		if (this.cached == null) {
+		if (this.cached == null || getDelegate().isRefreshedInBackground()) {
 			return true;
 		}
 		return (accessTime - this.lastAccess) >= getDelegate().getTimeToLive();
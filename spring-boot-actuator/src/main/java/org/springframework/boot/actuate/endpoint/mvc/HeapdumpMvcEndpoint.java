@@ -17,37 +17,47 @@
 package org.springframework.boot.actuate.endpoint.mvc;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
 import java.lang.management.PlatformManagedObject;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.zip.GZIPOutputStream;
 
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
-import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 /**
- * {@link MvcEndpoint} to expose heap dumps.
+ * {@link MvcEndpoint} to expose heap dumps. The dump is compressed using several threads
+ * and, by default, streamed in the response. When a {@link #setDirectory(File)
+ * directory} is configured the compressed dump is written to that directory instead and
+ * can then be downloaded, with support for HTTP range requests so that an interrupted
+ * download can be resumed.
  *
  * @author Lari Hotari
  * @author Phillip Webb
@@ -63,6 +73,18 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 
 	private HeapDumper heapDumper;
 
+	/**
+	 * Directory to write compressed heap dumps to instead of returning them in the
+	 * response.
+	 */
+	private File directory;
+
+	/**
+	 * Number of threads used to compress heap dumps.
+	 */
+	private int compressionThreads = Math.max(1,
+			Runtime.getRuntime().availableProcessors() / 2);
+
 	public HeapdumpMvcEndpoint() {
 		this(TimeUnit.SECONDS.toMillis(10));
 	}
@@ -72,6 +94,22 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 		this.timeout = timeout;
 	}
 
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	public void setDirectory(File directory) {
+		this.directory = directory;
+	}
+
+	public int getCompressionThreads() {
+		return this.compressionThreads;
+	}
+
+	public void setCompressionThreads(int compressionThreads) {
+		this.compressionThreads = compressionThreads;
+	}
+
 	@RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
 	public void invoke(@RequestParam(defaultValue = "true") boolean live,
 			HttpServletRequest request, HttpServletResponse response)
@@ -97,16 +135,37 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
 	}
 
+	@RequestMapping(path = "/{name:.+}", method = { RequestMethod.GET,
+			RequestMethod.HEAD }, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public void download(@PathVariable String name, HttpServletRequest request,
+			HttpServletResponse response) throws IOException, ServletException {
+		File file = (this.directory == null ? null : new File(this.directory, name));
+		if (!isEnabled() || file == null || !file.getName().equals(name)
+				|| !name.endsWith(".gz") || !file.isFile()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"" + name + "\"");
+		new Handler(new FileSystemResource(file), request.getServletContext())
+				.handleRequest(request, response);
+	}
+
 	private void dumpHeap(boolean live, HttpServletRequest request,
 			HttpServletResponse response)
 					throws IOException, ServletException, InterruptedException {
 		if (this.heapDumper == null) {
 			this.heapDumper = createHeapDumper();
 		}
-		File file = createTempFile(live);
+		File file = (this.directory != null ? createFile(live) : createTempFile(live));
 		try {
 			this.heapDumper.dumpHeap(file, live);
-			handle(file, request, response);
+			if (this.directory != null) {
+				store(file, request, response);
+			}
+			else {
+				handle(file, request, response);
+			}
 		}
 		finally {
 			file.delete();
@@ -114,13 +173,48 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 	}
 
 	private File createTempFile(boolean live) throws IOException {
-		String date = new SimpleDateFormat("yyyy-MM-dd-HH-mm").format(new Date());
-		File file = File.createTempFile("heapdump" + date + (live ? "-live" : ""),
-				".hprof");
+		File file = File.createTempFile(getFilePrefix(live), ".hprof");
 		file.delete();
 		return file;
 	}
 
+	private File createFile(boolean live) throws IOException {
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Unable to create directory " + this.directory);
+		}
+		File file = new File(this.directory,
+				getFilePrefix(live) + "-" + System.currentTimeMillis() + ".hprof");
+		file.delete();
+		return file;
+	}
+
+	private String getFilePrefix(boolean live) {
+		String date = new SimpleDateFormat("yyyy-MM-dd-HH-mm").format(new Date());
+		return "heapdump" + date + (live ? "-live" : "");
+	}
+
+	private void store(File heapDumpFile, HttpServletRequest request,
+			HttpServletResponse response) throws IOException, InterruptedException {
+		String name = heapDumpFile.getName() + ".gz";
+		// Compress to a name that download() won't serve and only rename on success
+		File partial = new File(this.directory, name + ".part");
+		try {
+			try (OutputStream out = new FileOutputStream(partial)) {
+				new ParallelGzipCompressor(this.compressionThreads)
+						.compress(heapDumpFile, out);
+			}
+			Files.move(partial.toPath(), new File(this.directory, name).toPath(),
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			partial.delete();
+		}
+		response.setStatus(HttpStatus.CREATED.value());
+		response.setHeader(HttpHeaders.LOCATION, request.getRequestURL() + "/" + name);
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.getWriter().write(name);
+	}
+
 	/**
 	 * Factory method used to create the {@link HeapDumper}.
 	 * @return the heap dumper to use
@@ -132,7 +226,7 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 
 	/**
 	 * Handle the heap dump file and respond. By default this method will return the
-	 * response as a GZip stream.
+	 * response as a GZip stream, compressed using the configured number of threads.
 	 * @param heapDumpFile the generated dump file
 	 * @param request the HTTP request
 	 * @param response the HTTP response
@@ -145,23 +239,13 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 		response.setHeader("Content-Disposition",
 				"attachment; filename=\"" + (heapDumpFile.getName() + ".gz") + "\"");
 		try {
-			InputStream in = new FileInputStream(heapDumpFile);
-			try {
-				GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream());
-				StreamUtils.copy(in, out);
-				out.finish();
-			}
-			catch (NullPointerException ex) {
-			}
-			finally {
-				try {
-					in.close();
-				}
-				catch (Throwable ex) {
-				}
-			}
+			new ParallelGzipCompressor(this.compressionThreads).compress(heapDumpFile,
+					response.getOutputStream());
+		}
+		catch (NoSuchFileException ex) {
 		}
-		catch (FileNotFoundException ex) {
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
@@ -217,6 +301,42 @@ public class HeapdumpMvcEndpoint extends AbstractNamedMvcEndpoint {
 
 	}
 
+	/**
+	 * {@link ResourceHttpRequestHandler} to send a stored heap dump.
+	 */
+	private static class Handler extends ResourceHttpRequestHandler {
+
+		private final Resource resource;
+
+		Handler(Resource resource, ServletContext servletContext) {
+			this.resource = resource;
+			getLocations().add(resource);
+			try {
+				setServletContext(servletContext);
+				afterPropertiesSet();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		protected void initAllowedLocations() {
+			this.getLocations().clear();
+		}
+
+		@Override
+		protected Resource getResource(HttpServletRequest request) throws IOException {
+			return this.resource;
+		}
+
+		@Override
+		protected MediaType getMediaType(HttpServletRequest request, Resource resource) {
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+
+	}
+
 	/**
 	 * Exception to be thrown if the {@link HeapDumper} cannot be created.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,14 @@ package org.springframework.boot.actuate.endpoint.mvc;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -27,36 +35,69 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 /**
  * Controller that provides an API for logfiles, i.e. downloading the main logfile
  * configured in environment property 'logging.file' that is standard, but optional
  * property for spring-boot applications.
+ * <p>
+ * Besides the whole file, which supports HTTP range requests, a {@code tail} request
+ * parameter can be used to only return the last lines of the file and a {@code follow}
+ * request parameter to keep streaming lines as they are appended. Following is handled
+ * asynchronously: the file is polled on a small shared scheduler and new content is
+ * sent through a {@link ResponseBodyEmitter} so that no request thread is held while
+ * waiting for it.
  *
  * @author Johannes Edmeier
  * @author Phillip Webb
  * @since 1.3.0
  */
 @ConfigurationProperties(prefix = "endpoints.logfile")
-public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
+public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint
+		implements DisposableBean {
 
 	private static final Log logger = LogFactory.getLog(LogFileMvcEndpoint.class);
 
+	private static final int DEFAULT_FOLLOW_TAIL = 10;
+
+	private static final long FOLLOW_POLL_INTERVAL = 100;
+
+	private static final int TAIL_BUFFER_SIZE = 8192;
+
+	private static final int FOLLOW_THREADS = 2;
+
+	/**
+	 * Extra time given to the async request so that the follower, not the container,
+	 * completes it.
+	 */
+	private static final long FOLLOW_TIMEOUT_MARGIN = 1000;
+
 	/**
 	 * External Logfile to be accessed. Can be used if the logfile is written by output
 	 * redirect and not by the logging-system itself.
 	 */
 	private File externalFile;
 
+	/**
+	 * Maximum time in milliseconds that a request following the log file is kept open.
+	 */
+	private long followTimeout = 60000;
+
+	private ThreadPoolTaskScheduler followScheduler;
+
 	public LogFileMvcEndpoint() {
 		super("logfile", "/logfile", true);
 	}
@@ -69,12 +110,20 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 		this.externalFile = externalFile;
 	}
 
+	public long getFollowTimeout() {
+		return this.followTimeout;
+	}
+
+	public void setFollowTimeout(long followTimeout) {
+		this.followTimeout = followTimeout;
+	}
+
 	@RequestMapping(method = { RequestMethod.GET, RequestMethod.HEAD })
-	public void invoke(HttpServletRequest request, HttpServletResponse response)
-			throws ServletException, IOException {
+	public ResponseBodyEmitter invoke(HttpServletRequest request,
+			HttpServletResponse response) throws ServletException, IOException {
 		if (!isEnabled()) {
 			response.setStatus(HttpStatus.NOT_FOUND.value());
-			return;
+			return null;
 		}
 		Resource resource = getLogFileResource();
 		if (resource != null && !resource.exists()) {
@@ -83,8 +132,128 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 			}
 			resource = null;
 		}
+		String tail = request.getParameter("tail");
+		boolean follow = Boolean.parseBoolean(request.getParameter("follow"));
+		if (resource != null && (tail != null || follow)
+				&& RequestMethod.GET.name().equals(request.getMethod())) {
+			Integer lines = (tail != null ? parseLines(tail) : DEFAULT_FOLLOW_TAIL);
+			if (lines == null) {
+				response.setStatus(HttpStatus.BAD_REQUEST.value());
+				return null;
+			}
+			if (follow) {
+				return follow(resource.getFile(), lines, response);
+			}
+			tail(resource.getFile(), lines, response);
+			return null;
+		}
 		Handler handler = new Handler(resource, request.getServletContext());
 		handler.handleRequest(request, response);
+		return null;
+	}
+
+	private Integer parseLines(String tail) {
+		try {
+			int lines = Integer.parseInt(tail);
+			return (lines >= 0 ? lines : null);
+		}
+		catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	private void tail(File file, int lines, HttpServletResponse response)
+			throws IOException {
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		OutputStream outputStream = response.getOutputStream();
+		WritableByteChannel target = Channels.newChannel(outputStream);
+		try (FileChannel channel = open(file)) {
+			long size = channel.size();
+			long position = findTail(channel, lines);
+			while (position < size) {
+				long transferred = channel.transferTo(position, size - position, target);
+				if (transferred <= 0) {
+					break;
+				}
+				position += transferred;
+			}
+		}
+		outputStream.flush();
+	}
+
+	private ResponseBodyEmitter follow(File file, int lines,
+			HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		FileChannel channel = open(file);
+		long position;
+		try {
+			position = findTail(channel, lines);
+		}
+		catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter(
+				this.followTimeout + FOLLOW_TIMEOUT_MARGIN);
+		Follower follower = new Follower(file, channel, position, emitter,
+				System.currentTimeMillis() + this.followTimeout);
+		follower.start(getFollowScheduler());
+		return emitter;
+	}
+
+	private synchronized TaskScheduler getFollowScheduler() {
+		if (this.followScheduler == null) {
+			ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+			scheduler.setPoolSize(FOLLOW_THREADS);
+			scheduler.setThreadNamePrefix("logfile-follow-");
+			scheduler.setDaemon(true);
+			scheduler.initialize();
+			this.followScheduler = scheduler;
+		}
+		return this.followScheduler;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.followScheduler != null) {
+			this.followScheduler.shutdown();
+			this.followScheduler = null;
+		}
+	}
+
+	private static FileChannel open(File file) throws IOException {
+		return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * Find the position of the start of the last lines of the channel by reading it
+	 * backwards from its end.
+	 */
+	private long findTail(FileChannel channel, int lines) throws IOException {
+		long size = channel.size();
+		if (lines == 0) {
+			return size;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(TAIL_BUFFER_SIZE);
+		long position = size;
+		int found = 0;
+		while (position > 0) {
+			int length = (int) Math.min(buffer.capacity(), position);
+			position -= length;
+			buffer.clear().limit(length);
+			int read = 0;
+			while (buffer.hasRemaining() && read >= 0) {
+				read = channel.read(buffer, position + buffer.position());
+			}
+			for (int i = length - 1; i >= 0; i--) {
+				// A line feed that ends the file does not start a new line
+				if (buffer.get(i) == '\n' && position + i < size - 1
+						&& ++found == lines) {
+					return position + i + 1;
+				}
+			}
+		}
+		return 0;
 	}
 
 	private Resource getLogFileResource() {
@@ -135,4 +304,105 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 
 	}
 
+	/**
+	 * Polls a followed log file and sends the content appended to it.
+	 */
+	private static final class Follower implements Runnable {
+
+		private final File file;
+
+		private final ResponseBodyEmitter emitter;
+
+		private final long deadline;
+
+		private volatile FileChannel channel;
+
+		private long position;
+
+		private volatile ScheduledFuture<?> future;
+
+		private volatile boolean stopped;
+
+		Follower(File file, FileChannel channel, long position,
+				ResponseBodyEmitter emitter, long deadline) {
+			this.file = file;
+			this.channel = channel;
+			this.position = position;
+			this.emitter = emitter;
+			this.deadline = deadline;
+		}
+
+		void start(TaskScheduler scheduler) {
+			this.emitter.onTimeout(this::stop);
+			this.emitter.onCompletion(this::stop);
+			this.future = scheduler.scheduleWithFixedDelay(this, FOLLOW_POLL_INTERVAL);
+			if (this.stopped) {
+				this.future.cancel(false);
+			}
+		}
+
+		@Override
+		public void run() {
+			if (this.stopped) {
+				stop();
+				return;
+			}
+			try {
+				if (this.file.length() < this.position) {
+					// The file has been truncated or rolled over
+					this.channel.close();
+					this.channel = open(this.file);
+					this.position = 0;
+					if (this.stopped) {
+						stop();
+						return;
+					}
+				}
+				send();
+				if (System.currentTimeMillis() >= this.deadline) {
+					stop();
+					this.emitter.complete();
+				}
+			}
+			catch (IOException | IllegalStateException ex) {
+				// The client has gone away or the request has already completed
+				stop();
+			}
+		}
+
+		private void send() throws IOException {
+			long size = this.channel.size();
+			while (this.position < size) {
+				ByteBuffer buffer = ByteBuffer.allocate(
+						(int) Math.min(TAIL_BUFFER_SIZE, size - this.position));
+				int read = 0;
+				while (buffer.hasRemaining() && read >= 0) {
+					read = this.channel.read(buffer, this.position + buffer.position());
+				}
+				if (buffer.position() == 0) {
+					return;
+				}
+				this.emitter.send((buffer.hasRemaining()
+						? Arrays.copyOf(buffer.array(), buffer.position())
+						: buffer.array()), MediaType.TEXT_PLAIN);
+				this.position += buffer.position();
+			}
+		}
+
+		private void stop() {
+			this.stopped = true;
+			ScheduledFuture<?> future = this.future;
+			if (future != null) {
+				future.cancel(false);
+			}
+			try {
+				this.channel.close();
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+
+	}
+
 }
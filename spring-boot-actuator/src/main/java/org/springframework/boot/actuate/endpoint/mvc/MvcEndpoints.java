@@ -46,12 +46,24 @@ public class MvcEndpoints implements ApplicationContextAware, InitializingBean {
 
 	private Set<Class<?>> customTypes;
 
+	private EndpointResponseCache responseCache;
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext)
 			throws BeansException {
 		this.applicationContext = applicationContext;
 	}
 
+	/**
+	 * Set the {@link EndpointResponseCache} used by the endpoints whose responses it
+	 * {@link EndpointResponseCache#isCached(String) caches}.
+	 * @param responseCache the response cache or {@code null}
+	 * @since 2.0.0
+	 */
+	public void setResponseCache(EndpointResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		Collection<MvcEndpoint> existing = BeanFactoryUtils
@@ -74,6 +86,18 @@ public class MvcEndpoints implements ApplicationContextAware, InitializingBean {
 				this.endpoints.add(adapter);
 			}
 		}
+		if (this.responseCache != null) {
+			applyResponseCache(this.responseCache);
+		}
+	}
+
+	private void applyResponseCache(EndpointResponseCache responseCache) {
+		for (AbstractEndpointMvcAdapter<?> adapter : getEndpoints(
+				AbstractEndpointMvcAdapter.class)) {
+			if (responseCache.isCached(adapter.getName())) {
+				adapter.setResponseCache(responseCache);
+			}
+		}
 	}
 
 	private Set<Class<?>> findEndpointClasses(Collection<MvcEndpoint> existing) {
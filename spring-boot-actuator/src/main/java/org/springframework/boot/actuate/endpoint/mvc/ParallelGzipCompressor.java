@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Compresses a file to GZip using several threads. The file is split in blocks that are
+ * compressed concurrently, each to a separate GZip member, and the members are written
+ * in order. The result is a valid multi-member GZip stream that standard tools
+ * decompress to the original content.
+ *
+ * @author agent (agent@local)
+ */
+final class ParallelGzipCompressor {
+
+	private static final Log logger = LogFactory.getLog(ParallelGzipCompressor.class);
+
+	private static final int BLOCK_SIZE = 1024 * 1024;
+
+	private static final int PROGRESS_STEP = 10;
+
+	private final int threads;
+
+	ParallelGzipCompressor(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Compress the specified file to the specified stream.
+	 * @param source the file to compress
+	 * @param target the stream to write the compressed content to
+	 * @throws IOException on IO error
+	 * @throws InterruptedException if interrupted while waiting for a block
+	 */
+	public void compress(File source, OutputStream target)
+			throws IOException, InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads,
+				new CustomizableThreadFactory("gzip-"));
+		try (FileChannel channel = FileChannel.open(source.toPath(),
+				StandardOpenOption.READ)) {
+			compress(channel, source.getName(), target, executor);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void compress(FileChannel channel, String name, OutputStream target,
+			ExecutorService executor) throws IOException, InterruptedException {
+		long size = channel.size();
+		if (size == 0) {
+			target.write(compress(new byte[0], 0));
+			return;
+		}
+		Deque<Future<byte[]>> pending = new ArrayDeque<>();
+		long submitted = 0;
+		long written = 0;
+		int reported = 0;
+		while (written < size) {
+			while (submitted < size && pending.size() < this.threads * 2) {
+				int length = (int) Math.min(BLOCK_SIZE, size - submitted);
+				pending.add(executor.submit(new Block(channel, submitted, length)));
+				submitted += length;
+			}
+			target.write(get(pending.poll()));
+			written = Math.min(size, written + BLOCK_SIZE);
+			int percent = (int) (written * 100 / size);
+			if (percent >= reported + PROGRESS_STEP && logger.isInfoEnabled()) {
+				reported = percent - percent % PROGRESS_STEP;
+				logger.info("Compressed " + reported + "% of " + name);
+			}
+		}
+	}
+
+	private byte[] get(Future<byte[]> block) throws IOException, InterruptedException {
+		try {
+			return block.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException) ex.getCause();
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	private static byte[] compress(byte[] content, int length) throws IOException {
+		ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+		try (GZIPOutputStream stream = new GZIPOutputStream(result)) {
+			stream.write(content, 0, length);
+		}
+		return result.toByteArray();
+	}
+
+	/**
+	 * Reads and compresses a single block of the file.
+	 */
+	private static final class Block implements Callable<byte[]> {
+
+		private final FileChannel channel;
+
+		private final long position;
+
+		private final int length;
+
+		Block(FileChannel channel, long position, int length) {
+			this.channel = channel;
+			this.position = position;
+			this.length = length;
+		}
+
+		@Override
+		public byte[] call() throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(this.length);
+			while (buffer.hasRemaining()) {
+				if (this.channel.read(buffer, this.position + buffer.position()) < 0) {
+					break;
+				}
+			}
+			return compress(buffer.array(), buffer.position());
+		}
+
+	}
+
+}
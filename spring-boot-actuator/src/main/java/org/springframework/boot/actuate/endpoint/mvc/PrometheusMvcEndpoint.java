@@ -0,0 +1,245 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * {@link MvcEndpoint} to expose the {@link PublicMetrics} of a {@link MetricsEndpoint} in
+ * the Prometheus text exposition format. Metrics backed by a
+ * {@link MetricReaderPublicMetrics} are read from the underlying reader rather than
+ * through the map built by {@link MetricsEndpoint#invoke()}, and the response is gzip
+ * compressed if the client accepts it. Metric names are sanitized (e.g.
+ * {@code counter.status.200} becomes {@code counter_status_200}),
+ * {@link Metric#getTags() tags} are written as labels and metrics whose name starts with
+ * "counter." are typed as counters.
+ * <p>
+ * The output is not streamed in reader order: the format requires all samples of a
+ * family to follow a single {@code TYPE} line, but readers return metrics in no
+ * particular order and different names can sanitize to the same family. All samples
+ * are therefore grouped by family in memory (one value per label set) before anything
+ * is written. If several metrics end up with the same sanitized name and labels only
+ * the first one is written.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "endpoints.prometheus")
+@HypermediaDisabled
+public class PrometheusMvcEndpoint extends AbstractNamedMvcEndpoint {
+
+	/**
+	 * Content type of the Prometheus text exposition format.
+	 */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final MetricsEndpoint delegate;
+
+	public PrometheusMvcEndpoint(MetricsEndpoint delegate) {
+		super("prometheus", "/prometheus", true);
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	@RequestMapping(method = RequestMethod.GET)
+	public void invoke(HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		if (!isEnabled()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		response.setContentType(CONTENT_TYPE);
+		OutputStream out = response.getOutputStream();
+		GZIPOutputStream gzip = null;
+		if (acceptsGzip(request)) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+			out = gzip;
+		}
+		Writer writer = new BufferedWriter(
+				new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		write(writer);
+		writer.flush();
+		if (gzip != null) {
+			gzip.finish();
+		}
+	}
+
+	private boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.contains("gzip");
+	}
+
+	/**
+	 * Write all metrics in the Prometheus text exposition format.
+	 * @param writer the writer to write to
+	 * @throws IOException on IO error
+	 */
+	protected void write(Writer writer) throws IOException {
+		for (Family family : getFamilies().values()) {
+			writer.write("# TYPE ");
+			writer.write(family.name);
+			writer.write(family.counter ? " counter\n" : " gauge\n");
+			for (Map.Entry<String, Number> sample : family.samples.entrySet()) {
+				writer.write(family.name);
+				writer.write(sample.getKey());
+				writer.write(' ');
+				writeValue(writer, sample.getValue());
+				writer.write('\n');
+			}
+		}
+	}
+
+	private Map<String, Family> getFamilies() {
+		Map<String, Family> families = new LinkedHashMap<>();
+		for (PublicMetrics publicMetrics : this.delegate.getPublicMetrics()) {
+			try {
+				for (Metric<?> metric : getMetrics(publicMetrics)) {
+					if (metric.getValue() != null) {
+						add(families, metric);
+					}
+				}
+			}
+			catch (RuntimeException ex) {
+				// Could not evaluate metrics
+			}
+		}
+		return families;
+	}
+
+	private Iterable<Metric<?>> getMetrics(PublicMetrics publicMetrics) {
+		if (publicMetrics instanceof MetricReaderPublicMetrics) {
+			return ((MetricReaderPublicMetrics) publicMetrics).getMetricReader()
+					.findAll();
+		}
+		return publicMetrics.metrics();
+	}
+
+	private void add(Map<String, Family> families, Metric<?> metric) {
+		String name = sanitize(metric.getName(), true);
+		Family family = families.get(name);
+		if (family == null) {
+			family = new Family(name, metric.getName().startsWith("counter."));
+			families.put(name, family);
+		}
+		String labels = (metric.getTags().isEmpty() ? ""
+				: getLabels(metric.getTags()));
+		if (!family.samples.containsKey(labels)) {
+			family.samples.put(labels, metric.getValue());
+		}
+	}
+
+	private void writeValue(Writer writer, Number value) throws IOException {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short
+				|| value instanceof Byte) {
+			writer.write(Long.toString(value.longValue()));
+			return;
+		}
+		double doubleValue = value.doubleValue();
+		if (Double.isNaN(doubleValue)) {
+			writer.write("NaN");
+		}
+		else if (Double.isInfinite(doubleValue)) {
+			writer.write(doubleValue > 0 ? "+Inf" : "-Inf");
+		}
+		else {
+			writer.write(Double.toString(doubleValue));
+		}
+	}
+
+	private String getLabels(Tags tags) {
+		StringBuilder labels = new StringBuilder("{");
+		for (Map.Entry<String, String> tag : tags.asMap().entrySet()) {
+			if (labels.length() > 1) {
+				labels.append(',');
+			}
+			labels.append(sanitize(tag.getKey(), false)).append("=\"");
+			labels.append(escape(tag.getValue())).append('"');
+		}
+		return labels.append('}').toString();
+	}
+
+	private String sanitize(String name, boolean allowColon) {
+		StringBuilder sanitized = new StringBuilder(name.length() + 1);
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'
+					|| (allowColon && c == ':') || (i > 0 && c >= '0' && c <= '9');
+			if (i == 0 && c >= '0' && c <= '9') {
+				sanitized.append('_');
+				valid = true;
+			}
+			sanitized.append(valid ? c : '_');
+		}
+		return sanitized.toString();
+	}
+
+	private String escape(String value) {
+		if (value.indexOf('\\') < 0 && value.indexOf('"') < 0
+				&& value.indexOf('\n') < 0) {
+			return value;
+		}
+		String escaped = StringUtils.replace(value, "\\", "\\\\");
+		escaped = StringUtils.replace(escaped, "\"", "\\\"");
+		return StringUtils.replace(escaped, "\n", "\\n");
+	}
+
+	/**
+	 * The samples of a metric family, keyed by their labels.
+	 */
+	private static final class Family {
+
+		private final String name;
+
+		private final boolean counter;
+
+		private final Map<String, Number> samples = new LinkedHashMap<>();
+
+		Family(String name, boolean counter) {
+			this.name = name;
+			this.counter = counter;
+		}
+
+	}
+
+}
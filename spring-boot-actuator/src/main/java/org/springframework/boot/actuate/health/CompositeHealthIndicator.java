@@ -18,11 +18,28 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * By default the delegates are invoked one after the other. When an {@link Executor} is
+ * {@link #setExecutor(Executor) set} they are invoked concurrently instead and, if a
+ * {@link #setTimeout(long) timeout} is also set, any delegate that has not responded in
+ * time is reported as {@link Status#DOWN down}. Each delegate has at most one pending
+ * invocation: a delegate that is still running, for example because its backend hangs,
+ * is not invoked again and later calls wait for the pending result instead. A delegate
+ * that the executor rejects, typically because it is saturated, is not invoked and is
+ * also reported as {@link Status#DOWN down}.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -35,6 +52,12 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator healthAggregator;
 
+	private final Map<String, FutureTask<Health>> pending = new ConcurrentHashMap<>();
+
+	private Executor executor;
+
+	private long timeout;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -61,13 +84,104 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		this.indicators.put(name, indicator);
 	}
 
+	/**
+	 * Set the {@link Executor} used to invoke the delegates concurrently.
+	 * @param executor the executor or {@code null} to invoke the delegates on the calling
+	 * thread
+	 * @since 2.0.0
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Set the time to wait for the delegates when they are invoked concurrently.
+	 * @param timeout the timeout in milliseconds or {@code 0} to wait indefinitely
+	 * @since 2.0.0
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
 	@Override
 	public Health health() {
 		Map<String, Health> healths = new LinkedHashMap<>();
-		for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
-			healths.put(entry.getKey(), entry.getValue().health());
+		if (this.executor == null) {
+			for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
+				healths.put(entry.getKey(), entry.getValue().health());
+			}
+		}
+		else {
+			Map<String, FutureTask<Health>> tasks = submit(this.executor);
+			long deadline = System.nanoTime()
+					+ TimeUnit.MILLISECONDS.toNanos(this.timeout);
+			for (Map.Entry<String, FutureTask<Health>> entry : tasks.entrySet()) {
+				healths.put(entry.getKey(), getHealth(entry.getValue(), deadline));
+			}
 		}
 		return this.healthAggregator.aggregate(healths);
 	}
 
+	private Map<String, FutureTask<Health>> submit(Executor executor) {
+		Map<String, FutureTask<Health>> tasks = new LinkedHashMap<>();
+		for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
+			String name = entry.getKey();
+			final HealthIndicator indicator = entry.getValue();
+			FutureTask<Health> created = new FutureTask<>(new Callable<Health>() {
+
+				@Override
+				public Health call() throws Exception {
+					return indicator.health();
+				}
+
+			});
+			FutureTask<Health> task = this.pending.compute(name,
+					(key, existing) -> (existing != null && !existing.isDone() ? existing
+							: created));
+			if (task == created) {
+				try {
+					executor.execute(task);
+				}
+				catch (RejectedExecutionException ex) {
+					// Saturated, don't make the caller do the work
+					this.pending.remove(name, task);
+					task.cancel(false);
+				}
+			}
+			tasks.put(name, task);
+		}
+		return tasks;
+	}
+
+	private Health getHealth(FutureTask<Health> task, long deadline) {
+		try {
+			if (this.timeout <= 0) {
+				return task.get();
+			}
+			return task.get(Math.max(0, deadline - System.nanoTime()),
+					TimeUnit.NANOSECONDS);
+		}
+		catch (CancellationException ex) {
+			return Health.down()
+					.withDetail("error", "Rejected by the health indicator executor")
+					.build();
+		}
+		catch (TimeoutException ex) {
+			// Leave the task running so that later calls wait for it rather than
+			// tying up another thread with the same indicator
+			return Health.down()
+					.withDetail("error", "Timed out after " + this.timeout + "ms")
+					.build();
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			return Health.down(cause instanceof Exception ? (Exception) cause : ex)
+					.build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Health.unknown().withException(ex).build();
+		}
+	}
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that invokes a delegate in the background and returns its most
+ * recent result, so that callers never wait for the delegate. The details of the
+ * returned {@link Health} include the time in milliseconds since the result was obtained
+ * ({@code checkAge}) and how long the delegate took to produce it
+ * ({@code checkDuration}). Until the delegate has been invoked for the first time the
+ * status is {@link Status#UNKNOWN}. Once the most recent result is older than the
+ * {@link #setMaxAge(long) maximum age}, for example because the delegate hangs, the
+ * status is {@link Status#DOWN}.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class ScheduledHealthIndicator implements HealthIndicator, Runnable {
+
+	private static final int STALE_DELAYS = 3;
+
+	private final HealthIndicator delegate;
+
+	private volatile Snapshot snapshot;
+
+	private volatile long maxAge;
+
+	/**
+	 * Create a new {@link ScheduledHealthIndicator} instance.
+	 * @param delegate the health indicator to invoke in the background
+	 */
+	public ScheduledHealthIndicator(HealthIndicator delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Set the age after which the most recent result is considered stale and reported
+	 * as {@link Status#DOWN down}.
+	 * @param maxAge the maximum age in milliseconds or {@code 0} for no limit
+	 */
+	public void setMaxAge(long maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Schedule the delegate to be invoked straight away and then with the specified
+	 * delay between the end of one invocation and the start of the next. Unless a
+	 * {@link #setMaxAge(long) maximum age} has been set, results older than three times
+	 * the delay are considered stale.
+	 * @param scheduler the scheduler to use
+	 * @param delay the delay in milliseconds
+	 * @return the scheduled task
+	 */
+	public ScheduledFuture<?> schedule(TaskScheduler scheduler, long delay) {
+		if (this.maxAge <= 0) {
+			this.maxAge = delay * STALE_DELAYS;
+		}
+		return scheduler.scheduleWithFixedDelay(this, delay);
+	}
+
+	@Override
+	public void run() {
+		refresh();
+	}
+
+	/**
+	 * Invoke the delegate and record its result.
+	 */
+	public void refresh() {
+		long start = System.nanoTime();
+		Health health;
+		try {
+			health = this.delegate.health();
+		}
+		catch (Exception ex) {
+			health = Health.down(ex).build();
+		}
+		this.snapshot = new Snapshot(health, System.currentTimeMillis(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@Override
+	public Health health() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			return Health.unknown().build();
+		}
+		long age = System.currentTimeMillis() - snapshot.timestamp;
+		if (this.maxAge > 0 && age > this.maxAge) {
+			return Health.down()
+					.withDetail("error", "No result for more than " + this.maxAge + "ms")
+					.withDetail("checkAge", age).build();
+		}
+		return new Health.Builder(snapshot.health.getStatus(),
+				snapshot.health.getDetails()).withDetail("checkAge", age)
+						.withDetail("checkDuration", snapshot.duration).build();
+	}
+
+	private static final class Snapshot {
+
+		private final Health health;
+
+		private final long timestamp;
+
+		private final long duration;
+
+		Snapshot(Health health, long timestamp, long duration) {
+			this.health = health;
+			this.timestamp = timestamp;
+			this.duration = duration;
+		}
+
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Creates proxies of pooled {@link DataSource data sources} that record the time spent
+ * waiting for a connection, the time each connection is held and the number of
+ * checkouts. Hikari, Tomcat and Commons DBCP2 data sources are supported.
+ * <p>
+ * Proxies extend the class of the data source so that code relying on its concrete type,
+ * such as the {@code DataSourcePoolMetadataProvider} implementations, keeps working.
+ * They also implement {@link InstrumentedDataSource}.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class DataSourceInstrumenter {
+
+	private static final String[] SUPPORTED_TYPES = { "com.zaxxer.hikari.HikariDataSource",
+			"org.apache.tomcat.jdbc.pool.DataSource",
+			"org.apache.commons.dbcp2.BasicDataSource" };
+
+	private final ClassLoader classLoader;
+
+	private final List<Class<?>> supportedTypes = new ArrayList<>();
+
+	public DataSourceInstrumenter(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		for (String type : SUPPORTED_TYPES) {
+			if (ClassUtils.isPresent(type, classLoader)) {
+				this.supportedTypes.add(ClassUtils.resolveClassName(type, classLoader));
+			}
+		}
+	}
+
+	/**
+	 * Return whether the specified data source can be instrumented.
+	 * @param dataSource the data source
+	 * @return {@code true} if the data source is a supported connection pool that is not
+	 * already proxied
+	 */
+	public boolean isSupported(DataSource dataSource) {
+		if (dataSource instanceof InstrumentedDataSource
+				|| AopUtils.isAopProxy(dataSource)) {
+			return false;
+		}
+		for (Class<?> supportedType : this.supportedTypes) {
+			if (supportedType.isInstance(dataSource)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Instrument the specified data source.
+	 * @param dataSource the data source to instrument
+	 * @return a proxy of the data source that also implements
+	 * {@link InstrumentedDataSource}
+	 * @throws IllegalArgumentException if the data source is not supported
+	 */
+	public DataSource instrument(DataSource dataSource) {
+		Assert.isTrue(isSupported(dataSource),
+				"Unsupported data source " + dataSource.getClass().getName());
+		ProxyFactory factory = new ProxyFactory(dataSource);
+		factory.setProxyTargetClass(true);
+		factory.addInterface(InstrumentedDataSource.class);
+		factory.addAdvice(new StatisticsInterceptor());
+		return (DataSource) factory.getProxy(this.classLoader);
+	}
+
+	/**
+	 * {@link MethodInterceptor} that records the statistics of the connections obtained
+	 * from a data source.
+	 */
+	private static class StatisticsInterceptor implements MethodInterceptor {
+
+		private final DataSourceStatistics statistics = new DataSourceStatistics();
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			Method method = invocation.getMethod();
+			if (method.getDeclaringClass() == InstrumentedDataSource.class) {
+				return this.statistics;
+			}
+			if (!method.getName().equals("getConnection")) {
+				return invocation.proceed();
+			}
+			long start = System.nanoTime();
+			Connection connection;
+			try {
+				connection = (Connection) invocation.proceed();
+			}
+			catch (Throwable ex) {
+				this.statistics.recordFailure(System.nanoTime() - start);
+				throw ex;
+			}
+			long acquired = System.nanoTime();
+			this.statistics.recordCheckout(acquired - start);
+			return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class },
+					new ConnectionInvocationHandler(connection, acquired));
+		}
+
+		/**
+		 * {@link InvocationHandler} that records the time a connection is held when it
+		 * is closed.
+		 */
+		private class ConnectionInvocationHandler implements InvocationHandler {
+
+			private final Connection connection;
+
+			private final long acquired;
+
+			private final AtomicBoolean closed = new AtomicBoolean();
+
+			ConnectionInvocationHandler(Connection connection, long acquired) {
+				this.connection = connection;
+				this.acquired = acquired;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+				if (method.getName().equals("equals")) {
+					return proxy == args[0];
+				}
+				if (method.getName().equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				}
+				if (method.getName().equals("close")
+						&& this.closed.compareAndSet(false, true)) {
+					StatisticsInterceptor.this.statistics
+							.recordRelease(System.nanoTime() - this.acquired);
+				}
+				try {
+					return method.invoke(this.connection, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.actuate.metrics.Histogram;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Statistics of the connections obtained from a data source: the number of checkouts
+ * and failed attempts, the distribution of the time spent waiting for a connection and
+ * the distribution of the time a connection is held before it is closed.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ * @see InstrumentedDataSource
+ */
+public class DataSourceStatistics {
+
+	private static final long[] WAIT_BUCKETS = { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+	private static final long[] HOLD_BUCKETS = { 1, 10, 100, 1000, 10000, 60000 };
+
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final LongAdder checkouts = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private final Histogram wait = new Histogram(WAIT_BUCKETS);
+
+	private final Histogram hold = new Histogram(HOLD_BUCKETS);
+
+	/**
+	 * Record that a connection has been obtained.
+	 * @param waitTime the time in nanoseconds spent waiting for the connection
+	 */
+	public void recordCheckout(long waitTime) {
+		this.checkouts.increment();
+		this.wait.record(waitTime / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Record that an attempt to obtain a connection has failed.
+	 * @param waitTime the time in nanoseconds spent before the attempt failed
+	 */
+	public void recordFailure(long waitTime) {
+		this.failures.increment();
+		this.wait.record(waitTime / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Record that a connection has been closed.
+	 * @param holdTime the time in nanoseconds during which the connection was held
+	 */
+	public void recordRelease(long holdTime) {
+		this.hold.record(holdTime / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Return the number of connections that have been obtained.
+	 * @return the number of checkouts
+	 */
+	public long getCheckoutCount() {
+		return this.checkouts.sum();
+	}
+
+	/**
+	 * Return the number of attempts to obtain a connection that have failed.
+	 * @return the number of failures
+	 */
+	public long getFailureCount() {
+		return this.failures.sum();
+	}
+
+	/**
+	 * Return the number of connections that have been closed.
+	 * @return the number of releases
+	 */
+	public long getReleaseCount() {
+		return this.hold.getCount();
+	}
+
+	/**
+	 * Add the metrics of these statistics to the specified result. The wait and hold
+	 * time distributions are exposed as cumulative counts per upper bound in
+	 * milliseconds, along with the maximum time observed.
+	 * @param prefix the prefix of the metrics, ending with a dot
+	 * @param result the result
+	 */
+	public void addMetrics(String prefix, Collection<Metric<?>> result) {
+		result.add(new Metric<>(prefix + "checkouts", getCheckoutCount()));
+		result.add(new Metric<>(prefix + "failures", getFailureCount()));
+		this.wait.addMetrics(prefix + "wait", result);
+		this.hold.addMetrics(prefix + "hold", result);
+	}
+
+}
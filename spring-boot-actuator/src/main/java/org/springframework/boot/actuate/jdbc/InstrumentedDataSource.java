@@ -0,0 +1,34 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+/**
+ * Interface implemented by the proxies created by {@link DataSourceInstrumenter} to
+ * expose the statistics of the connections they hand out.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public interface InstrumentedDataSource {
+
+	/**
+	 * Return the statistics of the connections obtained from the data source.
+	 * @return the statistics
+	 */
+	DataSourceStatistics getStatistics();
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2013 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,4 +41,28 @@ public interface CounterService {
 	 */
 	void reset(String metricName);
 
+	/**
+	 * Increment the specified tagged counter by 1. Implementations that do not support
+	 * tags increment a counter named after the {@link Tags#flatten(String) flattened}
+	 * name instead.
+	 * @param metricName the name of the counter
+	 * @param tags the tags of the counter
+	 * @since 2.0.0
+	 */
+	default void increment(String metricName, Tags tags) {
+		increment(tags.flatten(metricName));
+	}
+
+	/**
+	 * Decrement the specified tagged counter by 1. Implementations that do not support
+	 * tags decrement a counter named after the {@link Tags#flatten(String) flattened}
+	 * name instead.
+	 * @param metricName the name of the counter
+	 * @param tags the tags of the counter
+	 * @since 2.0.0
+	 */
+	default void decrement(String metricName, Tags tags) {
+		decrement(tags.flatten(metricName));
+	}
+
 }
@@ -37,4 +37,16 @@ public interface GaugeService {
 	 */
 	void submit(String metricName, double value);
 
+	/**
+	 * Set the specified tagged gauge value. Implementations that do not support tags set
+	 * a gauge named after the {@link Tags#flatten(String) flattened} name instead.
+	 * @param metricName the name of the gauge to set
+	 * @param tags the tags of the gauge
+	 * @param value the value of the gauge
+	 * @since 2.0.0
+	 */
+	default void submit(String metricName, Tags tags, double value) {
+		submit(tags.flatten(metricName), value);
+	}
+
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * A histogram of non-negative values, such as durations, that are counted in buckets
+ * with fixed upper bounds. Each bucket counts the values that are greater than the bound
+ * of the previous bucket and less than or equal to its own bound. Values greater than the
+ * last bound are counted in an additional overflow bucket. Memory use is therefore fixed
+ * when the histogram is created and values can be recorded concurrently without locking.
+ * Negative values are recorded as zero.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public final class Histogram {
+
+	private static final long NO_MIN = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+	private final long[] bounds;
+
+	private final AtomicLongArray counts;
+
+	private final LongAdder count = new LongAdder();
+
+	private final DoubleAdder sum = new DoubleAdder();
+
+	// The bits of non-negative doubles are ordered like the values themselves
+	private final AtomicLong max = new AtomicLong();
+
+	private final AtomicLong min = new AtomicLong(NO_MIN);
+
+	/**
+	 * Create a new {@link Histogram} with buckets bounded by the specified values.
+	 * @param bounds the upper bounds of the buckets, in increasing order
+	 */
+	public Histogram(long... bounds) {
+		Assert.notNull(bounds, "Bounds must not be null");
+		for (int i = 0; i < bounds.length; i++) {
+			Assert.isTrue(bounds[i] >= 0 && (i == 0 || bounds[i] > bounds[i - 1]),
+					"Bounds must be non-negative and in increasing order");
+		}
+		this.bounds = bounds.clone();
+		this.counts = new AtomicLongArray(bounds.length + 1);
+	}
+
+	/**
+	 * Return the upper bounds of the buckets.
+	 * @return the bounds
+	 */
+	public long[] getBounds() {
+		return this.bounds.clone();
+	}
+
+	/**
+	 * Record a value.
+	 * @param value the value to record
+	 */
+	public void record(double value) {
+		double recorded = Math.max(value, 0);
+		this.counts.incrementAndGet(getBucket(recorded));
+		this.count.increment();
+		this.sum.add(recorded);
+		long bits = Double.doubleToLongBits(recorded);
+		this.max.accumulateAndGet(bits, Math::max);
+		this.min.accumulateAndGet(bits, Math::min);
+	}
+
+	private int getBucket(double value) {
+		int low = 0;
+		int high = this.bounds.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (value > this.bounds[middle]) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Add all values recorded by another histogram to this histogram. The other
+	 * histogram must have the same bounds.
+	 * @param other the histogram to merge
+	 */
+	public void merge(Histogram other) {
+		Assert.isTrue(Arrays.equals(other.bounds, this.bounds),
+				"Histograms must have the same bounds to be merged");
+		for (int i = 0; i < other.counts.length(); i++) {
+			long count = other.counts.get(i);
+			if (count > 0) {
+				this.counts.addAndGet(i, count);
+			}
+		}
+		this.count.add(other.count.sum());
+		this.sum.add(other.sum.sum());
+		this.max.accumulateAndGet(other.max.get(), Math::max);
+		this.min.accumulateAndGet(other.min.get(), Math::min);
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Return the maximum recorded value or zero if no values have been recorded.
+	 * @return the maximum value
+	 */
+	public double getMax() {
+		return Double.longBitsToDouble(this.max.get());
+	}
+
+	/**
+	 * Return the minimum recorded value or zero if no values have been recorded.
+	 * @return the minimum value
+	 */
+	public double getMin() {
+		long min = this.min.get();
+		return (min == NO_MIN ? 0 : Double.longBitsToDouble(min));
+	}
+
+	/**
+	 * Return the arithmetic mean of the recorded values or zero if no values have been
+	 * recorded.
+	 * @return the mean value
+	 */
+	public double getMean() {
+		long count = this.count.sum();
+		return (count == 0 ? 0.0 : this.sum.sum() / count);
+	}
+
+	/**
+	 * Return the value at the given percentile, i.e. the bound of the bucket holding the
+	 * value that the given fraction of the recorded values are less than or equal to,
+	 * capped by the maximum recorded value.
+	 * @param percentile the percentile as a fraction between 0 and 1 (e.g. 0.99)
+	 * @return the value at the percentile or zero if no values have been recorded
+	 */
+	public double getValueAtPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 1,
+				"Percentile must be between 0 and 1");
+		long[] counts = new long[this.counts.length()];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = this.counts.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max((long) Math.ceil(percentile * total), 1);
+		long cumulative = 0;
+		for (int i = 0; i < this.bounds.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= target) {
+				return Math.min(this.bounds[i], getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Add the metrics of this histogram to the specified result: the cumulative number of
+	 * values less than or equal to each bound ({@code <prefix>.le.<bound>}), the total
+	 * number of values ({@code <prefix>.count}) and the maximum value
+	 * ({@code <prefix>.max}).
+	 * @param prefix the prefix of the metrics
+	 * @param result the result
+	 */
+	public void addMetrics(String prefix, Collection<Metric<?>> result) {
+		long count = 0;
+		for (int i = 0; i < this.bounds.length; i++) {
+			count += this.counts.get(i);
+			result.add(new Metric<>(prefix + ".le." + this.bounds[i], count));
+		}
+		count += this.counts.get(this.bounds.length);
+		result.add(new Metric<>(prefix + ".count", count));
+		result.add(new Metric<>(prefix + ".max", getMax()));
+	}
+
+	@Override
+	public String toString() {
+		return "Histogram [bounds = " + Arrays.toString(this.bounds) + ", count = "
+				+ getCount() + ", max = " + getMax() + "]";
+	}
+
+}
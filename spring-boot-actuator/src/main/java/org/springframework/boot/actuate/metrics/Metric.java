@@ -24,7 +24,8 @@ import org.springframework.util.ObjectUtils;
 /**
  * Immutable class that can be used to hold any arbitrary system measurement value (a
  * named numeric value with a timestamp). For example a metric might record the number of
- * active connections to a server, or the temperature of a meeting room.
+ * active connections to a server, or the temperature of a meeting room. A metric can
+ * optionally carry {@link Tags} that, together with the name, identify it.
  *
  * @param <T> the value type
  * @author Dave Syer
@@ -37,6 +38,8 @@ public class Metric<T extends Number> {
 
 	private final Date timestamp;
 
+	private final Tags tags;
+
 	/**
 	 * Create a new {@link Metric} instance for the current time.
 	 * @param name the name of the metric
@@ -53,10 +56,23 @@ public class Metric<T extends Number> {
 	 * @param timestamp the timestamp for the metric
 	 */
 	public Metric(String name, T value, Date timestamp) {
+		this(name, value, timestamp, null);
+	}
+
+	/**
+	 * Create a new {@link Metric} instance.
+	 * @param name the name of the metric
+	 * @param value the value of the metric
+	 * @param timestamp the timestamp for the metric
+	 * @param tags the tags of the metric (may be {@code null})
+	 * @since 2.0.0
+	 */
+	public Metric(String name, T value, Date timestamp, Tags tags) {
 		Assert.notNull(name, "Name must not be null");
 		this.name = name;
 		this.value = value;
 		this.timestamp = timestamp;
+		this.tags = (tags != null ? tags : Tags.empty());
 	}
 
 	/**
@@ -79,10 +95,20 @@ public class Metric<T extends Number> {
 		return this.timestamp;
 	}
 
+	/**
+	 * Returns the tags of the metric.
+	 * @return the tags (never {@code null})
+	 * @since 2.0.0
+	 */
+	public Tags getTags() {
+		return this.tags;
+	}
+
 	@Override
 	public String toString() {
 		return "Metric [name=" + this.name + ", value=" + this.value + ", timestamp="
-				+ this.timestamp + "]";
+				+ this.timestamp + (this.tags.isEmpty() ? "" : ", tags=" + this.tags)
+				+ "]";
 	}
 
 	/**
@@ -92,7 +118,8 @@ public class Metric<T extends Number> {
 	 */
 	public Metric<Long> increment(int amount) {
 		return new Metric<>(this.getName(),
-				Long.valueOf(this.getValue().longValue() + amount));
+				Long.valueOf(this.getValue().longValue() + amount), new Date(),
+				this.tags);
 	}
 
 	/**
@@ -102,7 +129,7 @@ public class Metric<T extends Number> {
 	 * @return a new {@link Metric} instance
 	 */
 	public <S extends Number> Metric<S> set(S value) {
-		return new Metric<>(this.getName(), value);
+		return new Metric<>(this.getName(), value, new Date(), this.tags);
 	}
 
 	@Override
@@ -112,6 +139,7 @@ public class Metric<T extends Number> {
 		result = prime * result + ObjectUtils.nullSafeHashCode(this.name);
 		result = prime * result + ObjectUtils.nullSafeHashCode(this.timestamp);
 		result = prime * result + ObjectUtils.nullSafeHashCode(this.value);
+		result = prime * result + this.tags.hashCode();
 		return result;
 	}
 
@@ -129,6 +157,7 @@ public class Metric<T extends Number> {
 			rtn = rtn && ObjectUtils.nullSafeEquals(this.name, other.name);
 			rtn = rtn && ObjectUtils.nullSafeEquals(this.timestamp, other.timestamp);
 			rtn = rtn && ObjectUtils.nullSafeEquals(this.value, other.value);
+			rtn = rtn && this.tags.equals(other.tags);
 			return rtn;
 		}
 		return super.equals(obj);
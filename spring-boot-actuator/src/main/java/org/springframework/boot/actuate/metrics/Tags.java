@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * Immutable set of key/value pairs that, together with a name, identify a dimensional
+ * metric (e.g. a {@code counter.status} metric with {@code method=GET} and
+ * {@code status=200} tags). Tags are kept sorted by key and their hash code is computed
+ * up front, so the tags for a given combination can be created once and reused cheaply
+ * as (part of) a map key on every write.
+ * <p>
+ * Consumers that only understand dot-separated names can use {@link #flatten(String)}.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public final class Tags {
+
+	private static final Tags EMPTY = new Tags(new String[0], new String[0]);
+
+	private final String[] keys;
+
+	private final String[] values;
+
+	private final int hashCode;
+
+	private final String suffix;
+
+	private Tags(String[] keys, String[] values) {
+		this.keys = keys;
+		this.values = values;
+		this.hashCode = 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+		StringBuilder suffix = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			suffix.append('.').append(keys[i]).append('.').append(values[i]);
+		}
+		this.suffix = suffix.toString();
+	}
+
+	/**
+	 * Return the empty set of tags.
+	 * @return the empty tags
+	 */
+	public static Tags empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Return the tags for the given alternating keys and values.
+	 * @param keysAndValues the keys and values, e.g. {@code "method", "GET"}
+	 * @return the tags
+	 */
+	public static Tags of(String... keysAndValues) {
+		Assert.isTrue(keysAndValues.length % 2 == 0,
+				"Tags must be specified as key value pairs");
+		Map<String, String> tags = new LinkedHashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			tags.put(keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return of(tags);
+	}
+
+	/**
+	 * Return the tags for the given map.
+	 * @param tags the tags keyed by name
+	 * @return the tags
+	 */
+	public static Tags of(Map<String, String> tags) {
+		if (tags.isEmpty()) {
+			return EMPTY;
+		}
+		Map<String, String> sorted = new TreeMap<>(tags);
+		String[] keys = new String[sorted.size()];
+		String[] values = new String[sorted.size()];
+		int index = 0;
+		for (Map.Entry<String, String> entry : sorted.entrySet()) {
+			Assert.hasText(entry.getKey(), "Tag keys must not be empty");
+			Assert.notNull(entry.getValue(), "Tag values must not be null");
+			keys[index] = entry.getKey();
+			values[index++] = entry.getValue();
+		}
+		return new Tags(keys, values);
+	}
+
+	/**
+	 * Return a new set of tags with the given tag added (or replaced).
+	 * @param key the tag key
+	 * @param value the tag value
+	 * @return the tags
+	 */
+	public Tags and(String key, String value) {
+		Map<String, String> tags = asMap();
+		if (value.equals(tags.get(key))) {
+			return this;
+		}
+		tags = new LinkedHashMap<>(tags);
+		tags.put(key, value);
+		return of(tags);
+	}
+
+	/**
+	 * Return the value of the given tag.
+	 * @param key the tag key
+	 * @return the value or {@code null}
+	 */
+	public String get(String key) {
+		int index = Arrays.binarySearch(this.keys, key);
+		return (index < 0 ? null : this.values[index]);
+	}
+
+	public boolean isEmpty() {
+		return this.keys.length == 0;
+	}
+
+	public int size() {
+		return this.keys.length;
+	}
+
+	/**
+	 * Return the tags as a map sorted by key.
+	 * @return an unmodifiable map of the tags
+	 */
+	public Map<String, String> asMap() {
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < this.keys.length; i++) {
+			map.put(this.keys[i], this.values[i]);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Return a dot-separated name for consumers that do not support tags: the given
+	 * name followed by each tag key and value in key order (e.g.
+	 * {@code counter.status.method.GET.status.200}). Keys are included so that tags
+	 * with the same values under different keys do not end up with the same name.
+	 * @param name the metric name
+	 * @return the flattened name (the name itself if there are no tags)
+	 */
+	public String flatten(String name) {
+		return (this.keys.length == 0 ? name : name + this.suffix);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Tags other = (Tags) obj;
+		return this.hashCode == other.hashCode && Arrays.equals(this.keys, other.keys)
+				&& Arrays.equals(this.values, other.values);
+	}
+
+	@Override
+	public String toString() {
+		return asMap().toString();
+	}
+
+}
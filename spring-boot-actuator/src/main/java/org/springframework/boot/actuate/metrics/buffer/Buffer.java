@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
+import org.springframework.boot.actuate.metrics.Tags;
+
 /**
  * Base class for a mutable buffer containing a timestamp and a value.
  *
@@ -27,10 +29,40 @@ abstract class Buffer<T extends Number> {
 
 	private volatile long timestamp;
 
+	private String name;
+
+	private Tags tags;
+
 	Buffer(long timestamp) {
 		this.timestamp = timestamp;
 	}
 
+	/**
+	 * Set the name and tags of a tagged buffer. Called before the buffer is published.
+	 * @param name the metric name (without tags)
+	 * @param tags the tags of the metric
+	 */
+	void setIdentity(String name, Tags tags) {
+		this.name = name;
+		this.tags = tags;
+	}
+
+	/**
+	 * Return the metric name of a tagged buffer.
+	 * @return the name or {@code null} if the buffer is not tagged
+	 */
+	String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the tags of a tagged buffer.
+	 * @return the tags or {@code null} if the buffer is not tagged
+	 */
+	Tags getTags() {
+		return this.tags;
+	}
+
 	public long getTimestamp() {
 		return this.timestamp;
 	}
@@ -39,6 +71,19 @@ abstract class Buffer<T extends Number> {
 		this.timestamp = timestamp;
 	}
 
+	/**
+	 * Advance the timestamp only if the current value is at least {@code resolution}
+	 * milliseconds older than the given timestamp. Many threads updating the same buffer
+	 * then mostly read the shared field rather than writing it on every update.
+	 * @param timestamp the new timestamp
+	 * @param resolution the timestamp resolution in milliseconds
+	 */
+	void advanceTimestamp(long timestamp, long resolution) {
+		if (timestamp - this.timestamp >= resolution) {
+			this.timestamp = timestamp;
+		}
+	}
+
 	/**
 	 * Returns the buffer value.
 	 * @return the value of the buffer
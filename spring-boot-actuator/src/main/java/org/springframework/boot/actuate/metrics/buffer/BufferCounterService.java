@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.metrics.buffer;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * Fast implementation of {@link CounterService} using {@link CounterBuffers}.
@@ -55,6 +56,16 @@ public class BufferCounterService implements CounterService {
 		this.buffers.reset(wrap(metricName));
 	}
 
+	@Override
+	public void increment(String metricName, Tags tags) {
+		this.buffers.increment(wrap(metricName), tags, 1L);
+	}
+
+	@Override
+	public void decrement(String metricName, Tags tags) {
+		this.buffers.increment(wrap(metricName), tags, -1L);
+	}
+
 	private String wrap(String metricName) {
 		String cached = this.names.get(metricName);
 		if (cached != null) {
@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.metrics.buffer;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * Fast implementation of {@link GaugeService} using {@link GaugeBuffers}.
@@ -45,6 +46,11 @@ public class BufferGaugeService implements GaugeService {
 		this.buffers.set(wrap(metricName), value);
 	}
 
+	@Override
+	public void submit(String metricName, Tags tags, double value) {
+		this.buffers.set(wrap(metricName), tags, value);
+	}
+
 	private String wrap(String metricName) {
 		String cached = this.names.get(metricName);
 		if (cached != null) {
@@ -92,7 +92,12 @@ public class BufferMetricReader implements MetricReader, PrefixMetricReader {
 	}
 
 	private <T extends Number> Metric<T> asMetric(final String name, Buffer<T> buffer) {
-		return new Metric<>(name, buffer.getValue(), new Date(buffer.getTimestamp()));
+		Date timestamp = new Date(buffer.getTimestamp());
+		if (buffer.getTags() == null) {
+			return new Metric<>(name, buffer.getValue(), timestamp);
+		}
+		return new Metric<>(buffer.getName(), buffer.getValue(), timestamp,
+				buffer.getTags());
 	}
 
 }
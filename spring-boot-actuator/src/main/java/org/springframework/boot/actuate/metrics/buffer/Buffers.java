@@ -22,8 +22,12 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.springframework.boot.actuate.metrics.Tags;
+
 /**
- * Base class used to manage a map of {@link Buffer} objects.
+ * Base class used to manage a map of {@link Buffer} objects. Buffers of tagged metrics
+ * are kept under their {@link Tags#flatten(String) flattened} name and remember their
+ * name and tags so that readers can return them as tagged metrics.
  *
  * @param <B> The buffer type
  * @author Dave Syer
@@ -33,6 +37,8 @@ abstract class Buffers<B extends Buffer<?>> {
 
 	private final ConcurrentHashMap<String, B> buffers = new ConcurrentHashMap<>();
 
+	private final ConcurrentHashMap<String, ConcurrentHashMap<Tags, B>> taggedBuffers = new ConcurrentHashMap<>();
+
 	public void forEach(final Predicate<String> predicate,
 			final BiConsumer<String, B> consumer) {
 		this.buffers.forEach(new BiConsumer<String, B>() {
@@ -56,6 +62,16 @@ abstract class Buffers<B extends Buffer<?>> {
 	}
 
 	protected final void doWith(final String name, final Consumer<B> consumer) {
+		consumer.accept(getOrCreate(name));
+	}
+
+	/**
+	 * Return the buffer with the given name, creating it if necessary. Allows subclasses
+	 * to update a buffer directly without allocating a {@link Consumer} per call.
+	 * @param name the name of the buffer
+	 * @return the buffer (never {@code null})
+	 */
+	protected final B getOrCreate(final String name) {
 		B buffer = this.buffers.get(name);
 		if (buffer == null) {
 			buffer = this.buffers.computeIfAbsent(name, new Function<String, B>() {
@@ -65,7 +81,35 @@ abstract class Buffers<B extends Buffer<?>> {
 				}
 			});
 		}
-		consumer.accept(buffer);
+		return buffer;
+	}
+
+	/**
+	 * Return the buffer for the given name and tags, creating it if necessary. Lookups
+	 * are keyed by the tags themselves so the flattened name is only built once.
+	 * @param name the name of the metric
+	 * @param tags the tags of the metric
+	 * @return the buffer (never {@code null})
+	 */
+	protected final B getOrCreate(final String name, final Tags tags) {
+		if (tags.isEmpty()) {
+			return getOrCreate(name);
+		}
+		ConcurrentHashMap<Tags, B> tagged = this.taggedBuffers.get(name);
+		if (tagged == null) {
+			tagged = this.taggedBuffers.computeIfAbsent(name,
+					(key) -> new ConcurrentHashMap<>());
+		}
+		B buffer = tagged.get(tags);
+		if (buffer == null) {
+			buffer = tagged.computeIfAbsent(tags, (key) -> this.buffers
+					.computeIfAbsent(key.flatten(name), (flattened) -> {
+						B created = createBuffer();
+						created.setIdentity(name, key);
+						return created;
+					}));
+		}
+		return buffer;
 	}
 
 	protected abstract B createBuffer();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,24 +18,74 @@ package org.springframework.boot.actuate.metrics.buffer;
 
 import java.util.function.Consumer;
 
+import org.springframework.boot.actuate.metrics.Tags;
+
 /**
  * Fast writes to in-memory metrics store using {@link CounterBuffer}.
+ * <p>
+ * By default the timestamp of a buffer is updated on every increment. When a
+ * {@code timestampResolution} is specified, the timestamp is only advanced once it is
+ * older than the resolution, so that concurrent increments of the same counter only
+ * contend on the striped {@link java.util.concurrent.atomic.LongAdder LongAdder} cells
+ * and not on a single shared field. Totals seen by a {@link BufferMetricReader} are
+ * unaffected, only the precision of the timestamps is reduced.
  *
  * @author Dave Syer
  * @since 1.3.0
  */
 public class CounterBuffers extends Buffers<CounterBuffer> {
 
-	public void increment(final String name, final long delta) {
-		doWith(name, new Consumer<CounterBuffer>() {
+	private final long timestampResolution;
 
-			@Override
-			public void accept(CounterBuffer buffer) {
-				buffer.setTimestamp(System.currentTimeMillis());
-				buffer.add(delta);
-			}
+	/**
+	 * Create a new {@link CounterBuffers} instance that updates timestamps on every
+	 * increment.
+	 */
+	public CounterBuffers() {
+		this(0);
+	}
 
-		});
+	/**
+	 * Create a new {@link CounterBuffers} instance with coarse timestamps.
+	 * @param timestampResolution the resolution of buffer timestamps in milliseconds
+	 * (zero or less to update the timestamp on every increment)
+	 * @since 2.0.0
+	 */
+	public CounterBuffers(long timestampResolution) {
+		this.timestampResolution = Math.max(timestampResolution, 0);
+	}
+
+	/**
+	 * Return the resolution of buffer timestamps in milliseconds.
+	 * @return the timestamp resolution (zero if the timestamp is updated on every
+	 * increment)
+	 * @since 2.0.0
+	 */
+	public long getTimestampResolution() {
+		return this.timestampResolution;
+	}
+
+	public void increment(final String name, final long delta) {
+		increment(name, Tags.empty(), delta);
+	}
+
+	/**
+	 * Increment the buffer of a tagged counter.
+	 * @param name the name of the counter
+	 * @param tags the tags of the counter
+	 * @param delta the amount to add
+	 * @since 2.0.0
+	 */
+	public void increment(final String name, final Tags tags, final long delta) {
+		CounterBuffer buffer = getOrCreate(name, tags);
+		if (this.timestampResolution > 0) {
+			buffer.advanceTimestamp(System.currentTimeMillis(),
+					this.timestampResolution);
+		}
+		else {
+			buffer.setTimestamp(System.currentTimeMillis());
+		}
+		buffer.add(delta);
 	}
 
 	public void reset(final String name) {
@@ -16,7 +16,7 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
-import java.util.function.Consumer;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * Fast writes to in-memory metrics store using {@link GaugeBuffer}.
@@ -27,13 +27,20 @@ import java.util.function.Consumer;
 public class GaugeBuffers extends Buffers<GaugeBuffer> {
 
 	public void set(final String name, final double value) {
-		doWith(name, new Consumer<GaugeBuffer>() {
-			@Override
-			public void accept(GaugeBuffer buffer) {
-				buffer.setTimestamp(System.currentTimeMillis());
-				buffer.setValue(value);
-			}
-		});
+		set(name, Tags.empty(), value);
+	}
+
+	/**
+	 * Set the buffer of a tagged gauge.
+	 * @param name the name of the gauge
+	 * @param tags the tags of the gauge
+	 * @param value the value
+	 * @since 2.0.0
+	 */
+	public void set(final String name, final Tags tags, final double value) {
+		GaugeBuffer buffer = getOrCreate(name, tags);
+		buffer.setTimestamp(System.currentTimeMillis());
+		buffer.setValue(value);
 	}
 
 	@Override
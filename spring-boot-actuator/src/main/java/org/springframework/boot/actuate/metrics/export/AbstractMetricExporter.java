@@ -23,12 +23,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -53,7 +60,9 @@ public abstract class AbstractMetricExporter implements Exporter, Closeable, Flu
 
 	private volatile AtomicBoolean processing = new AtomicBoolean(false);
 
-	private Date latestTimestamp = new Date(0L);
+	private final Map<String, Metric<?>> exported = new ConcurrentHashMap<>();
+
+	private final AtomicLong failures = new AtomicLong();
 
 	public AbstractMetricExporter(String prefix) {
 		this.prefix = (!StringUtils.hasText(prefix) ? ""
@@ -77,7 +86,9 @@ public abstract class AbstractMetricExporter implements Exporter, Closeable, Flu
 	}
 
 	/**
-	 * Send only the data that changed since the last export.
+	 * Send only the data that changed since the last export. A metric is considered to
+	 * have changed if its timestamp advanced or its value is different from the one that
+	 * was last successfully exported.
 	 * @param sendLatest the flag to set
 	 */
 	public void setSendLatest(boolean sendLatest) {
@@ -87,53 +98,77 @@ public abstract class AbstractMetricExporter implements Exporter, Closeable, Flu
 	@Override
 	public void export() {
 		if (this.processing.compareAndSet(false, true)) {
-			long latestTimestamp = System.currentTimeMillis();
 			try {
 				exportGroups();
 			}
 			catch (Exception ex) {
+				this.failures.incrementAndGet();
 				logger.warn("Could not write to MetricWriter: " + ex.getClass() + ": "
 						+ ex.getMessage());
 			}
 			finally {
-				this.latestTimestamp = new Date(latestTimestamp);
 				flushQuietly();
 				this.processing.set(false);
 			}
 		}
 	}
 
+	/**
+	 * Return the number of exports that failed to write their metrics. Such failures are
+	 * logged rather than propagated by {@link #export()}.
+	 * @return the number of failed exports
+	 */
+	long getFailureCount() {
+		return this.failures.get();
+	}
+
 	private void exportGroups() {
+		boolean tracking = !this.ignoreTimestamps && this.sendLatest;
+		Set<String> seen = new HashSet<>();
 		for (String group : groups()) {
 			Collection<Metric<?>> values = new ArrayList<>();
+			Map<String, Metric<?>> changed = new HashMap<>();
 			for (Metric<?> metric : next(group)) {
-				Date timestamp = metric.getTimestamp();
-				if (canExportTimestamp(timestamp)) {
+				if (!tracking) {
+					if (canExport(metric)) {
+						values.add(getPrefixedMetric(metric));
+					}
+					continue;
+				}
+				String key = metric.getTags().flatten(metric.getName());
+				seen.add(key);
+				if (canExport(metric) && hasChanged(key, metric)) {
 					values.add(getPrefixedMetric(metric));
+					changed.put(key, metric);
 				}
 			}
 			if (!values.isEmpty()) {
 				write(group, values);
+				// Only remember values once written so that a failed write is retried
+				this.exported.putAll(changed);
 			}
 		}
+		if (tracking) {
+			// Forget metrics that have been reset or removed
+			this.exported.keySet().retainAll(seen);
+		}
 	}
 
 	private Metric<?> getPrefixedMetric(Metric<?> metric) {
 		String name = this.prefix + metric.getName();
-		return new Metric<Number>(name, metric.getValue(), metric.getTimestamp());
+		return new Metric<Number>(name, metric.getValue(), metric.getTimestamp(),
+				metric.getTags());
 	}
 
-	private boolean canExportTimestamp(Date timestamp) {
-		if (this.ignoreTimestamps) {
-			return true;
-		}
-		if (this.earliestTimestamp.after(timestamp)) {
-			return false;
-		}
-		if (this.sendLatest && this.latestTimestamp.after(timestamp)) {
-			return false;
-		}
-		return true;
+	private boolean canExport(Metric<?> metric) {
+		return this.ignoreTimestamps
+				|| !this.earliestTimestamp.after(metric.getTimestamp());
+	}
+
+	private boolean hasChanged(String key, Metric<?> metric) {
+		Metric<?> previous = this.exported.get(key);
+		return previous == null || metric.getTimestamp().after(previous.getTimestamp())
+				|| !ObjectUtils.nullSafeEquals(metric.getValue(), previous.getValue());
 	}
 
 	private void flushQuietly() {
@@ -137,15 +137,17 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 	}
 
 	private Delta<?> calculateDelta(Metric<?> value) {
+		String key = value.getTags().flatten(value.getName());
 		long delta = value.getValue().longValue();
-		Long old = this.counts.replace(value.getName(), delta);
+		Long old = this.counts.replace(key, delta);
 		if (old != null) {
 			delta = delta - old;
 		}
 		else {
-			this.counts.putIfAbsent(value.getName(), delta);
+			this.counts.putIfAbsent(key, delta);
 		}
-		return new Delta<>(value.getName(), delta, value.getTimestamp());
+		return new Delta<>(value.getName(), delta, value.getTimestamp(),
+				value.getTags());
 	}
 
 	@Override
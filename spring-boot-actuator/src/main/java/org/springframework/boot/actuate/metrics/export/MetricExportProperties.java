@@ -46,6 +46,13 @@ public class MetricExportProperties extends TriggerProperties {
 
 	private Statsd statsd = new Statsd();
 
+	/**
+	 * Number of threads used to run the exporters. When greater than 1 the exporters run
+	 * on a dedicated pool, so that a slow exporter does not delay the others (or any
+	 * other scheduled task).
+	 */
+	private int poolSize = 1;
+
 	@PostConstruct
 	public void setUpDefaults() {
 		TriggerProperties defaults = this;
@@ -106,6 +113,14 @@ public class MetricExportProperties extends TriggerProperties {
 		this.statsd = statsd;
 	}
 
+	public int getPoolSize() {
+		return this.poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+
 	/**
 	 * Find a matching trigger configuration.
 	 * @param name the bean name to match
@@ -18,20 +18,31 @@ package org.springframework.boot.actuate.metrics.export;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.writer.GaugeWriter;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.IntervalTask;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 /**
  * {@link SchedulingConfigurer} to handle metrics {@link MetricCopyExporter export}.
+ * Exporters run on the shared scheduler unless a
+ * {@link MetricExportProperties#setPoolSize(int) pool size} greater than 1 is configured,
+ * in which case they get a dedicated pool. If a {@link GaugeService} is available the
+ * duration of each export is recorded as a {@code timer.export.[name]} gauge, and if a
+ * {@link CounterService} is available failed exports are counted as
+ * {@code counter.export.[name].failures}.
  *
  * @author Dave Syer
  * @since 1.3.0
@@ -48,6 +59,12 @@ public class MetricExporters implements SchedulingConfigurer, Closeable {
 
 	private final Set<String> closeables = new HashSet<>();
 
+	private GaugeService gaugeService;
+
+	private CounterService counterService;
+
+	private ThreadPoolTaskScheduler scheduler;
+
 	public MetricExporters(MetricExportProperties properties) {
 		this.properties = properties;
 	}
@@ -64,17 +81,38 @@ public class MetricExporters implements SchedulingConfigurer, Closeable {
 		this.exporters.putAll(exporters);
 	}
 
+	/**
+	 * Set the service used to record how long each export takes.
+	 * @param gaugeService the gauge service (may be {@code null})
+	 * @since 2.0.0
+	 */
+	public void setGaugeService(GaugeService gaugeService) {
+		this.gaugeService = gaugeService;
+	}
+
+	/**
+	 * Set the service used to count failed exports.
+	 * @param counterService the counter service (may be {@code null})
+	 * @since 2.0.0
+	 */
+	public void setCounterService(CounterService counterService) {
+		this.counterService = counterService;
+	}
+
 	@Override
 	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+		if (this.properties.getPoolSize() > 1 && this.scheduler == null) {
+			this.scheduler = new ThreadPoolTaskScheduler();
+			this.scheduler.setPoolSize(this.properties.getPoolSize());
+			this.scheduler.setThreadNamePrefix("metrics-export-");
+			this.scheduler.initialize();
+		}
 		for (Entry<String, Exporter> entry : this.exporters.entrySet()) {
 			String name = entry.getKey();
 			Exporter exporter = entry.getValue();
 			TriggerProperties trigger = this.properties.findTrigger(name);
 			if (trigger != null) {
-				ExportRunner runner = new ExportRunner(exporter);
-				IntervalTask task = new IntervalTask(runner, trigger.getDelayMillis(),
-						trigger.getDelayMillis());
-				taskRegistrar.addFixedDelayTask(task);
+				schedule(taskRegistrar, name, exporter, trigger);
 			}
 		}
 		for (Entry<String, GaugeWriter> entry : this.writers.entrySet()) {
@@ -85,14 +123,24 @@ public class MetricExporters implements SchedulingConfigurer, Closeable {
 				MetricCopyExporter exporter = getExporter(writer, trigger);
 				this.exporters.put(name, exporter);
 				this.closeables.add(name);
-				ExportRunner runner = new ExportRunner(exporter);
-				IntervalTask task = new IntervalTask(runner, trigger.getDelayMillis(),
-						trigger.getDelayMillis());
-				taskRegistrar.addFixedDelayTask(task);
+				schedule(taskRegistrar, name, exporter, trigger);
 			}
 		}
 	}
 
+	private void schedule(ScheduledTaskRegistrar taskRegistrar, String name,
+			Exporter exporter, TriggerProperties trigger) {
+		ExportRunner runner = new ExportRunner(name, exporter);
+		long delay = trigger.getDelayMillis();
+		if (this.scheduler != null) {
+			this.scheduler.scheduleWithFixedDelay(runner,
+					new Date(System.currentTimeMillis() + delay), delay);
+		}
+		else {
+			taskRegistrar.addFixedDelayTask(new IntervalTask(runner, delay, delay));
+		}
+	}
+
 	private MetricCopyExporter getExporter(GaugeWriter writer,
 			TriggerProperties trigger) {
 		MetricCopyExporter exporter = new MetricCopyExporter(this.reader, writer);
@@ -108,6 +156,9 @@ public class MetricExporters implements SchedulingConfigurer, Closeable {
 
 	@Override
 	public void close() throws IOException {
+		if (this.scheduler != null) {
+			this.scheduler.shutdown();
+		}
 		for (String name : this.closeables) {
 			Exporter exporter = this.exporters.get(name);
 			if (exporter instanceof Closeable) {
@@ -116,17 +167,54 @@ public class MetricExporters implements SchedulingConfigurer, Closeable {
 		}
 	}
 
-	private static class ExportRunner implements Runnable {
+	private class ExportRunner implements Runnable {
 
 		private final Exporter exporter;
 
-		ExportRunner(Exporter exporter) {
+		private final String timerName;
+
+		private final String failureCounterName;
+
+		ExportRunner(String name, Exporter exporter) {
 			this.exporter = exporter;
+			this.timerName = "timer.export." + name;
+			this.failureCounterName = "export." + name + ".failures";
 		}
 
 		@Override
 		public void run() {
-			this.exporter.export();
+			long start = System.nanoTime();
+			long failures = getFailureCount();
+			try {
+				this.exporter.export();
+				if (getFailureCount() > failures) {
+					countFailure();
+				}
+			}
+			catch (RuntimeException ex) {
+				countFailure();
+				throw ex;
+			}
+			finally {
+				if (MetricExporters.this.gaugeService != null) {
+					MetricExporters.this.gaugeService.submit(this.timerName,
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+			}
+		}
+
+		private long getFailureCount() {
+			// AbstractMetricExporter logs failures instead of throwing them
+			if (this.exporter instanceof AbstractMetricExporter) {
+				return ((AbstractMetricExporter) this.exporter).getFailureCount();
+			}
+			return 0;
+		}
+
+		private void countFailure() {
+			if (MetricExporters.this.counterService != null) {
+				MetricExporters.this.counterService.increment(this.failureCounterName);
+			}
 		}
 
 	}
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.export;
 
+import java.io.Flushable;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -103,16 +105,30 @@ public class PrefixMetricGroupExporter extends AbstractMetricExporter {
 		}
 	}
 
+	@Override
+	public void flush() {
+		if (this.writer instanceof Flushable) {
+			try {
+				((Flushable) this.writer).flush();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Could not flush writer", ex);
+			}
+		}
+	}
+
 	private Delta<?> calculateDelta(Metric<?> value) {
+		String key = value.getTags().flatten(value.getName());
 		long delta = value.getValue().longValue();
-		Long old = this.counts.replace(value.getName(), delta);
+		Long old = this.counts.replace(key, delta);
 		if (old != null) {
 			delta = delta - old;
 		}
 		else {
-			this.counts.putIfAbsent(value.getName(), delta);
+			this.counts.putIfAbsent(key, delta);
 		}
-		return new Delta<>(value.getName(), delta, value.getTimestamp());
+		return new Delta<>(value.getName(), delta, value.getTimestamp(),
+				value.getTags());
 	}
 
 }
@@ -27,6 +27,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
 import org.springframework.jmx.export.MBeanExporter;
@@ -40,7 +41,9 @@ import org.springframework.jmx.export.naming.ObjectNamingStrategy;
  * (for instance) it can be graphed and monitored. The object names are provided by an
  * {@link ObjectNamingStrategy}, where the default is a
  * {@link DefaultMetricNamingStrategy} which provides {@code type}, {@code name} and
- * {@code value} keys by splitting up the metric name on periods.
+ * {@code value} keys by splitting up the metric name on periods. Tagged metrics are
+ * registered under their {@link Tags#flatten(String) flattened} name, so each tag
+ * combination gets its own MBean.
  *
  * @author Dave Syer
  * @since 1.3.0
@@ -77,7 +80,7 @@ public class JmxMetricWriter implements MetricWriter {
 
 	@Override
 	public void increment(Delta<?> delta) {
-		MetricValue counter = getValue(delta.getName());
+		MetricValue counter = getValue(delta.getTags().flatten(delta.getName()));
 		counter.increment(delta.getValue().longValue());
 	}
 
@@ -88,7 +91,7 @@ public class JmxMetricWriter implements MetricWriter {
 
 	@Override
 	public void set(Metric<?> value) {
-		MetricValue metric = getValue(value.getName());
+		MetricValue metric = getValue(value.getTags().flatten(value.getName()));
 		metric.setValue(value.getValue().doubleValue());
 	}
 
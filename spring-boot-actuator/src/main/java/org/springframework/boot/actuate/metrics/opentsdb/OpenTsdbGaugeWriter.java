@@ -16,12 +16,21 @@
 
 package org.springframework.boot.actuate.metrics.opentsdb;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,6 +42,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 
@@ -42,18 +52,31 @@ import org.springframework.web.client.RestTemplate;
  * {@link #setBufferSize(int) bufferSize} property, and only flushed automatically when
  * the buffer size is reached. Users should either manually {@link #flush()} after writing
  * a batch of data if that makes sense, or consider adding a {@link Scheduled Scheduled}
- * task to flush periodically.
+ * task to flush periodically. The {@link Metric#getTags() tags} of a metric are sent
+ * as Open TSDB tags, in addition to those provided by the naming strategy.
+ * <p>
+ * In {@link #setAsync(boolean) asynchronous} mode data are instead offered to a bounded
+ * queue and posted by a dedicated sender thread, so a slow or unavailable server never
+ * blocks the caller. When the queue is full new data are dropped. Failed posts are
+ * retried with exponential backoff before being discarded. Both kinds of loss are
+ * counted (see {@link #getDroppedCount()} and {@link #getFailedCount()}) so that
+ * backpressure can be monitored. Call {@link #close()} to stop the sender. Data written
+ * once the writer is closed are dropped.
  *
  * @author Dave Syer
  * @author Thomas Badie
  * @since 1.3.0
  */
-public class OpenTsdbGaugeWriter implements GaugeWriter {
+public class OpenTsdbGaugeWriter implements GaugeWriter, Closeable {
 
 	private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
 
 	private static final int DEFAULT_READ_TIMEOUT = 30000;
 
+	private static final long MAX_RETRY_BACKOFF = 30000;
+
+	private static final long POLL_INTERVAL = 100;
+
 	private static final Log logger = LogFactory.getLog(OpenTsdbGaugeWriter.class);
 
 	private RestOperations restTemplate;
@@ -78,6 +101,46 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 
 	private OpenTsdbNamingStrategy namingStrategy = new DefaultOpenTsdbNamingStrategy();
 
+	/**
+	 * Whether to post data from a dedicated sender thread instead of the caller.
+	 */
+	private boolean async;
+
+	/**
+	 * Maximum number of data points waiting to be sent in asynchronous mode.
+	 */
+	private int queueCapacity = 10000;
+
+	/**
+	 * Number of times a failed post is retried in asynchronous mode.
+	 */
+	private int maxRetries = 3;
+
+	/**
+	 * Initial delay in milliseconds before retrying a failed post. Doubles on each
+	 * attempt.
+	 */
+	private long retryBackoff = 100;
+
+	/**
+	 * Whether to gzip request bodies.
+	 */
+	private boolean compressed;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private volatile BlockingQueue<OpenTsdbData> queue;
+
+	private volatile Thread sender;
+
+	private volatile boolean running;
+
+	private volatile boolean closed;
+
 	/**
 	 * Creates a new {@code OpenTsdbGaugeWriter} with the default connect (10 seconds) and
 	 * read (30 seconds) timeouts.
@@ -123,11 +186,101 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		this.namingStrategy = namingStrategy;
 	}
 
+	/**
+	 * Switch asynchronous mode on or off. Must be called before any data are written.
+	 * @param async the flag value to set (default false)
+	 * @since 2.0.0
+	 */
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	/**
+	 * Set the maximum number of data points that can wait to be sent in asynchronous
+	 * mode. Data written when the queue is full are dropped.
+	 * @param queueCapacity the queue capacity (default 10000)
+	 * @since 2.0.0
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Set the number of times a failed post is retried in asynchronous mode. Client
+	 * errors (4xx) are never retried.
+	 * @param maxRetries the maximum number of retries (default 3)
+	 * @since 2.0.0
+	 */
+	public void setMaxRetries(int maxRetries) {
+		this.maxRetries = maxRetries;
+	}
+
+	/**
+	 * Set the initial delay before a failed post is retried. The delay doubles on each
+	 * attempt, up to 30 seconds.
+	 * @param retryBackoff the initial delay in milliseconds (default 100)
+	 * @since 2.0.0
+	 */
+	public void setRetryBackoff(long retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	/**
+	 * Set whether request bodies should be gzip compressed. Compressed bodies are always
+	 * serialized as JSON.
+	 * @param compressed the flag value to set (default false)
+	 * @since 2.0.0
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	/**
+	 * Return the number of data points that were dropped because the asynchronous queue
+	 * was full or because they were written after the writer was closed.
+	 * @return the dropped count
+	 * @since 2.0.0
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * Return the number of data points that were discarded because they could not be
+	 * posted to the server.
+	 * @return the failed count
+	 * @since 2.0.0
+	 */
+	public long getFailedCount() {
+		return this.failedCount.get();
+	}
+
+	/**
+	 * Return the number of data points waiting to be sent in asynchronous mode.
+	 * @return the queue size
+	 * @since 2.0.0
+	 */
+	public int getQueueSize() {
+		BlockingQueue<OpenTsdbData> queue = this.queue;
+		return (queue == null ? 0 : queue.size());
+	}
+
 	@Override
 	public void set(Metric<?> value) {
-		OpenTsdbData data = new OpenTsdbData(this.namingStrategy.getName(value.getName()),
-				value.getValue(), value.getTimestamp().getTime());
+		OpenTsdbData data = new OpenTsdbData(getName(value), value.getValue(),
+				value.getTimestamp().getTime());
+		if (this.async) {
+			BlockingQueue<OpenTsdbData> queue = getQueue();
+			if (queue == null || !queue.offer(data)) {
+				this.droppedCount.incrementAndGet();
+			}
+			return;
+		}
 		synchronized (this.buffer) {
+			if (this.closed) {
+				this.droppedCount.incrementAndGet();
+				return;
+			}
 			this.buffer.add(data);
 			if (this.buffer.size() >= this.bufferSize) {
 				flush();
@@ -135,8 +288,20 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		}
 	}
 
+	private OpenTsdbName getName(Metric<?> value) {
+		OpenTsdbName name = this.namingStrategy.getName(value.getName());
+		if (value.getTags().isEmpty()) {
+			return name;
+		}
+		OpenTsdbName tagged = new OpenTsdbName(name.getMetric());
+		tagged.setTags(name.getTags());
+		tagged.setTags(value.getTags().asMap());
+		return tagged;
+	}
+
 	/**
-	 * Flush the buffer without waiting for it to fill any further.
+	 * Flush the buffer without waiting for it to fill any further. In asynchronous mode
+	 * the sender thread posts data as soon as they are available, so this is a no-op.
 	 */
 	@SuppressWarnings("rawtypes")
 	public void flush() {
@@ -144,17 +309,92 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		if (snapshot.isEmpty()) {
 			return;
 		}
-		HttpHeaders headers = new HttpHeaders();
-		headers.setAccept(Arrays.asList(this.mediaType));
-		headers.setContentType(this.mediaType);
-		ResponseEntity<Map> response = this.restTemplate.postForEntity(this.url,
-				new HttpEntity<>(snapshot, headers), Map.class);
+		ResponseEntity<Map> response = post(snapshot);
 		if (!response.getStatusCode().is2xxSuccessful()) {
+			this.failedCount.addAndGet(snapshot.size());
 			logger.warn("Cannot write metrics (discarded " + snapshot.size()
 					+ " values): " + response.getBody());
 		}
 	}
 
+	/**
+	 * Stop the sender thread (if any), giving it a chance to post the data that are
+	 * still queued. Data written afterwards are dropped.
+	 */
+	@Override
+	public void close() {
+		Thread sender;
+		synchronized (this.buffer) {
+			this.closed = true;
+			this.running = false;
+			sender = this.sender;
+			this.sender = null;
+		}
+		if (sender != null) {
+			try {
+				sender.join(DEFAULT_READ_TIMEOUT);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity<Map> post(List<OpenTsdbData> data) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setAccept(Arrays.asList(this.mediaType));
+		if (this.compressed) {
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			return this.restTemplate.postForEntity(this.url,
+					new HttpEntity<>(compress(data), headers), Map.class);
+		}
+		headers.setContentType(this.mediaType);
+		return this.restTemplate.postForEntity(this.url,
+				new HttpEntity<>(data, headers), Map.class);
+	}
+
+	private byte[] compress(List<OpenTsdbData> data) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+			try {
+				this.objectMapper.writeValue(gzip, data);
+			}
+			finally {
+				gzip.close();
+			}
+			return bytes.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Cannot compress metrics", ex);
+		}
+	}
+
+	private BlockingQueue<OpenTsdbData> getQueue() {
+		BlockingQueue<OpenTsdbData> queue = this.queue;
+		if (queue != null && this.running) {
+			return queue;
+		}
+		synchronized (this.buffer) {
+			if (this.closed) {
+				return null;
+			}
+			if (this.queue == null) {
+				this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+			}
+			if (!this.running) {
+				this.running = true;
+				this.sender = new Thread(new Sender(), "opentsdb-sender");
+				this.sender.setDaemon(true);
+				this.sender.start();
+			}
+			return this.queue;
+		}
+	}
+
 	private List<OpenTsdbData> getBufferSnapshot() {
 		synchronized (this.buffer) {
 			if (this.buffer.isEmpty()) {
@@ -166,4 +406,65 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		}
 	}
 
+	/**
+	 * Posts queued data in batches of up to {@code bufferSize} until the writer is
+	 * closed.
+	 */
+	private class Sender implements Runnable {
+
+		@Override
+		public void run() {
+			BlockingQueue<OpenTsdbData> queue = OpenTsdbGaugeWriter.this.queue;
+			int batchSize = Math.max(OpenTsdbGaugeWriter.this.bufferSize, 1);
+			List<OpenTsdbData> batch = new ArrayList<>(batchSize);
+			try {
+				while (OpenTsdbGaugeWriter.this.running || !queue.isEmpty()) {
+					OpenTsdbData first = queue.poll(POLL_INTERVAL,
+							TimeUnit.MILLISECONDS);
+					if (first != null) {
+						batch.add(first);
+						queue.drainTo(batch, batchSize - 1);
+						send(batch);
+						batch.clear();
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				OpenTsdbGaugeWriter.this.failedCount
+						.addAndGet(batch.size() + queue.size());
+			}
+		}
+
+		private void send(List<OpenTsdbData> batch) throws InterruptedException {
+			long backoff = OpenTsdbGaugeWriter.this.retryBackoff;
+			for (int attempt = 0;; attempt++) {
+				boolean retryable = true;
+				String failure;
+				try {
+					if (post(batch).getStatusCode().is2xxSuccessful()) {
+						return;
+					}
+					failure = "unexpected response";
+				}
+				catch (HttpClientErrorException ex) {
+					retryable = false;
+					failure = ex.getMessage();
+				}
+				catch (RuntimeException ex) {
+					failure = ex.getMessage();
+				}
+				if (!retryable || attempt >= OpenTsdbGaugeWriter.this.maxRetries) {
+					OpenTsdbGaugeWriter.this.failedCount.addAndGet(batch.size());
+					logger.warn("Cannot write metrics (discarded " + batch.size()
+							+ " values): " + failure);
+					return;
+				}
+				Thread.sleep(backoff);
+				backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF);
+			}
+		}
+
+	}
+
 }
@@ -20,12 +20,15 @@ import java.util.Date;
 import java.util.concurrent.ConcurrentNavigableMap;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.util.SimpleInMemoryRepository;
 import org.springframework.boot.actuate.metrics.util.SimpleInMemoryRepository.Callback;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 
 /**
- * {@link MetricRepository} implementation that stores metrics in memory.
+ * {@link MetricRepository} implementation that stores metrics in memory. Tagged metrics
+ * are stored under their {@link Tags#flatten(String) flattened} name, so they can also
+ * be found (and reset) by that name.
  *
  * @author Dave Syer
  * @author Stephane Nicoll
@@ -34,6 +37,10 @@ public class InMemoryMetricRepository implements MetricRepository {
 
 	private final SimpleInMemoryRepository<Metric<?>> metrics = new SimpleInMemoryRepository<>();
 
+	public InMemoryMetricRepository() {
+		this.metrics.setLockFree(true);
+	}
+
 	public void setValues(ConcurrentNavigableMap<String, Metric<?>> values) {
 		this.metrics.setValues(values);
 	}
@@ -43,15 +50,16 @@ public class InMemoryMetricRepository implements MetricRepository {
 		final String metricName = delta.getName();
 		final int amount = delta.getValue().intValue();
 		final Date timestamp = delta.getTimestamp();
-		this.metrics.update(metricName, new Callback<Metric<?>>() {
+		final Tags tags = delta.getTags();
+		this.metrics.update(tags.flatten(metricName), new Callback<Metric<?>>() {
 
 			@Override
 			public Metric<?> modify(Metric<?> current) {
 				if (current != null) {
 					return new Metric<>(metricName, current.increment(amount).getValue(),
-							timestamp);
+							timestamp, tags);
 				}
-				return new Metric<>(metricName, (long) amount, timestamp);
+				return new Metric<>(metricName, (long) amount, timestamp, tags);
 			}
 
 		});
@@ -59,7 +67,7 @@ public class InMemoryMetricRepository implements MetricRepository {
 
 	@Override
 	public void set(Metric<?> value) {
-		this.metrics.set(value.getName(), value);
+		this.metrics.set(value.getTags().flatten(value.getName()), value);
 	}
 
 	@Override
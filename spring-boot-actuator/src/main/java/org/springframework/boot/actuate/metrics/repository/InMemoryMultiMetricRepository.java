@@ -64,7 +64,7 @@ public class InMemoryMultiMetricRepository implements MultiMetricRepository {
 		for (Metric<?> metric : values) {
 			if (!metric.getName().startsWith(prefix)) {
 				metric = new Metric<Number>(prefix + metric.getName(), metric.getValue(),
-						metric.getTimestamp());
+						metric.getTimestamp(), metric.getTags());
 			}
 			this.repository.set(metric);
 		}
@@ -79,7 +79,7 @@ public class InMemoryMultiMetricRepository implements MultiMetricRepository {
 		}
 		if (!delta.getName().startsWith(prefix)) {
 			delta = new Delta<Number>(prefix + delta.getName(), delta.getValue(),
-					delta.getTimestamp());
+					delta.getTimestamp(), delta.getTags());
 		}
 		this.repository.increment(delta);
 		this.groups.add(group);
@@ -98,7 +98,7 @@ public class InMemoryMultiMetricRepository implements MultiMetricRepository {
 	@Override
 	public void reset(String group) {
 		for (Metric<?> metric : findAll(group)) {
-			this.repository.reset(metric.getName());
+			this.repository.reset(metric.getTags().flatten(metric.getName()));
 		}
 		this.groups.remove(group);
 	}
@@ -16,18 +16,23 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.io.Flushable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
+import org.springframework.boot.actuate.metrics.repository.redis.RedisWriteBuffer.Write;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.util.Assert;
 
 /**
@@ -36,11 +41,19 @@ import org.springframework.util.Assert;
  * of the metric name prefixed with a constant (default "spring.metrics."). If you have
  * multiple metrics repositories all point at the same instance of Redis, it may be useful
  * to change the prefix to be unique (but not if you want them to contribute to the same
- * metrics).
+ * metrics). Tagged metrics are stored under their {@link Tags#flatten(String)
+ * flattened} name.
+ * <p>
+ * By default every write is sent to redis straight away. In {@link #setBatched(boolean)
+ * batched} mode writes are buffered (and coalesced per metric) until {@link #flush()} is
+ * called, at which point they are all sent in a single pipelined round trip. A
+ * {@link org.springframework.boot.actuate.metrics.export.MetricCopyExporter} flushes its
+ * writer at the end of each export cycle, so that is usually all that is needed. Reads
+ * only see buffered writes once they have been flushed.
  *
  * @author Dave Syer
  */
-public class RedisMetricRepository implements MetricRepository {
+public class RedisMetricRepository implements MetricRepository, Flushable {
 
 	private static final String DEFAULT_METRICS_PREFIX = "spring.metrics.";
 
@@ -54,6 +67,10 @@ public class RedisMetricRepository implements MetricRepository {
 
 	private final RedisOperations<String, String> redisOperations;
 
+	private final RedisWriteBuffer buffer = new RedisWriteBuffer();
+
+	private volatile boolean batched;
+
 	/**
 	 * Create a RedisMetricRepository with a default prefix to apply to all metric names.
 	 * If multiple repositories share a redis instance they will feed into the same global
@@ -110,6 +127,20 @@ public class RedisMetricRepository implements MetricRepository {
 		this.zSetOperations = this.redisOperations.boundZSetOps(this.key);
 	}
 
+	/**
+	 * Flag to indicate that writes should be buffered until the next {@link #flush()}
+	 * instead of being sent to redis immediately. Switching batching off flushes any
+	 * pending writes.
+	 * @param batched the flag value to set (default false)
+	 * @since 2.0.0
+	 */
+	public void setBatched(boolean batched) {
+		this.batched = batched;
+		if (!batched) {
+			flush();
+		}
+	}
+
 	@Override
 	public Metric<?> findOne(String metricName) {
 		String redisKey = keyFor(metricName);
@@ -120,15 +151,23 @@ public class RedisMetricRepository implements MetricRepository {
 	@Override
 	public Iterable<Metric<?>> findAll() {
 
-		// This set is sorted
-		Set<String> keys = this.zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
+		// This set is sorted and carries the values, so only the timestamps need a
+		// second (bulk) fetch
+		Set<TypedTuple<String>> entries = this.zSetOperations.rangeWithScores(0, -1);
+		List<String> keys = new ArrayList<>(entries.size());
+		for (TypedTuple<String> entry : entries) {
+			keys.add(entry.getValue());
+		}
 
 		List<Metric<?>> result = new ArrayList<>(keys.size());
+		if (keys.isEmpty()) {
+			return result;
+		}
 		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			Metric<?> value = deserialize(key, v, this.zSetOperations.score(key));
+		int index = 0;
+		for (TypedTuple<String> entry : entries) {
+			Metric<?> value = deserialize(entry.getValue(), values.get(index++),
+					entry.getScore());
 			if (value != null) {
 				result.add(value);
 			}
@@ -144,7 +183,11 @@ public class RedisMetricRepository implements MetricRepository {
 
 	@Override
 	public void increment(Delta<?> delta) {
-		String name = delta.getName();
+		if (this.batched) {
+			this.buffer.increment(delta);
+			return;
+		}
+		String name = delta.getTags().flatten(delta.getName());
 		String key = keyFor(name);
 		trackMembership(key);
 		double value = this.zSetOperations.incrementScore(key,
@@ -155,7 +198,11 @@ public class RedisMetricRepository implements MetricRepository {
 
 	@Override
 	public void set(Metric<?> value) {
-		String name = value.getName();
+		if (this.batched) {
+			this.buffer.set(value);
+			return;
+		}
+		String name = value.getTags().flatten(value.getName());
 		String key = keyFor(name);
 		trackMembership(key);
 		this.zSetOperations.add(key, value.getValue().doubleValue());
@@ -171,6 +218,42 @@ public class RedisMetricRepository implements MetricRepository {
 		}
 	}
 
+	/**
+	 * Send all buffered writes to redis in a single pipelined round trip. Does nothing
+	 * unless the repository is {@link #setBatched(boolean) batched}.
+	 */
+	@Override
+	public void flush() {
+		final Collection<Write> writes = this.buffer.drain();
+		if (writes.isEmpty()) {
+			return;
+		}
+		this.redisOperations.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <K, V> Object execute(RedisOperations<K, V> operations) {
+				write((RedisOperations<String, String>) operations, writes);
+				return null;
+			}
+
+		});
+	}
+
+	private void write(RedisOperations<String, String> operations,
+			Collection<Write> writes) {
+		for (Write write : writes) {
+			String key = keyFor(write.getName());
+			if (write.isAbsolute()) {
+				operations.opsForZSet().add(this.key, key, write.getValue());
+			}
+			else {
+				operations.opsForZSet().incrementScore(this.key, key, write.getValue());
+			}
+			operations.opsForValue().set(key, String.valueOf(write.getTimestamp()));
+		}
+	}
+
 	private Metric<?> deserialize(String redisKey, String v, Double value) {
 		if (redisKey == null || v == null || !redisKey.startsWith(this.prefix)) {
 			return null;
@@ -16,30 +16,41 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.io.Flushable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.repository.MultiMetricRepository;
+import org.springframework.boot.actuate.metrics.repository.redis.RedisWriteBuffer.Write;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.util.Assert;
 
 /**
  * {@link MultiMetricRepository} implementation backed by a redis store. Metric values are
  * stored as zset values and the timestamps as regular values, both against a key composed
  * of the group name prefixed with a constant prefix (default "spring.groups."). The group
- * names are stored as a zset under "keys." + {@code [prefix]}.
+ * names are stored as a zset under "keys." + {@code [prefix]}. Tagged metrics are
+ * stored under their {@link Tags#flatten(String) flattened} name.
+ * <p>
+ * As with {@link RedisMetricRepository}, writes can be {@link #setBatched(boolean)
+ * batched} and sent to redis in a single pipelined round trip per {@link #flush()}.
  *
  * @author Dave Syer
  */
-public class RedisMultiMetricRepository implements MultiMetricRepository {
+public class RedisMultiMetricRepository implements MultiMetricRepository, Flushable {
 
 	private static final String DEFAULT_METRICS_PREFIX = "spring.groups.";
 
@@ -51,6 +62,10 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	private final RedisOperations<String, String> redisOperations;
 
+	private final Map<String, RedisWriteBuffer> buffers = new ConcurrentHashMap<>();
+
+	private volatile boolean batched;
+
 	public RedisMultiMetricRepository(RedisConnectionFactory redisConnectionFactory) {
 		this(redisConnectionFactory, DEFAULT_METRICS_PREFIX);
 	}
@@ -67,20 +82,41 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		this.zSetOperations = this.redisOperations.boundZSetOps(this.keys);
 	}
 
+	/**
+	 * Flag to indicate that writes should be buffered until the next {@link #flush()}
+	 * instead of being sent to redis immediately. Switching batching off flushes any
+	 * pending writes.
+	 * @param batched the flag value to set (default false)
+	 * @since 2.0.0
+	 */
+	public void setBatched(boolean batched) {
+		this.batched = batched;
+		if (!batched) {
+			flush();
+		}
+	}
+
 	@Override
 	public Iterable<Metric<?>> findAll(String group) {
 
 		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
 				.boundZSetOps(keyFor(group));
 
-		Set<String> keys = zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
+		Set<TypedTuple<String>> entries = zSetOperations.rangeWithScores(0, -1);
+		List<String> keys = new ArrayList<>(entries.size());
+		for (TypedTuple<String> entry : entries) {
+			keys.add(entry.getValue());
+		}
 
 		List<Metric<?>> result = new ArrayList<>(keys.size());
+		if (keys.isEmpty()) {
+			return result;
+		}
 		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			result.add(deserialize(group, key, v, zSetOperations.score(key)));
+		int index = 0;
+		for (TypedTuple<String> entry : entries) {
+			result.add(deserialize(group, entry.getValue(), values.get(index++),
+					entry.getScore()));
 		}
 		return result;
 
@@ -88,13 +124,20 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	@Override
 	public void set(String group, Collection<Metric<?>> values) {
+		if (this.batched) {
+			RedisWriteBuffer buffer = getBuffer(group);
+			for (Metric<?> metric : values) {
+				buffer.set(metric);
+			}
+			return;
+		}
 		String groupKey = keyFor(group);
 		trackMembership(groupKey);
 		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
 				.boundZSetOps(groupKey);
 		for (Metric<?> metric : values) {
 			String raw = serialize(metric);
-			String key = keyFor(metric.getName());
+			String key = keyFor(metric.getTags().flatten(metric.getName()));
 			zSetOperations.add(key, metric.getValue().doubleValue());
 			this.redisOperations.opsForValue().set(key, raw);
 		}
@@ -102,14 +145,18 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	@Override
 	public void increment(String group, Delta<?> delta) {
+		if (this.batched) {
+			getBuffer(group).increment(delta);
+			return;
+		}
 		String groupKey = keyFor(group);
 		trackMembership(groupKey);
 		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
 				.boundZSetOps(groupKey);
-		String key = keyFor(delta.getName());
+		String name = delta.getTags().flatten(delta.getName());
+		String key = keyFor(name);
 		double value = zSetOperations.incrementScore(key, delta.getValue().doubleValue());
-		String raw = serialize(
-				new Metric<>(delta.getName(), value, delta.getTimestamp()));
+		String raw = serialize(new Metric<>(name, value, delta.getTimestamp()));
 		this.redisOperations.opsForValue().set(key, raw);
 	}
 
@@ -143,6 +190,62 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		this.zSetOperations.remove(groupKey);
 	}
 
+	/**
+	 * Send all buffered writes to redis in a single pipelined round trip. Does nothing
+	 * unless the repository is {@link #setBatched(boolean) batched}.
+	 */
+	@Override
+	public void flush() {
+		final Map<String, Collection<Write>> writes = new LinkedHashMap<>();
+		for (Map.Entry<String, RedisWriteBuffer> entry : this.buffers.entrySet()) {
+			Collection<Write> pending = entry.getValue().drain();
+			if (!pending.isEmpty()) {
+				writes.put(entry.getKey(), pending);
+			}
+		}
+		if (writes.isEmpty()) {
+			return;
+		}
+		this.redisOperations.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <K, V> Object execute(RedisOperations<K, V> operations) {
+				write((RedisOperations<String, String>) operations, writes);
+				return null;
+			}
+
+		});
+	}
+
+	private void write(RedisOperations<String, String> operations,
+			Map<String, Collection<Write>> writes) {
+		for (Map.Entry<String, Collection<Write>> entry : writes.entrySet()) {
+			String groupKey = keyFor(entry.getKey());
+			operations.opsForZSet().incrementScore(this.keys, groupKey, 0.0D);
+			for (Write write : entry.getValue()) {
+				String key = keyFor(write.getName());
+				if (write.isAbsolute()) {
+					operations.opsForZSet().add(groupKey, key, write.getValue());
+				}
+				else {
+					operations.opsForZSet().incrementScore(groupKey, key,
+							write.getValue());
+				}
+				operations.opsForValue().set(key, String.valueOf(write.getTimestamp()));
+			}
+		}
+	}
+
+	private RedisWriteBuffer getBuffer(String group) {
+		RedisWriteBuffer buffer = this.buffers.get(group);
+		if (buffer == null) {
+			this.buffers.putIfAbsent(group, new RedisWriteBuffer());
+			buffer = this.buffers.get(group);
+		}
+		return buffer;
+	}
+
 	private Metric<?> deserialize(String group, String redisKey, String v, Double value) {
 		Date timestamp = new Date(Long.valueOf(v));
 		return new Metric<>(nameFor(redisKey), value, timestamp);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.repository.redis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+
+/**
+ * Buffer of pending metric writes used by the redis repositories when batching is
+ * enabled. Writes to the same metric are coalesced: deltas are summed and a value that
+ * is set replaces anything pending, so that each metric costs at most one pair of redis
+ * commands when the buffer is drained. Tagged metrics are buffered under their
+ * {@link org.springframework.boot.actuate.metrics.Tags#flatten(String) flattened} name.
+ *
+ * @author agent (agent@local)
+ */
+final class RedisWriteBuffer {
+
+	private final Map<String, Write> writes = new LinkedHashMap<>();
+
+	synchronized void increment(Delta<?> delta) {
+		String name = delta.getTags().flatten(delta.getName());
+		Write write = this.writes.get(name);
+		if (write == null) {
+			this.writes.put(name, new Write(name, false, delta.getValue().doubleValue(),
+					delta.getTimestamp().getTime()));
+		}
+		else {
+			write.add(delta.getValue().doubleValue(), delta.getTimestamp().getTime());
+		}
+	}
+
+	synchronized void set(Metric<?> value) {
+		String name = value.getTags().flatten(value.getName());
+		this.writes.put(name, new Write(name, true, value.getValue().doubleValue(),
+				value.getTimestamp().getTime()));
+	}
+
+	/**
+	 * Remove and return all pending writes.
+	 * @return the pending writes in the order they were first buffered
+	 */
+	synchronized Collection<Write> drain() {
+		if (this.writes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Collection<Write> drained = new ArrayList<>(this.writes.values());
+		this.writes.clear();
+		return drained;
+	}
+
+	/**
+	 * A single coalesced write.
+	 */
+	static final class Write {
+
+		private final String name;
+
+		private final boolean absolute;
+
+		private double value;
+
+		private long timestamp;
+
+		Write(String name, boolean absolute, double value, long timestamp) {
+			this.name = name;
+			this.absolute = absolute;
+			this.value = value;
+			this.timestamp = timestamp;
+		}
+
+		void add(double delta, long timestamp) {
+			this.value += delta;
+			this.timestamp = Math.max(this.timestamp, timestamp);
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return whether the value replaces the stored value rather than being added to
+		 * it.
+		 * @return {@code true} for a gauge style write
+		 */
+		boolean isAbsolute() {
+			return this.absolute;
+		}
+
+		double getValue() {
+			return this.value;
+		}
+
+		long getTimestamp() {
+			return this.timestamp;
+		}
+
+	}
+
+}
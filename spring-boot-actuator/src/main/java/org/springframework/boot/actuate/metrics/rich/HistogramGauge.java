@@ -0,0 +1,316 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.actuate.metrics.Histogram;
+import org.springframework.util.Assert;
+
+/**
+ * A gauge which keeps a histogram of the values that have been recorded so that
+ * percentiles (e.g. p95 and p99 response times) can be computed.
+ * <p>
+ * The histogram uses a fixed number of log-linear buckets, similar to an HDR histogram:
+ * values up to {@code highestTrackableValue} are tracked with the given number of
+ * significant decimal digits and larger values are clamped. The buckets are kept in a
+ * {@link Histogram} so memory use is fixed when the gauge is created and values can be
+ * recorded concurrently without locking. Values are rounded to the nearest whole number
+ * (e.g. milliseconds) and negative values are recorded as zero.
+ * <p>
+ * By default the gauge is cumulative. When a {@code window} is specified, values are
+ * recorded in a ring of histograms that each cover a fraction of the window and the
+ * oldest one is cleared as time passes, so that the statistics reflect recent values
+ * only. The statistics then cover between {@code window * (slices - 1) / slices} and
+ * {@code window} milliseconds of values.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public final class HistogramGauge {
+
+	/**
+	 * The default highest trackable value (one hour in milliseconds).
+	 */
+	public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 3600000;
+
+	/**
+	 * The default number of significant decimal digits.
+	 */
+	public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+	private static final int WINDOW_SLICES = 3;
+
+	private final String name;
+
+	private final long highestTrackableValue;
+
+	private final int significantDigits;
+
+	private final long window;
+
+	private final long[] bounds;
+
+	private final LongSupplier clock;
+
+	private final AtomicReferenceArray<Histogram> slices;
+
+	private volatile int current;
+
+	private volatile long nextRotation;
+
+	/**
+	 * Create a new {@link HistogramGauge} with the default highest trackable value and
+	 * number of significant digits.
+	 * @param name the name of the gauge
+	 */
+	public HistogramGauge(String name) {
+		this(name, DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+	}
+
+	/**
+	 * Create a new {@link HistogramGauge}.
+	 * @param name the name of the gauge
+	 * @param highestTrackableValue the highest value that can be tracked, larger values
+	 * are recorded as this value
+	 * @param significantDigits the number of significant decimal digits (1 to 3)
+	 */
+	public HistogramGauge(String name, long highestTrackableValue,
+			int significantDigits) {
+		this(name, highestTrackableValue, significantDigits, 0);
+	}
+
+	/**
+	 * Create a new {@link HistogramGauge} that only keeps the values recorded during a
+	 * rolling window.
+	 * @param name the name of the gauge
+	 * @param highestTrackableValue the highest value that can be tracked, larger values
+	 * are recorded as this value
+	 * @param significantDigits the number of significant decimal digits (1 to 3)
+	 * @param window the duration of the window in milliseconds (zero or less to keep all
+	 * values)
+	 */
+	public HistogramGauge(String name, long highestTrackableValue, int significantDigits,
+			long window) {
+		this(name, highestTrackableValue, significantDigits, window,
+				System::currentTimeMillis);
+	}
+
+	HistogramGauge(String name, long highestTrackableValue, int significantDigits,
+			long window, LongSupplier clock) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(highestTrackableValue > 0,
+				"HighestTrackableValue must be positive");
+		Assert.isTrue(significantDigits >= 1 && significantDigits <= 3,
+				"SignificantDigits must be between 1 and 3");
+		this.name = name;
+		this.highestTrackableValue = highestTrackableValue;
+		this.significantDigits = significantDigits;
+		this.window = Math.max(window, 0);
+		this.bounds = getBounds(highestTrackableValue, significantDigits);
+		this.clock = clock;
+		this.slices = new AtomicReferenceArray<>(this.window > 0 ? WINDOW_SLICES : 1);
+		for (int i = 0; i < this.slices.length(); i++) {
+			this.slices.set(i, new Histogram(this.bounds));
+		}
+		this.nextRotation = (this.window > 0
+				? clock.getAsLong() + getSliceDuration() : Long.MAX_VALUE);
+	}
+
+	/**
+	 * Return the log-linear bucket bounds: single unit buckets up to the largest value
+	 * with single unit resolution, then, for each power of two, buckets that are twice
+	 * as wide as the buckets of the previous power of two.
+	 */
+	private static long[] getBounds(long highestTrackableValue, int significantDigits) {
+		int largestValueWithSingleUnitResolution = 2
+				* (int) Math.pow(10, significantDigits);
+		int subBucketBits = 32
+				- Integer.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+		int subBucketCount = 1 << subBucketBits;
+		int subBucketHalfCount = subBucketCount / 2;
+		List<Long> bounds = new ArrayList<>();
+		int shift = 0;
+		while (true) {
+			int first = (shift == 0 ? 0 : subBucketHalfCount);
+			for (int subBucket = first; subBucket < subBucketCount; subBucket++) {
+				long bound = ((subBucket + 1L) << shift) - 1;
+				bounds.add(bound);
+				if (bound >= highestTrackableValue) {
+					return bounds.stream().mapToLong(Long::longValue).toArray();
+				}
+			}
+			shift++;
+		}
+	}
+
+	/**
+	 * Return the name of the gauge.
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the highest value that can be tracked.
+	 * @return the highest trackable value
+	 */
+	public long getHighestTrackableValue() {
+		return this.highestTrackableValue;
+	}
+
+	/**
+	 * Return the number of significant decimal digits.
+	 * @return the number of significant digits
+	 */
+	public int getSignificantDigits() {
+		return this.significantDigits;
+	}
+
+	/**
+	 * Return the duration of the rolling window in milliseconds.
+	 * @return the window or zero if all values are kept
+	 */
+	public long getWindow() {
+		return this.window;
+	}
+
+	/**
+	 * Record a value.
+	 * @param value the value to record
+	 */
+	public void record(double value) {
+		rotate();
+		this.slices.get(this.current).record(Math.min(Math.max(Math.round(value), 0),
+				this.highestTrackableValue));
+	}
+
+	/**
+	 * Add all values recorded by another gauge (during its window, if any) to this
+	 * gauge. The other gauge must have the same highest trackable value and number of
+	 * significant digits.
+	 * @param other the gauge to merge
+	 */
+	public void merge(HistogramGauge other) {
+		Assert.isTrue(other.highestTrackableValue == this.highestTrackableValue
+				&& other.significantDigits == this.significantDigits,
+				"Histogram gauges must have the same layout to be merged");
+		Histogram values = other.getHistogram();
+		rotate();
+		this.slices.get(this.current).merge(values);
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 * @return the count
+	 */
+	public long getCount() {
+		return getHistogram().getCount();
+	}
+
+	/**
+	 * Return the maximum recorded value or zero if no values have been recorded.
+	 * @return the maximum value
+	 */
+	public long getMax() {
+		return (long) getHistogram().getMax();
+	}
+
+	/**
+	 * Return the minimum recorded value or zero if no values have been recorded.
+	 * @return the minimum value
+	 */
+	public long getMin() {
+		return (long) getHistogram().getMin();
+	}
+
+	/**
+	 * Return the arithmetic mean of the recorded values or zero if no values have been
+	 * recorded.
+	 * @return the mean value
+	 */
+	public double getMean() {
+		return getHistogram().getMean();
+	}
+
+	/**
+	 * Return the value at the given percentile, i.e. the highest value equivalent (within
+	 * the precision of the gauge) to the value that the given fraction of the recorded
+	 * values are less than or equal to.
+	 * @param percentile the percentile as a fraction between 0 and 1 (e.g. 0.99)
+	 * @return the value at the percentile or zero if no values have been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		return (long) getHistogram().getValueAtPercentile(percentile);
+	}
+
+	/**
+	 * Return the values of the window, merged in a single histogram if the gauge is
+	 * windowed.
+	 */
+	private Histogram getHistogram() {
+		if (this.window <= 0) {
+			return this.slices.get(0);
+		}
+		rotate();
+		Histogram histogram = new Histogram(this.bounds);
+		for (int i = 0; i < this.slices.length(); i++) {
+			histogram.merge(this.slices.get(i));
+		}
+		return histogram;
+	}
+
+	/**
+	 * Clear the oldest slices of the window once their time has passed. The cleared
+	 * slice becomes the one that values are recorded in.
+	 */
+	private void rotate() {
+		long now = this.clock.getAsLong();
+		if (now < this.nextRotation) {
+			return;
+		}
+		synchronized (this.slices) {
+			long sliceDuration = getSliceDuration();
+			if (now - this.nextRotation >= this.window) {
+				// Nothing recorded in the window is recent enough to be kept
+				this.nextRotation = now - sliceDuration * (this.slices.length() - 1);
+			}
+			while (now >= this.nextRotation) {
+				int next = (this.current + 1) % this.slices.length();
+				this.slices.set(next, new Histogram(this.bounds));
+				this.current = next;
+				this.nextRotation += sliceDuration;
+			}
+		}
+	}
+
+	private long getSliceDuration() {
+		return Math.max(this.window / WINDOW_SLICES, 1);
+	}
+
+	@Override
+	public String toString() {
+		return "HistogramGauge [name = " + this.name + ", count = " + getCount()
+				+ ", mean = " + getMean() + ", min = " + getMin() + ", max = "
+				+ getMax() + "]";
+	}
+
+}
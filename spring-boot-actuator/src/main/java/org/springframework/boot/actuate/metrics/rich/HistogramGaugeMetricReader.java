@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MetricReader} that exposes the {@link HistogramGauge} instances of a
+ * {@link HistogramGaugeReader} as flat metrics, so that they can be included in the
+ * metrics endpoint and exported. Each gauge contributes a {@code .count}, {@code .mean},
+ * {@code .max} metric and one metric per configured percentile (e.g. {@code .p95} for
+ * {@code 0.95} and {@code .p999} for {@code 0.999}).
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class HistogramGaugeMetricReader implements MetricReader {
+
+	/**
+	 * The suffix for count metrics.
+	 */
+	public static final String COUNT = ".count";
+
+	/**
+	 * The suffix for mean metrics.
+	 */
+	public static final String MEAN = ".mean";
+
+	/**
+	 * The suffix for max metrics.
+	 */
+	public static final String MAX = ".max";
+
+	private static final double[] DEFAULT_PERCENTILES = { 0.5, 0.95, 0.99 };
+
+	private final HistogramGaugeReader reader;
+
+	private final double[] percentiles;
+
+	private final String[] percentileSuffixes;
+
+	/**
+	 * Create a new {@link HistogramGaugeMetricReader} that exposes the 50th, 95th and
+	 * 99th percentiles.
+	 * @param reader the underlying reader
+	 */
+	public HistogramGaugeMetricReader(HistogramGaugeReader reader) {
+		this(reader, DEFAULT_PERCENTILES);
+	}
+
+	/**
+	 * Create a new {@link HistogramGaugeMetricReader}.
+	 * @param reader the underlying reader
+	 * @param percentiles the percentiles to expose as fractions between 0 and 1
+	 */
+	public HistogramGaugeMetricReader(HistogramGaugeReader reader,
+			double... percentiles) {
+		Assert.notNull(reader, "Reader must not be null");
+		Assert.notNull(percentiles, "Percentiles must not be null");
+		this.reader = reader;
+		this.percentiles = percentiles.clone();
+		this.percentileSuffixes = new String[percentiles.length];
+		for (int i = 0; i < percentiles.length; i++) {
+			Assert.isTrue(percentiles[i] > 0 && percentiles[i] <= 1,
+					"Percentiles must be greater than 0 and less than or equal to 1");
+			this.percentileSuffixes[i] = getPercentileSuffix(percentiles[i]);
+		}
+	}
+
+	private static String getPercentileSuffix(double percentile) {
+		String digits = BigDecimal.valueOf(percentile).movePointRight(2)
+				.stripTrailingZeros().toPlainString();
+		return ".p" + digits.replace(".", "");
+	}
+
+	@Override
+	public Metric<?> findOne(String metricName) {
+		int index = metricName.lastIndexOf('.');
+		if (index <= 0) {
+			return null;
+		}
+		HistogramGauge gauge = this.reader.findOne(metricName.substring(0, index));
+		if (gauge == null) {
+			return null;
+		}
+		for (Metric<?> metric : convert(gauge, new Date())) {
+			if (metric.getName().equals(metricName)) {
+				return metric;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Iterable<Metric<?>> findAll() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		Date timestamp = new Date();
+		for (HistogramGauge gauge : this.reader.findAll()) {
+			metrics.addAll(convert(gauge, timestamp));
+		}
+		return metrics;
+	}
+
+	@Override
+	public long count() {
+		return this.reader.count() * (3 + this.percentiles.length);
+	}
+
+	private List<Metric<?>> convert(HistogramGauge gauge, Date timestamp) {
+		String name = gauge.getName();
+		List<Metric<?>> metrics = new ArrayList<>(3 + this.percentiles.length);
+		metrics.add(new Metric<>(name + COUNT, gauge.getCount(), timestamp));
+		metrics.add(new Metric<>(name + MEAN, gauge.getMean(), timestamp));
+		metrics.add(new Metric<>(name + MAX, gauge.getMax(), timestamp));
+		for (int i = 0; i < this.percentiles.length; i++) {
+			metrics.add(new Metric<>(name + this.percentileSuffixes[i],
+					gauge.getValueAtPercentile(this.percentiles[i]), timestamp));
+		}
+		return metrics;
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+/**
+ * A basic set of read operations for {@link HistogramGauge} instances.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public interface HistogramGaugeReader {
+
+	/**
+	 * Find a single instance of a histogram gauge by name.
+	 * @param name the name of the gauge
+	 * @return a histogram gauge or {@code null}
+	 */
+	HistogramGauge findOne(String name);
+
+	/**
+	 * Find all instances of histogram gauge known to this reader.
+	 * @return all instances known to this reader
+	 */
+	Iterable<HistogramGauge> findAll();
+
+	/**
+	 * Return the number of gauges available.
+	 * @return the number of gauges
+	 */
+	long count();
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+/**
+ * Convenient combination of reader and writer concerns for {@link HistogramGauge}
+ * instances.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public interface HistogramGaugeRepository extends HistogramGaugeReader {
+
+	/**
+	 * Record a value in the histogram gauge with the given name, creating the gauge if
+	 * necessary.
+	 * @param name the name of the gauge
+	 * @param value the value to record
+	 */
+	void record(String name, double value);
+
+	/**
+	 * Reset the histogram gauge with the given name.
+	 * @param name the name of the gauge
+	 */
+	void reset(String name);
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In memory implementation of {@link HistogramGaugeRepository}. Gauges are created on
+ * first use with the configured highest trackable value and number of significant digits
+ * and are then updated without locking.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class InMemoryHistogramGaugeRepository implements HistogramGaugeRepository {
+
+	private final ConcurrentMap<String, HistogramGauge> gauges = new ConcurrentHashMap<>();
+
+	private long highestTrackableValue = HistogramGauge.DEFAULT_HIGHEST_TRACKABLE_VALUE;
+
+	private int significantDigits = HistogramGauge.DEFAULT_SIGNIFICANT_DIGITS;
+
+	private long window;
+
+	/**
+	 * Set the highest value that can be tracked by gauges created by this repository.
+	 * @param highestTrackableValue the highest trackable value
+	 */
+	public void setHighestTrackableValue(long highestTrackableValue) {
+		this.highestTrackableValue = highestTrackableValue;
+	}
+
+	/**
+	 * Set the number of significant decimal digits of gauges created by this repository.
+	 * @param significantDigits the number of significant digits (1 to 3)
+	 */
+	public void setSignificantDigits(int significantDigits) {
+		this.significantDigits = significantDigits;
+	}
+
+	/**
+	 * Set the duration of the rolling window of gauges created by this repository.
+	 * @param window the window in milliseconds (zero or less to keep all values)
+	 */
+	public void setWindow(long window) {
+		this.window = window;
+	}
+
+	@Override
+	public void record(String name, double value) {
+		HistogramGauge gauge = this.gauges.get(name);
+		if (gauge == null) {
+			gauge = new HistogramGauge(name, this.highestTrackableValue,
+					this.significantDigits, this.window);
+			HistogramGauge existing = this.gauges.putIfAbsent(name, gauge);
+			gauge = (existing == null ? gauge : existing);
+		}
+		gauge.record(value);
+	}
+
+	@Override
+	public void reset(String name) {
+		this.gauges.remove(name);
+	}
+
+	@Override
+	public HistogramGauge findOne(String name) {
+		return this.gauges.get(name);
+	}
+
+	@Override
+	public Iterable<HistogramGauge> findAll() {
+		return new ArrayList<>(this.gauges.values());
+	}
+
+	@Override
+	public long count() {
+		return this.gauges.size();
+	}
+
+}
@@ -35,6 +35,10 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 
 	private final SimpleInMemoryRepository<RichGauge> repository = new SimpleInMemoryRepository<>();
 
+	public InMemoryRichGaugeRepository() {
+		this.repository.setLockFree(true);
+	}
+
 	@Override
 	public void increment(final Delta<?> delta) {
 		this.repository.update(delta.getName(), new Callback<RichGauge>() {
@@ -45,8 +49,7 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 				if (current == null) {
 					return new RichGauge(delta.getName(), value);
 				}
-				current.set(current.getValue() + value);
-				return current;
+				return copy(current).set(current.getValue() + value);
 			}
 
 		});
@@ -63,8 +66,7 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 				if (current == null) {
 					return new RichGauge(name, value);
 				}
-				current.set(value);
-				return current;
+				return copy(current).set(value);
 			}
 
 		});
@@ -90,4 +92,10 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 		return this.repository.count();
 	}
 
+	private RichGauge copy(RichGauge gauge) {
+		// Updates may be retried so the stored gauge must not be modified in place
+		return new RichGauge(gauge.getName(), gauge.getValue(), gauge.getAlpha(),
+				gauge.getAverage(), gauge.getMax(), gauge.getMin(), gauge.getCount());
+	}
+
 }
@@ -36,7 +36,9 @@ import org.springframework.util.StringUtils;
  * towards zero. Metrics whose name contains "timer." (but not "gauge." or "counter.")
  * will be treated as execution times (in statsd terms). Anything incremented is treated
  * as a counter, and anything with a snapshot value in {@link #set(Metric)} is treated as
- * a gauge.
+ * a gauge. The statsd protocol has no notion of tags, so the
+ * {@link org.springframework.boot.actuate.metrics.Tags#flatten(String) flattened} name
+ * is used for tagged metrics.
  *
  * @author Dave Syer
  * @author Odín del Río
@@ -88,13 +90,12 @@ public class StatsdMetricWriter implements MetricWriter, Closeable {
 
 	@Override
 	public void increment(Delta<?> delta) {
-		this.client.count(sanitizeMetricName(delta.getName()),
-				delta.getValue().longValue());
+		this.client.count(sanitizeMetricName(delta), delta.getValue().longValue());
 	}
 
 	@Override
 	public void set(Metric<?> value) {
-		String name = sanitizeMetricName(value.getName());
+		String name = sanitizeMetricName(value);
 		if (name.contains("timer.") && !name.contains("gauge.")
 				&& !name.contains("counter.")) {
 			this.client.recordExecutionTime(name, value.getValue().longValue());
@@ -121,11 +122,11 @@ public class StatsdMetricWriter implements MetricWriter, Closeable {
 
 	/**
 	 * Sanitize the metric name if necessary.
-	 * @param name The metric name
+	 * @param metric The metric
 	 * @return The sanitized metric name
 	 */
-	private String sanitizeMetricName(String name) {
-		return name.replace(":", "-");
+	private String sanitizeMetricName(Metric<?> metric) {
+		return metric.getTags().flatten(metric.getName()).replace(":", "-");
 	}
 
 	private static final class LoggingStatsdErrorHandler
@@ -22,9 +22,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiFunction;
 
 /**
  * Repository utility that stores stuff in memory with period-separated String keys.
+ * <p>
+ * By default {@link #update(String, Callback) updates} are serialized by locking on a
+ * per-name lock object. In {@link #setLockFree(boolean) lock-free} mode updates are
+ * instead applied with an atomic compare-and-set on the stored value, which scales better
+ * with many writer threads but requires the {@link Callback} to be free of side effects.
  *
  * @param <T> the type to store
  * @author Dave Syer
@@ -36,13 +42,42 @@ public class SimpleInMemoryRepository<T> {
 
 	private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
 
-	public T update(String name, Callback<T> callback) {
-		Object lock = getLock(name);
-		synchronized (lock) {
-			T current = this.values.get(name);
-			T value = callback.modify(current);
-			this.values.put(name, value);
-			return value;
+	private boolean lockFree;
+
+	/**
+	 * Set whether updates should be applied with an atomic compare-and-set instead of
+	 * locking. In lock-free mode a {@link Callback} may be invoked more than once for a
+	 * single update and must therefore return a new value rather than modifying the
+	 * current one in place.
+	 * @param lockFree if updates should be lock-free
+	 * @since 2.0.0
+	 */
+	public void setLockFree(boolean lockFree) {
+		this.lockFree = lockFree;
+	}
+
+	public T update(String name, final Callback<T> callback) {
+		if (this.lockFree) {
+			return this.values.compute(name, new BiFunction<String, T, T>() {
+
+				@Override
+				public T apply(String name, T current) {
+					return callback.modify(current);
+				}
+
+			});
+		}
+		while (true) {
+			Object lock = getLock(name);
+			synchronized (lock) {
+				// The lock may have been removed with the value while we were waiting
+				if (this.locks.get(name) == lock) {
+					T current = this.values.get(name);
+					T value = callback.modify(current);
+					this.values.put(name, value);
+					return value;
+				}
+			}
 		}
 	}
 
@@ -67,7 +102,15 @@ public class SimpleInMemoryRepository<T> {
 	}
 
 	public void remove(String name) {
-		this.values.remove(name);
+		if (this.lockFree) {
+			this.values.remove(name);
+			return;
+		}
+		Object lock = getLock(name);
+		synchronized (lock) {
+			this.values.remove(name);
+			this.locks.remove(name, lock);
+		}
 	}
 
 	public T findOne(String name) {
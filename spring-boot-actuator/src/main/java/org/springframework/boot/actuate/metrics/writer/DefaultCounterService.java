@@ -16,9 +16,11 @@
 
 package org.springframework.boot.actuate.metrics.writer;
 
+import java.util.Date;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * Default implementation of {@link CounterService}.
@@ -49,6 +51,16 @@ public class DefaultCounterService implements CounterService {
 		this.writer.increment(new Delta<>(wrap(metricName), -1L));
 	}
 
+	@Override
+	public void increment(String metricName, Tags tags) {
+		this.writer.increment(new Delta<>(wrap(metricName), 1L, new Date(), tags));
+	}
+
+	@Override
+	public void decrement(String metricName, Tags tags) {
+		this.writer.increment(new Delta<>(wrap(metricName), -1L, new Date(), tags));
+	}
+
 	@Override
 	public void reset(String metricName) {
 		this.writer.reset(wrap(metricName));
@@ -16,10 +16,12 @@
 
 package org.springframework.boot.actuate.metrics.writer;
 
+import java.util.Date;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * Default implementation of {@link GaugeService}.
@@ -45,6 +47,11 @@ public class DefaultGaugeService implements GaugeService {
 		this.writer.set(new Metric<>(wrap(metricName), value));
 	}
 
+	@Override
+	public void submit(String metricName, Tags tags, double value) {
+		this.writer.set(new Metric<>(wrap(metricName), value, new Date(), tags));
+	}
+
 	private String wrap(String metricName) {
 		String cached = this.names.get(metricName);
 		if (cached != null) {
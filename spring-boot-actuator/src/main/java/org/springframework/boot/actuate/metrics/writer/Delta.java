@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.metrics.writer;
 import java.util.Date;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 
 /**
  * A value object representing an increment in a metric value (usually a counter).
@@ -32,6 +33,18 @@ public class Delta<T extends Number> extends Metric<T> {
 		super(name, value, timestamp);
 	}
 
+	/**
+	 * Create a new {@link Delta} instance for a tagged metric.
+	 * @param name the name of the metric
+	 * @param value the increment
+	 * @param timestamp the timestamp of the increment
+	 * @param tags the tags of the metric (may be {@code null})
+	 * @since 2.0.0
+	 */
+	public Delta(String name, T value, Date timestamp, Tags tags) {
+		super(name, value, timestamp, tags);
+	}
+
 	public Delta(String name, T value) {
 		super(name, value);
 	}
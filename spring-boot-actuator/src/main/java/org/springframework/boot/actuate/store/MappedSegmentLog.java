@@ -0,0 +1,369 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Append-only log of timestamped records held in memory-mapped segment files. Records
+ * are appended to the current segment until it is full, at which point a new segment is
+ * started and the oldest segments are deleted so that no more than the configured
+ * number of segments are kept. As the records live in the mapped files rather than on
+ * the heap, a log can hold far more data than an in-memory buffer and it survives
+ * restarts: the segments found in the directory are reopened when the log is created.
+ * <p>
+ * Appends are serialized with each other but never wait for readers. A reader sees all
+ * the records that had been appended when it started.
+ * <p>
+ * Segments are not explicitly unmapped when they are deleted or when the log is closed,
+ * as a reader may still be using them and the JDK offers no safe way to do so. Their
+ * memory and file handles are released when the buffers are garbage collected, and on
+ * platforms that do not allow a mapped file to be deleted (such as Windows) the file of
+ * a dropped segment may be left behind until then. Only files named after a segment id
+ * (20 digits followed by {@code .log}) are treated as segments.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class MappedSegmentLog implements Closeable {
+
+	/**
+	 * The default size of a segment in bytes.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * The default maximum number of segments.
+	 */
+	public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+	private static final Log logger = LogFactory.getLog(MappedSegmentLog.class);
+
+	private static final String SUFFIX = ".log";
+
+	private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.log");
+
+	// Record size and timestamp before the payload, record size again after it
+	private static final int HEADER_SIZE = 12;
+
+	private static final int TRAILER_SIZE = 4;
+
+	private final Object monitor = new Object();
+
+	private final File directory;
+
+	private final int segmentSize;
+
+	private final int maxSegments;
+
+	private volatile List<Segment> segments;
+
+	private boolean closed;
+
+	/**
+	 * Create a new {@link MappedSegmentLog} with default settings.
+	 * @param directory the directory holding the segment files
+	 * @throws IOException if the existing segments cannot be opened
+	 */
+	public MappedSegmentLog(File directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+	}
+
+	/**
+	 * Create a new {@link MappedSegmentLog}.
+	 * @param directory the directory holding the segment files
+	 * @param segmentSize the size of a segment in bytes
+	 * @param maxSegments the maximum number of segments to keep
+	 * @throws IOException if the existing segments cannot be opened
+	 */
+	public MappedSegmentLog(File directory, int segmentSize, int maxSegments)
+			throws IOException {
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.isTrue(segmentSize > HEADER_SIZE + TRAILER_SIZE,
+				"SegmentSize must be greater than " + (HEADER_SIZE + TRAILER_SIZE));
+		Assert.isTrue(maxSegments > 0, "MaxSegments must be positive");
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create directory " + directory);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+		this.segments = Collections.unmodifiableList(openSegments());
+	}
+
+	private List<Segment> openSegments() throws IOException {
+		File[] files = this.directory.listFiles(new FilenameFilter() {
+
+			@Override
+			public boolean accept(File dir, String name) {
+				return SEGMENT_NAME.matcher(name).matches();
+			}
+
+		});
+		List<Segment> segments = new ArrayList<>();
+		if (files != null) {
+			Arrays.sort(files);
+			for (File file : files) {
+				try {
+					segments.add(Segment.open(file));
+				}
+				catch (NumberFormatException ex) {
+					logger.warn("Ignoring file " + file + " with an invalid segment id");
+				}
+			}
+		}
+		return segments;
+	}
+
+	/**
+	 * Append a record to the log.
+	 * @param timestamp the timestamp of the record
+	 * @param payload the content of the record
+	 */
+	public void append(long timestamp, byte[] payload) {
+		int size = HEADER_SIZE + payload.length + TRAILER_SIZE;
+		Assert.isTrue(size <= this.segmentSize, "A record of " + payload.length
+				+ " bytes does not fit in a segment of " + this.segmentSize + " bytes");
+		synchronized (this.monitor) {
+			Assert.state(!this.closed, "Log has been closed");
+			List<Segment> segments = this.segments;
+			Segment segment = (segments.isEmpty() ? null
+					: segments.get(segments.size() - 1));
+			if (segment == null || !segment.append(timestamp, payload, size)) {
+				segment = roll(segment);
+				segment.append(timestamp, payload, size);
+			}
+		}
+	}
+
+	private Segment roll(Segment last) {
+		long id = (last == null ? 0 : last.id + 1);
+		File file = new File(this.directory, String.format("%020d%s", id, SUFFIX));
+		Segment segment;
+		try {
+			segment = Segment.create(id, file, this.segmentSize);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to create segment " + file, ex);
+		}
+		List<Segment> segments = new ArrayList<>(this.segments);
+		segments.add(segment);
+		while (segments.size() > this.maxSegments) {
+			Segment removed = segments.remove(0);
+			if (!removed.file.delete()) {
+				logger.warn("Unable to delete segment " + removed.file);
+			}
+		}
+		if (last != null) {
+			last.buffer.force();
+		}
+		this.segments = Collections.unmodifiableList(segments);
+		return segment;
+	}
+
+	/**
+	 * Read the records with a timestamp equal to or after the specified time. Segments
+	 * that only hold older records are skipped without being read.
+	 * @param after the earliest timestamp of the records to read
+	 * @param reverse whether to read the most recent records first
+	 * @param callback the callback invoked for each record
+	 */
+	public void read(long after, boolean reverse, RecordCallback callback) {
+		List<Segment> segments = new ArrayList<>(this.segments);
+		if (reverse) {
+			Collections.reverse(segments);
+		}
+		for (Segment segment : segments) {
+			if (segment.lastTimestamp >= after
+					&& !segment.read(after, reverse, callback)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of segments currently held by the log.
+	 * @return the number of segments
+	 */
+	public int getSegmentCount() {
+		return this.segments.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this.monitor) {
+			if (!this.closed) {
+				this.closed = true;
+				for (Segment segment : this.segments) {
+					segment.buffer.force();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Callback used to read the records of a {@link MappedSegmentLog}.
+	 */
+	public interface RecordCallback {
+
+		/**
+		 * Handle a record.
+		 * @param timestamp the timestamp of the record
+		 * @param payload a read-only view of the content of the record that is only
+		 * valid for the duration of the call
+		 * @return {@code true} to continue reading or {@code false} to stop
+		 */
+		boolean doWithRecord(long timestamp, ByteBuffer payload);
+
+	}
+
+	/**
+	 * A single memory-mapped segment file.
+	 */
+	private static final class Segment {
+
+		private final long id;
+
+		private final File file;
+
+		private final MappedByteBuffer buffer;
+
+		private volatile int position;
+
+		private volatile long lastTimestamp = Long.MIN_VALUE;
+
+		private Segment(long id, File file, MappedByteBuffer buffer) {
+			this.id = id;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		boolean append(long timestamp, byte[] payload, int size) {
+			if (this.position + size > this.buffer.capacity()) {
+				return false;
+			}
+			ByteBuffer target = this.buffer.duplicate();
+			target.position(this.position);
+			target.putInt(size).putLong(timestamp).put(payload).putInt(size);
+			this.lastTimestamp = Math.max(this.lastTimestamp, timestamp);
+			this.position += size;
+			return true;
+		}
+
+		boolean read(long after, boolean reverse, RecordCallback callback) {
+			ByteBuffer source = this.buffer.asReadOnlyBuffer();
+			int limit = this.position;
+			if (reverse) {
+				int position = limit;
+				while (position > 0) {
+					int start = position - source.getInt(position - TRAILER_SIZE);
+					if (!readRecord(source, start, after, callback)) {
+						return false;
+					}
+					position = start;
+				}
+			}
+			else {
+				int position = 0;
+				while (position < limit) {
+					if (!readRecord(source, position, after, callback)) {
+						return false;
+					}
+					position += source.getInt(position);
+				}
+			}
+			return true;
+		}
+
+		private boolean readRecord(ByteBuffer source, int start, long after,
+				RecordCallback callback) {
+			long timestamp = source.getLong(start + 4);
+			if (timestamp < after) {
+				return true;
+			}
+			int size = source.getInt(start);
+			source.limit(start + size - TRAILER_SIZE).position(start + HEADER_SIZE);
+			ByteBuffer payload = source.slice();
+			source.clear();
+			return callback.doWithRecord(timestamp, payload);
+		}
+
+		static Segment create(long id, File file, int size) throws IOException {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				randomAccessFile.setLength(size);
+				return new Segment(id, file, map(randomAccessFile, size));
+			}
+		}
+
+		static Segment open(File file) throws IOException {
+			String name = file.getName();
+			long id = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				Segment segment = new Segment(id, file,
+						map(randomAccessFile, (int) randomAccessFile.length()));
+				segment.recover();
+				return segment;
+			}
+		}
+
+		private static MappedByteBuffer map(RandomAccessFile file, int size)
+				throws IOException {
+			return file.getChannel().map(MapMode.READ_WRITE, 0, size);
+		}
+
+		/**
+		 * Find the end of the records that were completely written before the segment
+		 * was last closed, ignoring anything after it.
+		 */
+		private void recover() {
+			int capacity = this.buffer.capacity();
+			int position = 0;
+			long lastTimestamp = Long.MIN_VALUE;
+			while (position + HEADER_SIZE + TRAILER_SIZE <= capacity) {
+				int size = this.buffer.getInt(position);
+				if (size < HEADER_SIZE + TRAILER_SIZE || position + size > capacity
+						|| this.buffer.getInt(position + size - TRAILER_SIZE) != size) {
+					break;
+				}
+				lastTimestamp = Math.max(lastTimestamp,
+						this.buffer.getLong(position + 4));
+				position += size;
+			}
+			this.position = position;
+			this.lastTimestamp = lastTimestamp;
+		}
+
+	}
+
+}
@@ -19,65 +19,109 @@ package org.springframework.boot.actuate.trace;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * In-memory implementation of {@link TraceRepository}.
+ * In-memory implementation of {@link TraceRepository}. Traces are held in a fixed-size
+ * ring buffer so that concurrent calls to {@link #add(Map)} never block each other,
+ * with the oldest trace being overwritten once the capacity is reached.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
  */
 public class InMemoryTraceRepository implements TraceRepository {
 
-	private int capacity = 100;
+	private volatile boolean reverse = true;
 
-	private boolean reverse = true;
-
-	private final List<Trace> traces = new LinkedList<>();
+	private volatile RingBuffer traces = new RingBuffer(100);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
-	 * Set the capacity of the in-memory repository.
+	 * Set the capacity of the in-memory repository. Traces that have already been added
+	 * are retained, up to the new capacity.
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
+		RingBuffer traces = new RingBuffer(capacity);
+		for (Trace trace : this.traces.snapshot(false)) {
+			traces.add(trace);
 		}
+		this.traces = traces;
 	}
 
 	@Override
 	public List<Trace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
-		}
+		return Collections.unmodifiableList(this.traces.snapshot(this.reverse));
 	}
 
 	@Override
 	public void add(Map<String, Object> map) {
-		Trace trace = new Trace(new Date(), map);
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
-			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
+		this.traces.add(new Trace(new Date(), map));
+	}
+
+	/**
+	 * Fixed-size buffer of traces. Writers claim a sequence number and write to the slot
+	 * that it maps to, each slot remembering the sequence it was written for so that
+	 * readers can skip slots that were overwritten while a snapshot was being taken.
+	 */
+	private static final class RingBuffer {
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final AtomicReferenceArray<Entry> entries;
+
+		RingBuffer(int capacity) {
+			this.entries = new AtomicReferenceArray<>(capacity);
+		}
+
+		public void add(Trace trace) {
+			long sequence = this.sequence.getAndIncrement();
+			this.entries.set(index(sequence), new Entry(sequence, trace));
+		}
+
+		public List<Trace> snapshot(boolean reverse) {
+			long last = this.sequence.get() - 1;
+			long first = Math.max(0, last - this.entries.length() + 1);
+			List<Trace> traces = new ArrayList<>((int) (last - first + 1));
+			for (long sequence = first; sequence <= last; sequence++) {
+				Entry entry = this.entries.get(index(sequence));
+				if (entry != null && entry.sequence == sequence) {
+					traces.add(entry.trace);
+				}
 			}
-			else {
-				this.traces.add(trace);
+			if (reverse) {
+				Collections.reverse(traces);
 			}
+			return traces;
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.entries.length());
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final long sequence;
+
+		private final Trace trace;
+
+		Entry(long sequence, Trace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
 		}
+
 	}
 
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import org.springframework.boot.actuate.store.MappedSegmentLog;
+import org.springframework.boot.actuate.store.MappedSegmentLog.RecordCallback;
+
+/**
+ * {@link TraceRepository} implementation that stores traces as JSON in a
+ * {@link MappedSegmentLog}, keeping them off-heap and across restarts. The number of
+ * traces that are kept is bounded by the size and number of segments of the log, while
+ * {@link #findAll()} only returns the most recent ones.
+ *
+ * @author agent (agent@local)
+ * @since 2.0.0
+ */
+public class MappedFileTraceRepository implements TraceRepository, Closeable {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+	private final MappedSegmentLog log;
+
+	private volatile int limit = 100;
+
+	private volatile boolean reverse = true;
+
+	/**
+	 * Create a new {@link MappedFileTraceRepository} storing its traces in the specified
+	 * directory.
+	 * @param directory the directory
+	 * @throws IOException if the existing traces cannot be opened
+	 */
+	public MappedFileTraceRepository(File directory) throws IOException {
+		this(new MappedSegmentLog(directory));
+	}
+
+	/**
+	 * Create a new {@link MappedFileTraceRepository} backed by the specified log.
+	 * @param log the log
+	 */
+	public MappedFileTraceRepository(MappedSegmentLog log) {
+		this.log = log;
+	}
+
+	/**
+	 * Set the maximum number of traces returned by {@link #findAll()}.
+	 * @param limit the limit (default 100)
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	@Override
+	public List<Trace> findAll() {
+		final int limit = this.limit;
+		final List<Trace> traces = new ArrayList<>();
+		this.log.read(Long.MIN_VALUE, true, new RecordCallback() {
+
+			@Override
+			public boolean doWithRecord(long timestamp, ByteBuffer payload) {
+				if (traces.size() >= limit) {
+					return false;
+				}
+				traces.add(new Trace(new Date(timestamp), readInfo(payload)));
+				return true;
+			}
+
+		});
+		if (!this.reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> readInfo(ByteBuffer payload) {
+		try {
+			return this.objectMapper.readValue(new ByteBufferBackedInputStream(payload),
+					Map.class);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to read trace", ex);
+		}
+	}
+
+	@Override
+	public void add(Map<String, Object> traceInfo) {
+		try {
+			this.log.append(System.currentTimeMillis(),
+					this.objectMapper.writeValueAsBytes(traceInfo));
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unable to write trace", ex);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.log.close();
+	}
+
+}
@@ -53,6 +53,8 @@ public class TraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(DEFAULT_INCLUDES);
 
+	private final Sampling sampling = new Sampling();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -61,6 +63,56 @@ public class TraceProperties {
 		this.include = include;
 	}
 
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	/**
+	 * Sampling options for tracing.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Fraction of requests, between 0 and 1, that are traced.
+		 */
+		private double rate = 1.0;
+
+		/**
+		 * Whether requests that fail with a server error are always traced.
+		 */
+		private boolean errors = true;
+
+		/**
+		 * Time taken in milliseconds above which a request is always traced.
+		 */
+		private Long slowThreshold;
+
+		public double getRate() {
+			return this.rate;
+		}
+
+		public void setRate(double rate) {
+			this.rate = rate;
+		}
+
+		public boolean isErrors() {
+			return this.errors;
+		}
+
+		public void setErrors(boolean errors) {
+			this.errors = errors;
+		}
+
+		public Long getSlowThreshold() {
+			return this.slowThreshold;
+		}
+
+		public void setSlowThreshold(Long slowThreshold) {
+			this.slowThreshold = slowThreshold;
+		}
+
+	}
+
 	/**
 	 * Include options for tracing.
 	 */
@@ -25,6 +25,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.Filter;
@@ -39,6 +40,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.trace.TraceProperties.Include;
+import org.springframework.boot.actuate.trace.TraceProperties.Sampling;
 import org.springframework.boot.autoconfigure.web.servlet.error.ErrorAttributes;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
@@ -46,7 +48,11 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Servlet {@link Filter} that logs all requests to a {@link TraceRepository}.
+ * Servlet {@link Filter} that logs all requests to a {@link TraceRepository}. When a
+ * {@link Sampling#setRate(double) sampling rate} lower than 1 is configured only a
+ * fraction of the requests is traced, with failed and slow requests optionally being
+ * traced regardless. The request details of a request that was not sampled up front are
+ * only captured once it has completed and turned out to need tracing.
  *
  * @author Dave Syer
  * @author Wallace Wadge
@@ -103,7 +109,7 @@ public class WebRequestTraceFilter extends OncePerRequestFilter implements Order
 			HttpServletResponse response, FilterChain filterChain)
 					throws ServletException, IOException {
 		long startTime = System.nanoTime();
-		Map<String, Object> trace = getTrace(request);
+		Map<String, Object> trace = (isSampled() ? getTrace(request) : null);
 		logTrace(request, trace);
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
@@ -111,11 +117,32 @@ public class WebRequestTraceFilter extends OncePerRequestFilter implements Order
 			status = response.getStatus();
 		}
 		finally {
-			addTimeTaken(trace, startTime);
-			enhanceTrace(trace, status == response.getStatus() ? response
-					: new CustomStatusResponseWrapper(response, status));
-			this.repository.add(trace);
+			long timeTaken = System.nanoTime() - startTime;
+			if (trace == null && isAlwaysSampled(status, timeTaken)) {
+				trace = getTrace(request);
+			}
+			if (trace != null) {
+				addTimeTaken(trace, timeTaken);
+				enhanceTrace(trace, status == response.getStatus() ? response
+						: new CustomStatusResponseWrapper(response, status));
+				this.repository.add(trace);
+			}
+		}
+	}
+
+	private boolean isSampled() {
+		double rate = this.properties.getSampling().getRate();
+		return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+	}
+
+	private boolean isAlwaysSampled(int status, long timeTaken) {
+		Sampling sampling = this.properties.getSampling();
+		if (sampling.isErrors() && status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+			return true;
 		}
+		Long slowThreshold = sampling.getSlowThreshold();
+		return slowThreshold != null
+				&& TimeUnit.NANOSECONDS.toMillis(timeTaken) >= slowThreshold;
 	}
 
 	protected Map<String, Object> getTrace(HttpServletRequest request) {
@@ -202,8 +229,7 @@ public class WebRequestTraceFilter extends OncePerRequestFilter implements Order
 	protected void postProcessRequestHeaders(Map<String, Object> headers) {
 	}
 
-	private void addTimeTaken(Map<String, Object> trace, long startTime) {
-		long timeTaken = System.nanoTime() - startTime;
+	private void addTimeTaken(Map<String, Object> trace, long timeTaken) {
 		add(trace, Include.TIME_TAKEN, "timeTaken",
 				"" + TimeUnit.NANOSECONDS.toMillis(timeTaken));
 	}
@@ -233,7 +259,7 @@ public class WebRequestTraceFilter extends OncePerRequestFilter implements Order
 		if (logger.isTraceEnabled()) {
 			logger.trace("Processing request " + request.getMethod() + " "
 					+ request.getRequestURI());
-			if (this.dumpRequests) {
+			if (this.dumpRequests && trace != null) {
 				logger.trace("Headers: " + trace.get("headers"));
 			}
 		}
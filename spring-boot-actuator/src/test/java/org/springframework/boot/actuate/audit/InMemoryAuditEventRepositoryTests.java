@@ -122,4 +122,37 @@ public class InMemoryAuditEventRepositoryTests {
 		assertThat(events.get(0).getType()).isEqualTo("c");
 	}
 
+	@Test
+	public void findByPrincipalAfterEviction() throws Exception {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(10);
+		for (int i = 0; i < 100; i++) {
+			repository.add(new AuditEvent((i % 3 == 0 ? "dave" : "phil"), "a" + i));
+		}
+		List<AuditEvent> events = repository.find("dave", null);
+		assertThat(events).extracting("type").containsExactly("a90", "a93", "a96",
+				"a99");
+		assertThat(repository.find("dave", null, "a3")).isEmpty();
+		assertThat(repository.find(null, null, "a99")).hasSize(1);
+	}
+
+	@Test
+	public void findByDateWhenEventsAreNotInTimeOrder() throws Exception {
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(2000, 1, 1, 0, 0, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		Map<String, Object> data = new HashMap<>();
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		Date after = calendar.getTime();
+		calendar.add(Calendar.DAY_OF_YEAR, 1);
+		repository.add(new AuditEvent(calendar.getTime(), "dave", "a", data));
+		calendar.add(Calendar.DAY_OF_YEAR, -2);
+		repository.add(new AuditEvent(calendar.getTime(), "dave", "b", data));
+		calendar.add(Calendar.DAY_OF_YEAR, 3);
+		repository.add(new AuditEvent(calendar.getTime(), "dave", "c", data));
+		assertThat(repository.find(after)).extracting("type").containsExactly("a",
+				"c");
+		assertThat(repository.find("dave", after)).extracting("type")
+				.containsExactly("a", "c");
+	}
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.audit;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedFileAuditEventRepository}.
+ *
+ * @author agent (agent@local)
+ */
+public class MappedFileAuditEventRepositoryTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private MappedFileAuditEventRepository repository;
+
+	@Before
+	public void setup() throws Exception {
+		this.repository = new MappedFileAuditEventRepository(this.temp.getRoot());
+	}
+
+	@After
+	public void close() throws Exception {
+		this.repository.close();
+	}
+
+	@Test
+	public void findByPrincipalAndType() throws Exception {
+		this.repository.add(new AuditEvent("dave", "a", "foo=bar"));
+		this.repository.add(new AuditEvent("phil", "a"));
+		this.repository.add(new AuditEvent("dave", "b"));
+		List<AuditEvent> events = this.repository.find("dave", null, "a");
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getPrincipal()).isEqualTo("dave");
+		assertThat(events.get(0).getData()).containsEntry("foo", "bar");
+		assertThat(this.repository.find("dave", null)).hasSize(2);
+		assertThat(this.repository.find(null)).hasSize(3);
+	}
+
+	@Test
+	public void findAfter() throws Exception {
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(2000, 1, 1, 0, 0, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		Date after = calendar.getTime();
+		calendar.add(Calendar.DAY_OF_YEAR, -1);
+		this.repository.add(new AuditEvent(calendar.getTime(), "dave", "a",
+				Collections.<String, Object>emptyMap()));
+		this.repository.add(new AuditEvent(after, "dave", "b",
+				Collections.<String, Object>emptyMap()));
+		calendar.add(Calendar.DAY_OF_YEAR, 2);
+		this.repository.add(new AuditEvent(calendar.getTime(), "dave", "c",
+				Collections.<String, Object>emptyMap()));
+		List<AuditEvent> events = this.repository.find(after);
+		assertThat(events).extracting("type").containsExactly("b", "c");
+		assertThat(events.get(0).getTimestamp()).isEqualTo(after);
+	}
+
+	@Test
+	public void eventsSurviveReopening() throws Exception {
+		this.repository.add(new AuditEvent("dave", "a"));
+		this.repository.close();
+		this.repository = new MappedFileAuditEventRepository(this.temp.getRoot());
+		assertThat(this.repository.find("dave", null)).hasSize(1);
+	}
+
+}
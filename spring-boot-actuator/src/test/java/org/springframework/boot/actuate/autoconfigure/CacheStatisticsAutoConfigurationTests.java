@@ -38,6 +38,9 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.actuate.cache.InstrumentedCache;
+import org.springframework.boot.actuate.cache.InstrumentedCacheManager;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -84,6 +87,15 @@ public class CacheStatisticsAutoConfigurationTests {
 		doTestCoreStatistics(provider, false);
 	}
 
+	@Test
+	public void jCacheCacheStatisticsWithTimeToLive() {
+		load(new String[] { "spring.metrics.cache.statistics-time-to-live=60000" },
+				JCacheCacheConfig.class);
+		CacheStatisticsProvider provider = this.context
+				.getBean("jCacheCacheStatisticsProvider", CacheStatisticsProvider.class);
+		doTestCachedStatistics(provider);
+	}
+
 	@Test
 	public void basicEhCacheCacheStatistics() {
 		load(EhCacheConfig.class);
@@ -108,6 +120,15 @@ public class CacheStatisticsAutoConfigurationTests {
 		doTestCoreStatistics(provider, true);
 	}
 
+	@Test
+	public void infinispanCacheStatisticsWithTimeToLive() {
+		load(new String[] { "spring.metrics.cache.statistics-time-to-live=60000" },
+				InfinispanConfig.class);
+		CacheStatisticsProvider provider = this.context.getBean(
+				"infinispanCacheStatisticsProvider", CacheStatisticsProvider.class);
+		doTestCachedStatistics(provider);
+	}
+
 	@Test
 	public void baseCaffeineCacheStatistics() {
 		load(CaffeineCacheConfig.class);
@@ -131,6 +152,25 @@ public class CacheStatisticsAutoConfigurationTests {
 		assertCoreStatistics(updatedCacheStatistics, 2L, null, null);
 	}
 
+	@Test
+	public void cacheManagerIsNotInstrumentedByDefault() {
+		load(ConcurrentMapConfig.class);
+		assertThat(this.cacheManager).isInstanceOf(ConcurrentMapCacheManager.class);
+	}
+
+	@Test
+	public void instrumentedCacheManager() {
+		load(new String[] { "spring.metrics.cache.instrument=true" },
+				ConcurrentMapConfig.class);
+		assertThat(this.cacheManager).isInstanceOf(InstrumentedCacheManager.class);
+		Cache books = getCache("books");
+		assertThat(books).isInstanceOf(InstrumentedCache.class);
+		getOrCreate(books, "a", "b", "b", "a", "a", "a");
+		assertThat(((InstrumentedCache) books).getHitCount()).isEqualTo(4);
+		assertThat(((InstrumentedCache) books).getMissCount()).isEqualTo(2);
+		assertThat(((InstrumentedCache) books).getPutCount()).isEqualTo(2);
+	}
+
 	@Test
 	public void noOpCacheStatistics() {
 		load(NoOpCacheConfig.class);
@@ -159,6 +199,15 @@ public class CacheStatisticsAutoConfigurationTests {
 				0.33D);
 	}
 
+	private void doTestCachedStatistics(CacheStatisticsProvider provider) {
+		Cache books = getCache("books");
+		CacheStatistics cacheStatistics = provider.getCacheStatistics(this.cacheManager,
+				books);
+		getOrCreate(books, "a", "b", "b", "a", "a", "a");
+		assertThat(provider.getCacheStatistics(this.cacheManager, books))
+				.isSameAs(cacheStatistics);
+	}
+
 	private void assertCoreStatistics(CacheStatistics metrics, Long size, Double hitRatio,
 			Double missRatio) {
 		assertThat(metrics).isNotNull();
@@ -194,7 +243,12 @@ public class CacheStatisticsAutoConfigurationTests {
 	}
 
 	private void load(Class<?>... config) {
+		load(new String[0], config);
+	}
+
+	private void load(String[] environment, Class<?>... config) {
 		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context, environment);
 		if (config.length > 0) {
 			this.context.register(config);
 		}
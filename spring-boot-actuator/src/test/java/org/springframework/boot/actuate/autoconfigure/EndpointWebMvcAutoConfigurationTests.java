@@ -44,6 +44,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.actuate.endpoint.mvc.DumpMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMapping;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMappingCustomizer;
 import org.springframework.boot.actuate.endpoint.mvc.EnvironmentMvcEndpoint;
@@ -52,6 +53,7 @@ import org.springframework.boot.actuate.endpoint.mvc.HealthMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.LoggersMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.MetricsMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.MvcEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.PrometheusMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.ShutdownMvcEndpoint;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
@@ -439,9 +441,9 @@ public class EndpointWebMvcAutoConfigurationTests {
 		this.applicationContext.register(LoggingConfig.class, RootConfig.class,
 				BaseConfiguration.class, EndpointWebMvcAutoConfiguration.class);
 		this.applicationContext.refresh();
-		// /health, /metrics, /loggers, /env, /actuator, /heapdump, /auditevents
-		// (/shutdown is disabled by default)
-		assertThat(this.applicationContext.getBeansOfType(MvcEndpoint.class)).hasSize(7);
+		// /health, /metrics, /loggers, /env, /actuator, /heapdump, /auditevents,
+		// /prometheus, /dump (/shutdown is disabled by default)
+		assertThat(this.applicationContext.getBeansOfType(MvcEndpoint.class)).hasSize(9);
 	}
 
 	@Test
@@ -454,6 +456,16 @@ public class EndpointWebMvcAutoConfigurationTests {
 		assertThat(this.applicationContext.getBeansOfType(MvcEndpoint.class)).isEmpty();
 	}
 
+	@Test
+	public void dumpEndpointDisabled() throws Exception {
+		endpointDisabled("dump", DumpMvcEndpoint.class);
+	}
+
+	@Test
+	public void dumpEndpointEnabledOverride() throws Exception {
+		endpointEnabledOverride("dump", DumpMvcEndpoint.class);
+	}
+
 	@Test
 	public void environmentEndpointDisabled() throws Exception {
 		endpointDisabled("env", EnvironmentMvcEndpoint.class);
@@ -484,6 +496,16 @@ public class EndpointWebMvcAutoConfigurationTests {
 		endpointEnabledOverride("metrics", MetricsMvcEndpoint.class);
 	}
 
+	@Test
+	public void prometheusEndpointDisabled() throws Exception {
+		endpointDisabled("prometheus", PrometheusMvcEndpoint.class);
+	}
+
+	@Test
+	public void prometheusEndpointEnabledOverride() throws Exception {
+		endpointEnabledOverride("prometheus", PrometheusMvcEndpoint.class);
+	}
+
 	@Test
 	public void healthEndpointDisabled() throws Exception {
 		endpointDisabled("health", HealthMvcEndpoint.class);
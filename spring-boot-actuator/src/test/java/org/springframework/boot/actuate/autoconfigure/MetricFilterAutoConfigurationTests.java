@@ -31,6 +31,8 @@ import org.mockito.stubbing.Answer;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeMetricReader;
+import org.springframework.boot.actuate.metrics.rich.HistogramGaugeRepository;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -51,6 +53,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.NestedServletException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -383,6 +386,89 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsMetricsWithNonStandardHttpMethodName() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(Config.class, MetricFilterAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.counter-submissions=merged,per-http-method");
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		for (int i = 0; i < 2; i++) {
+			final MockHttpServletRequest request = new MockHttpServletRequest(
+					"PROPFIND", "/test/path");
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+					"/test/path");
+			final MockHttpServletResponse response = new MockHttpServletResponse();
+			FilterChain chain = mock(FilterChain.class);
+			willAnswer(new Answer<Object>() {
+				@Override
+				public Object answer(InvocationOnMock invocation) throws Throwable {
+					response.setStatus(200);
+					return null;
+				}
+			}).given(chain).doFilter(request, response);
+			filter.doFilter(request, response, chain);
+		}
+		verify(context.getBean(CounterService.class), times(2))
+				.increment(eq("status.PROPFIND.200.test.path"));
+		context.close();
+	}
+
+	@Test
+	public void recordsRepeatedHttpInteractionsWithTemplateVariable() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(Config.class, MetricFilterAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.counter-submissions=merged,per-http-method");
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/templateVarTest/bar")).andExpect(status().isOk());
+		mvc.perform(post("/templateVarTest/baz")).andExpect(status().isOk());
+		mvc.perform(get("/knownPath/foo")).andExpect(status().isNotFound());
+		verify(context.getBean(CounterService.class), times(3))
+				.increment("status.200.templateVarTest.someVariable");
+		verify(context.getBean(CounterService.class), times(2))
+				.increment("status.GET.200.templateVarTest.someVariable");
+		verify(context.getBean(CounterService.class))
+				.increment("status.POST.200.templateVarTest.someVariable");
+		verify(context.getBean(CounterService.class))
+				.increment("status.404.knownPath.someVariable");
+		verify(context.getBean(CounterService.class))
+				.increment("status.GET.404.knownPath.someVariable");
+		context.close();
+	}
+
+	@Test
+	public void recordsResponseTimeHistogramsIfConfigured() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(Config.class, MetricFilterAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.histogram-submissions=merged,per-http-method");
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/templateVarTest/bar")).andExpect(status().isOk());
+		HistogramGaugeRepository repository = context
+				.getBean(HistogramGaugeRepository.class);
+		assertThat(repository.findOne("response.templateVarTest.someVariable")
+				.getCount()).isEqualTo(2);
+		assertThat(repository.findOne("response.GET.templateVarTest.someVariable")
+				.getCount()).isEqualTo(2);
+		assertThat(repository.findOne("response.templateVarTest.someVariable")
+				.getWindow()).isEqualTo(60000);
+		HistogramGaugeMetricReader reader = context
+				.getBean(HistogramGaugeMetricReader.class);
+		assertThat(reader.findOne("response.templateVarTest.someVariable.p99"))
+				.isNotNull();
+		context.close();
+	}
+
 	@Test
 	public void doesNotRecordRolledUpMetricsIfConfigured() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
@@ -25,10 +25,12 @@ import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.actuate.metrics.buffer.BufferCounterService;
 import org.springframework.boot.actuate.metrics.buffer.BufferGaugeService;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
 import org.springframework.boot.actuate.metrics.dropwizard.DropwizardMetricServices;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -66,6 +68,25 @@ public class MetricRepositoryAutoConfigurationTests {
 		assertThat(bean.findOne("gauge.foo").getValue()).isEqualTo(2.7);
 	}
 
+	@Test
+	public void counterTimestampsAreUpdatedOnEveryIncrementByDefault() {
+		this.context = new AnnotationConfigApplicationContext(
+				MetricRepositoryAutoConfiguration.class);
+		assertThat(this.context.getBean(CounterBuffers.class).getTimestampResolution())
+				.isEqualTo(0);
+	}
+
+	@Test
+	public void counterTimestampResolutionCanBeConfigured() {
+		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.metrics.buffer.counter-timestamp-resolution=100");
+		this.context.register(MetricRepositoryAutoConfiguration.class);
+		this.context.refresh();
+		assertThat(this.context.getBean(CounterBuffers.class).getTimestampResolution())
+				.isEqualTo(100);
+	}
+
 	@Test
 	public void dropwizardInstalledIfPresent() {
 		this.context = new AnnotationConfigApplicationContext(
@@ -30,6 +30,7 @@ import org.apache.commons.dbcp2.BasicDataSource;
 import org.junit.After;
 import org.junit.Test;
 
+import org.springframework.boot.actuate.cache.InstrumentedCacheManager;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
@@ -37,15 +38,22 @@ import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
+import org.springframework.boot.actuate.endpoint.UndertowPublicMetrics;
+import org.springframework.boot.actuate.jdbc.DataSourceStatistics;
+import org.springframework.boot.actuate.jdbc.InstrumentedDataSource;
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.rich.RichGauge;
 import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvidersConfiguration;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizerBeanPostProcessor;
 import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
 import org.springframework.boot.web.servlet.server.MockServletWebServerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -134,6 +142,35 @@ public class PublicMetricsAutoConfigurationTests {
 		assertMetrics(metrics, "datasource.primary.active", "datasource.primary.usage");
 	}
 
+	@Test
+	public void dataSourceIsNotInstrumentedByDefault() {
+		load(DataSourceAutoConfiguration.class);
+		assertThat(this.context.getBean(DataSource.class))
+				.isNotInstanceOf(InstrumentedDataSource.class);
+	}
+
+	@Test
+	public void instrumentedDataSource() throws SQLException {
+		load(new String[] { "spring.metrics.datasource.instrument=true" },
+				DataSourceAutoConfiguration.class);
+		DataSource dataSource = this.context.getBean(DataSource.class);
+		assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+		DataSourceStatistics statistics = ((InstrumentedDataSource) dataSource)
+				.getStatistics();
+		long checkouts = statistics.getCheckoutCount();
+		dataSource.getConnection().close();
+		assertThat(statistics.getCheckoutCount()).isEqualTo(checkouts + 1);
+		PublicMetrics bean = this.context.getBean(DataSourcePublicMetrics.class);
+		Collection<Metric<?>> metrics = bean.metrics();
+		assertMetrics(metrics, "datasource.primary.active", "datasource.primary.usage",
+				"datasource.primary.checkouts", "datasource.primary.failures",
+				"datasource.primary.wait.le.1", "datasource.primary.wait.count",
+				"datasource.primary.wait.max", "datasource.primary.hold.le.1",
+				"datasource.primary.hold.count", "datasource.primary.hold.max");
+		assertHasMetric(metrics,
+				new Metric<>("datasource.primary.checkouts", checkouts + 1));
+	}
+
 	@Test
 	public void multipleDataSources() {
 		load(MultipleDataSourcesConfig.class);
@@ -194,6 +231,25 @@ public class PublicMetricsAutoConfigurationTests {
 		assertThat(this.context.getBeansOfType(TomcatPublicMetrics.class)).hasSize(1);
 	}
 
+	@Test
+	public void undertowMetrics() throws Exception {
+		loadUndertow("spring.metrics.server.instrument=true");
+		UndertowPublicMetrics bean = this.context.getBean(UndertowPublicMetrics.class);
+		assertMetrics(bean.metrics(), "httpserver.threads.max", "httpserver.requests",
+				"httpserver.errors");
+	}
+
+	@Test
+	public void undertowIsNotInstrumentedByDefault() throws Exception {
+		loadUndertow();
+		UndertowPublicMetrics bean = this.context.getBean(UndertowPublicMetrics.class);
+		Collection<Metric<?>> metrics = bean.metrics();
+		assertMetrics(metrics, "httpserver.threads.max");
+		for (Metric<?> metric : metrics) {
+			assertThat(metric.getName()).isNotEqualTo("httpserver.requests");
+		}
+	}
+
 	@Test
 	public void noCacheMetrics() {
 		load();
@@ -217,6 +273,26 @@ public class PublicMetricsAutoConfigurationTests {
 				"cache.first_speakers.size", "cache.users.size");
 	}
 
+	@Test
+	public void instrumentedCacheManager() {
+		load(InstrumentedCacheConfiguration.class);
+		Cache books = this.context.getBean(CacheManager.class).getCache("books");
+		books.get("a");
+		books.put("a", "b");
+		books.get("a");
+		books.get("a");
+		CachePublicMetrics bean = this.context.getBean(CachePublicMetrics.class);
+		Collection<Metric<?>> metrics = bean.metrics();
+		assertMetrics(metrics, "cache.books.size", "cache.books.get.latency",
+				"cache.books.put.latency");
+		assertHasMetric(metrics, new Metric<>("cache.books.size", 1L));
+		assertHasMetric(metrics, new Metric<>("cache.books.hits", 2L));
+		assertHasMetric(metrics, new Metric<>("cache.books.misses", 1L));
+		assertHasMetric(metrics, new Metric<>("cache.books.puts", 1L));
+		assertHasMetric(metrics, new Metric<>("cache.books.evicts", 0L));
+		assertHasMetric(metrics, new Metric<>("cache.books.clears", 0L));
+	}
+
 	private void assertHasMetric(Collection<Metric<?>> metrics, Metric<?> metric) {
 		for (Metric<?> m : metrics) {
 			if (m.getValue().equals(metric.getValue())
@@ -237,6 +313,16 @@ public class PublicMetricsAutoConfigurationTests {
 		}
 	}
 
+	private void loadUndertow(String... environment) {
+		AnnotationConfigServletWebServerApplicationContext context = new AnnotationConfigServletWebServerApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context, environment);
+		context.register(UndertowConfiguration.class,
+				WebServerFactoryCustomizerBeanPostProcessor.class,
+				PublicMetricsAutoConfiguration.class);
+		context.refresh();
+		this.context = context;
+	}
+
 	private void loadWeb(Class<?>... config) {
 		AnnotationConfigServletWebServerApplicationContext context = new AnnotationConfigServletWebServerApplicationContext();
 		if (config.length > 0) {
@@ -250,7 +336,12 @@ public class PublicMetricsAutoConfigurationTests {
 	}
 
 	private void load(Class<?>... config) {
+		load(new String[0], config);
+	}
+
+	private void load(String[] environment, Class<?>... config) {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context, environment);
 		if (config.length > 0) {
 			context.register(config);
 		}
@@ -354,6 +445,18 @@ public class PublicMetricsAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class UndertowConfiguration {
+
+		@Bean
+		public UndertowServletWebServerFactory webServerFactory() {
+			UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+			factory.setPort(SocketUtils.findAvailableTcpPort(40000));
+			return factory;
+		}
+
+	}
+
 	@Configuration
 	static class CacheConfiguration {
 
@@ -364,6 +467,16 @@ public class PublicMetricsAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class InstrumentedCacheConfiguration {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new InstrumentedCacheManager(new ConcurrentMapCacheManager("books"));
+		}
+
+	}
+
 	@Configuration
 	static class MultipleCacheConfiguration {
 
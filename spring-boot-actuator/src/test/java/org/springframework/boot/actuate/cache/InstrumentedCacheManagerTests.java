@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstrumentedCacheManager}.
+ *
+ * @author agent (agent@local)
+ */
+public class InstrumentedCacheManagerTests {
+
+	private final ConcurrentMapCacheManager delegate = new ConcurrentMapCacheManager(
+			"books", "speakers");
+
+	private final InstrumentedCacheManager cacheManager = new InstrumentedCacheManager(
+			this.delegate);
+
+	@Test
+	public void cacheNames() {
+		assertThat(this.cacheManager.getCacheNames()).containsOnly("books", "speakers");
+	}
+
+	@Test
+	public void cacheIsInstrumentedOnce() {
+		Cache books = this.cacheManager.getCache("books");
+		assertThat(books).isInstanceOf(InstrumentedCache.class);
+		assertThat(((InstrumentedCache) books).getDelegate())
+				.isSameAs(this.delegate.getCache("books"));
+		assertThat(this.cacheManager.getCache("books")).isSameAs(books);
+	}
+
+	@Test
+	public void unknownCache() {
+		this.delegate.setCacheNames(Collections.singleton("books"));
+		assertThat(this.cacheManager.getCache("unknown")).isNull();
+	}
+
+}
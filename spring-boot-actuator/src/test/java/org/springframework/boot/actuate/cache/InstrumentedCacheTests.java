@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstrumentedCache}.
+ *
+ * @author agent (agent@local)
+ */
+public class InstrumentedCacheTests {
+
+	private final ConcurrentMapCache delegate = new ConcurrentMapCache("test");
+
+	private final InstrumentedCache cache = new InstrumentedCache(this.delegate);
+
+	@Test
+	public void delegates() {
+		assertThat(this.cache.getName()).isEqualTo("test");
+		assertThat(this.cache.getNativeCache()).isSameAs(this.delegate.getNativeCache());
+		this.cache.put("a", "b");
+		assertThat(this.delegate.get("a").get()).isEqualTo("b");
+	}
+
+	@Test
+	public void countHitsAndMisses() {
+		this.cache.get("a");
+		this.cache.put("a", "b");
+		this.cache.get("a");
+		assertThat(this.cache.get("a", String.class)).isEqualTo("b");
+		assertThat(this.cache.get("b", String.class)).isNull();
+		assertThat(this.cache.getHitCount()).isEqualTo(2);
+		assertThat(this.cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void countValueLoaderInvocationAsMiss() {
+		Callable<String> loader = new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				return "b";
+			}
+
+		};
+		assertThat(this.cache.get("a", loader)).isEqualTo("b");
+		assertThat(this.cache.get("a", loader)).isEqualTo("b");
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void countPutsEvictsAndClears() {
+		this.cache.put("a", "b");
+		assertThat(this.cache.putIfAbsent("a", "c").get()).isEqualTo("b");
+		assertThat(this.cache.putIfAbsent("c", "d")).isNull();
+		this.cache.evict("a");
+		this.cache.clear();
+		assertThat(this.cache.getPutCount()).isEqualTo(2);
+		assertThat(this.cache.getEvictCount()).isEqualTo(1);
+		assertThat(this.cache.getClearCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void statisticsWithoutDelegateStatistics() {
+		this.cache.put("a", "b");
+		this.cache.get("a");
+		this.cache.get("a");
+		this.cache.get("b");
+		CacheStatistics statistics = this.cache.getStatistics(null);
+		assertThat(statistics.getSize()).isNull();
+		assertThat(statistics.getHitRatio()).isEqualTo(2 / 3.0);
+		assertThat(statistics.getMissRatio()).isEqualTo(1 - 2 / 3.0);
+		assertThat(statistics.toMetrics("cache.test.")).extracting("name").contains(
+				"cache.test.hits", "cache.test.misses", "cache.test.puts",
+				"cache.test.evicts", "cache.test.clears", "cache.test.get.latency",
+				"cache.test.put.latency");
+	}
+
+	@Test
+	public void statisticsCompleteDelegateStatistics() {
+		DefaultCacheStatistics delegateStatistics = new DefaultCacheStatistics();
+		delegateStatistics.setSize(3L);
+		delegateStatistics.setHitRatio(0.5);
+		delegateStatistics.setMissRatio(0.5);
+		CacheStatistics statistics = this.cache.getStatistics(delegateStatistics);
+		assertThat(statistics.getSize()).isEqualTo(3L);
+		assertThat(statistics.getHitRatio()).isEqualTo(0.5);
+		assertThat(statistics.toMetrics("cache.test.")).extracting("name")
+				.contains("cache.test.size", "cache.test.hits")
+				.doesNotContain("cache.test.get.latency");
+	}
+
+	@Test
+	public void metricValues() {
+		this.cache.get("a");
+		for (Metric<?> metric : this.cache.getStatistics(null).toMetrics("c.")) {
+			if (metric.getName().equals("c.misses")) {
+				assertThat(metric.getValue()).isEqualTo(1L);
+				return;
+			}
+		}
+		throw new AssertionError("No misses metric");
+	}
+
+}
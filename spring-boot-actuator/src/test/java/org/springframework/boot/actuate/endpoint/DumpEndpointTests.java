@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.endpoint;
 
 import java.lang.management.ThreadInfo;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -44,6 +45,55 @@ public class DumpEndpointTests extends AbstractEndpointTests<DumpEndpoint> {
 		assertThat(threadInfo.size()).isGreaterThan(0);
 	}
 
+	@Test
+	public void compact() throws Exception {
+		List<Map<String, Object>> threads = getEndpointBean().compact();
+		assertThat(threads).isNotEmpty();
+		Map<String, Object> current = null;
+		for (Map<String, Object> thread : threads) {
+			if (thread.get("id").equals(Thread.currentThread().getId())) {
+				current = thread;
+			}
+		}
+		assertThat(current).isNotNull();
+		assertThat(current.get("name")).isEqualTo(Thread.currentThread().getName());
+		assertThat(current.get("state")).isEqualTo(Thread.State.RUNNABLE);
+		assertThat((List<?>) current.get("stackTrace")).isNotEmpty();
+	}
+
+	@Test
+	public void writeCompact() throws Exception {
+		StringBuilder dump = new StringBuilder();
+		getEndpointBean().writeCompact(dump);
+		Thread thread = Thread.currentThread();
+		assertThat(dump.toString()).contains("\"" + thread.getName() + "\" #"
+				+ thread.getId() + " RUNNABLE\n\tat ");
+	}
+
+	@Test
+	public void profile() throws Exception {
+		Map<String, Long> samples = getEndpointBean().profile(50, 10);
+		for (Map.Entry<String, Long> sample : samples.entrySet()) {
+			assertThat(sample.getKey()).doesNotContain(" ").contains(".");
+			assertThat(sample.getValue()).isPositive();
+		}
+	}
+
+	@Test
+	public void profileIsBoundedByMaxProfileDuration() throws Exception {
+		getEndpointBean().setMaxProfileDuration(10);
+		long start = System.currentTimeMillis();
+		getEndpointBean().profile(60000, 5);
+		assertThat(System.currentTimeMillis() - start).isLessThan(10000);
+	}
+
+	@Test
+	public void profileIntervalIsBoundedByMinProfileInterval() throws Exception {
+		getEndpointBean().setMinProfileInterval(20);
+		assertThat(getEndpointBean().getProfileInterval(1)).isEqualTo(20);
+		assertThat(getEndpointBean().getProfileInterval(50)).isEqualTo(50);
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
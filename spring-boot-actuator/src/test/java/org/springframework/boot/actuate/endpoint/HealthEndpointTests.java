@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.junit.Test;
@@ -49,6 +50,50 @@ public class HealthEndpointTests extends AbstractEndpointTests<HealthEndpoint> {
 		assertThat(getEndpointBean().invoke().getStatus()).isEqualTo(Status.UNKNOWN);
 	}
 
+	@Test
+	public void invokeConcurrently() throws Exception {
+		HealthEndpoint endpoint = getEndpointBean();
+		endpoint.setConcurrency(2);
+		try {
+			assertThat(endpoint.invoke().getStatus()).isEqualTo(Status.UNKNOWN);
+		}
+		finally {
+			endpoint.destroy();
+		}
+	}
+
+	@Test
+	public void invokeWithBackgroundRefresh() throws Exception {
+		HealthIndicator indicator = new HealthIndicator() {
+
+			@Override
+			public Health health() {
+				return Health.up().build();
+			}
+
+		};
+		HealthEndpoint endpoint = new HealthEndpoint(new OrderedHealthAggregator(),
+				Collections.singletonMap("fooHealthIndicator", indicator));
+		endpoint.setRefreshInterval(10000);
+		endpoint.afterPropertiesSet();
+		try {
+			assertThat(endpoint.isRefreshedInBackground()).isTrue();
+			Health health = endpoint.invoke();
+			long timeout = System.currentTimeMillis() + 5000;
+			while (health.getStatus() != Status.UP
+					&& System.currentTimeMillis() < timeout) {
+				Thread.sleep(10);
+				health = endpoint.invoke();
+			}
+			assertThat(health.getStatus()).isEqualTo(Status.UP);
+			assertThat(((Health) health.getDetails().get("foo")).getDetails())
+					.containsKeys("checkAge", "checkDuration");
+		}
+		finally {
+			endpoint.destroy();
+		}
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.web.embedded.jetty.JettyWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link JettyPublicMetrics}.
+ *
+ * @author agent (agent@local)
+ */
+public class JettyPublicMetricsTests {
+
+	private JettyWebServer webServer;
+
+	@After
+	public void stop() {
+		if (this.webServer != null) {
+			this.webServer.stop();
+		}
+	}
+
+	@Test
+	public void threadPoolMetrics() throws Exception {
+		Server server = new Server(0);
+		Map<String, Number> metrics = getMetrics(createPublicMetrics(server));
+		assertThat(metrics).containsKeys("httpserver.threads.busy",
+				"httpserver.threads.max", "httpserver.threads", "httpserver.queue");
+		assertThat(metrics).doesNotContainKeys("httpserver.requests",
+				"httpserver.bytes.sent");
+	}
+
+	@Test
+	public void requestMetrics() throws Exception {
+		Server server = new Server(0);
+		StatisticsHandler statisticsHandler = new StatisticsHandler();
+		statisticsHandler.setHandler(new AbstractHandler() {
+
+			@Override
+			public void handle(String target, Request baseRequest,
+					HttpServletRequest request, HttpServletResponse response)
+					throws IOException {
+				response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+				baseRequest.setHandled(true);
+			}
+
+		});
+		server.setHandler(statisticsHandler);
+		server.getConnectors()[0].addBean(new ConnectionStatistics());
+		JettyPublicMetrics publicMetrics = createPublicMetrics(server);
+		int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+		HttpURLConnection connection = (HttpURLConnection) new URL(
+				"http://localhost:" + port + "/").openConnection();
+		assertThat(connection.getResponseCode()).isEqualTo(404);
+		connection.disconnect();
+		Map<String, Number> metrics = getMetrics(publicMetrics);
+		assertThat(metrics).containsKeys("httpserver.processing.time",
+				"httpserver.processing.max", "httpserver.bytes.received",
+				"httpserver.bytes.sent");
+		assertThat(metrics.get("httpserver.requests").intValue()).isEqualTo(1);
+		assertThat(metrics.get("httpserver.errors").intValue()).isEqualTo(1);
+	}
+
+	@Test
+	public void otherWebServer() {
+		ServletWebServerApplicationContext applicationContext = mock(
+				ServletWebServerApplicationContext.class);
+		JettyPublicMetrics publicMetrics = new JettyPublicMetrics();
+		publicMetrics.setApplicationContext(applicationContext);
+		assertThat(publicMetrics.metrics()).isEmpty();
+	}
+
+	private JettyPublicMetrics createPublicMetrics(Server server) {
+		this.webServer = new JettyWebServer(server);
+		this.webServer.start();
+		ServletWebServerApplicationContext applicationContext = mock(
+				ServletWebServerApplicationContext.class);
+		given(applicationContext.getWebServer()).willReturn(this.webServer);
+		JettyPublicMetrics publicMetrics = new JettyPublicMetrics();
+		publicMetrics.setApplicationContext(applicationContext);
+		return publicMetrics;
+	}
+
+	private Map<String, Number> getMetrics(JettyPublicMetrics publicMetrics) {
+		Map<String, Number> metrics = new HashMap<>();
+		for (Metric<?> metric : publicMetrics.metrics()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+}
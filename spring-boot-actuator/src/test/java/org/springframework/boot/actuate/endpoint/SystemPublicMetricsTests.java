@@ -59,6 +59,64 @@ public class SystemPublicMetricsTests {
 		assertThat(results).containsKey("classes.loaded");
 		assertThat(results).containsKey("classes.unloaded");
 		assertThat(results).containsKey("classes");
+		assertThat(results).containsKey("codecache.committed");
+		assertThat(results).containsKey("codecache.used");
+		assertThat(results).containsKey("codecache");
+		assertThat(results).containsKey("buffers.direct.count");
+		assertThat(results).containsKey("buffers.direct.used");
+		assertThat(results).containsKey("buffers.direct.capacity");
+		assertThat(results).containsKey("mem.allocated");
+		assertThat(results).containsKey("mem.allocation.rate");
+		publicMetrics.destroy();
+	}
+
+	@Test
+	public void garbageCollectionPauseMetrics() throws Exception {
+		SystemPublicMetrics publicMetrics = new SystemPublicMetrics();
+		try {
+			System.gc();
+			Map<String, Metric<?>> results = new HashMap<>();
+			for (Metric<?> metric : publicMetrics.metrics()) {
+				results.put(metric.getName(), metric);
+			}
+			for (String name : results.keySet()) {
+				if (name.startsWith("gc.") && name.endsWith(".time")) {
+					String prefix = name.substring(0, name.length() - ".time".length());
+					assertThat(results).containsKeys(prefix + ".pause.le.1",
+							prefix + ".pause.le.1000", prefix + ".pause.count",
+							prefix + ".pause.max");
+				}
+			}
+		}
+		finally {
+			publicMetrics.destroy();
+		}
+	}
+
+	@Test
+	public void allocatedMemoryIncreases() throws Exception {
+		SystemPublicMetrics publicMetrics = new SystemPublicMetrics();
+		try {
+			long allocated = getAllocated(publicMetrics);
+			byte[][] garbage = new byte[64][];
+			for (int i = 0; i < garbage.length; i++) {
+				garbage[i] = new byte[64 * 1024];
+			}
+			Thread.sleep(1100);
+			assertThat(getAllocated(publicMetrics)).isGreaterThan(allocated);
+		}
+		finally {
+			publicMetrics.destroy();
+		}
+	}
+
+	private long getAllocated(SystemPublicMetrics publicMetrics) {
+		for (Metric<?> metric : publicMetrics.metrics()) {
+			if (metric.getName().equals("mem.allocated")) {
+				return metric.getValue().longValue();
+			}
+		}
+		throw new IllegalStateException("No mem.allocated metric");
 	}
 
 }
@@ -16,7 +16,11 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -47,13 +51,54 @@ public class TomcatPublicMetricsTests {
 			Iterator<Metric<?>> metrics = tomcatMetrics.metrics().iterator();
 			assertThat(metrics.next().getName()).isEqualTo("httpsessions.max");
 			assertThat(metrics.next().getName()).isEqualTo("httpsessions.active");
-			assertThat(metrics.hasNext()).isFalse();
+			assertThat(metrics.hasNext()).isTrue();
 		}
 		finally {
 			context.close();
 		}
 	}
 
+	@Test
+	public void connectorMetrics() throws Exception {
+		AnnotationConfigServletWebServerApplicationContext context = new AnnotationConfigServletWebServerApplicationContext(
+				Config.class);
+		try {
+			HttpURLConnection connection = (HttpURLConnection) new URL(
+					"http://localhost:" + context.getWebServer().getPort() + "/")
+							.openConnection();
+			assertThat(connection.getResponseCode()).isEqualTo(404);
+			connection.disconnect();
+			TomcatPublicMetrics tomcatMetrics = context
+					.getBean(TomcatPublicMetrics.class);
+			Map<String, Number> metrics = getMetrics(tomcatMetrics);
+			// The counters are updated once the response has been sent
+			for (int i = 0; i < 50
+					&& metrics.get("httpserver.requests").longValue() == 0; i++) {
+				Thread.sleep(20);
+				metrics = getMetrics(tomcatMetrics);
+			}
+			assertThat(metrics).containsKeys("httpserver.threads.busy",
+					"httpserver.threads.max", "httpserver.threads", "httpserver.queue",
+					"httpserver.bytes.sent", "httpserver.bytes.received",
+					"httpserver.processing.time", "httpserver.processing.max");
+			assertThat(metrics.get("httpserver.threads.max").intValue())
+					.isGreaterThan(0);
+			assertThat(metrics.get("httpserver.requests").longValue()).isEqualTo(1);
+			assertThat(metrics.get("httpserver.errors").longValue()).isEqualTo(1);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	private Map<String, Number> getMetrics(TomcatPublicMetrics tomcatMetrics) {
+		Map<String, Number> metrics = new HashMap<>();
+		for (Metric<?> metric : tomcatMetrics.metrics()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
 	@Configuration
 	static class Config {
 
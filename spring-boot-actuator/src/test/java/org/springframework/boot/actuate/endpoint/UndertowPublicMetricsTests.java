@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.undertow.Undertow.Builder;
+import io.undertow.UndertowOptions;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.web.embedded.undertow.UndertowBuilderCustomizer;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.SocketUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UndertowPublicMetrics}.
+ *
+ * @author agent (agent@local)
+ */
+public class UndertowPublicMetricsTests {
+
+	private AnnotationConfigServletWebServerApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void workerMetrics() throws Exception {
+		this.context = new AnnotationConfigServletWebServerApplicationContext(
+				Config.class);
+		Map<String, Number> metrics = getMetrics();
+		assertThat(metrics.get("httpserver.threads.max").intValue()).isGreaterThan(0);
+		assertThat(metrics).doesNotContainKey("httpserver.requests");
+	}
+
+	@Test
+	public void requestMetrics() throws Exception {
+		this.context = new AnnotationConfigServletWebServerApplicationContext(
+				StatisticsConfig.class);
+		HttpURLConnection connection = (HttpURLConnection) new URL(
+				"http://localhost:" + this.context.getWebServer().getPort() + "/")
+						.openConnection();
+		assertThat(connection.getResponseCode()).isEqualTo(404);
+		connection.disconnect();
+		Map<String, Number> metrics = getMetrics();
+		// The counters are updated once the response has been sent
+		for (int i = 0; i < 50
+				&& metrics.get("httpserver.requests").longValue() == 0; i++) {
+			Thread.sleep(20);
+			metrics = getMetrics();
+		}
+		assertThat(metrics).containsKeys("httpserver.threads.max", "httpserver.errors",
+				"httpserver.bytes.sent", "httpserver.bytes.received",
+				"httpserver.processing.time", "httpserver.processing.max");
+		assertThat(metrics.get("httpserver.requests").longValue()).isEqualTo(1);
+	}
+
+	private Map<String, Number> getMetrics() {
+		Map<String, Number> metrics = new HashMap<>();
+		for (Metric<?> metric : this.context.getBean(UndertowPublicMetrics.class)
+				.metrics()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public UndertowServletWebServerFactory webServerFactory() {
+			UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+			factory.setPort(SocketUtils.findAvailableTcpPort(40000));
+			return factory;
+		}
+
+		@Bean
+		public UndertowPublicMetrics metrics() {
+			return new UndertowPublicMetrics();
+		}
+
+	}
+
+	@Configuration
+	static class StatisticsConfig extends Config {
+
+		@Override
+		@Bean
+		public UndertowServletWebServerFactory webServerFactory() {
+			UndertowServletWebServerFactory factory = super.webServerFactory();
+			factory.addBuilderCustomizers(new UndertowBuilderCustomizer() {
+
+				@Override
+				public void customize(Builder builder) {
+					builder.setServerOption(UndertowOptions.ENABLE_STATISTICS, true);
+				}
+
+			});
+			return factory;
+		}
+
+	}
+
+}
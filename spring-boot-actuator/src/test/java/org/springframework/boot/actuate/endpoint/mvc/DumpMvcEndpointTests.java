@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.AuditAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.EndpointWebMvcAutoConfiguration;
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for {@link DumpMvcEndpoint}.
+ *
+ * @author agent (agent@local)
+ */
+@RunWith(SpringRunner.class)
+@DirtiesContext
+@SpringBootTest
+@TestPropertySource(properties = "management.security.enabled=false")
+public class DumpMvcEndpointTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mvc;
+
+	private volatile boolean spinning = true;
+
+	@Before
+	public void setUp() {
+		this.context.getBean(DumpEndpoint.class).setEnabled(true);
+		this.mvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+	}
+
+	@After
+	public void stopSpinning() {
+		this.spinning = false;
+	}
+
+	@Test
+	public void compact() throws Exception {
+		this.mvc.perform(get("/application/dump/compact")).andExpect(status().isOk())
+				.andExpect(content().string(containsString("\"name\":\"main\"")))
+				.andExpect(content().string(containsString("\"stackTrace\":[")));
+	}
+
+	@Test
+	public void text() throws Exception {
+		this.mvc.perform(get("/application/dump/text")).andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/plain"))
+				.andExpect(content().string(containsString("\"main\" #")))
+				.andExpect(content().string(containsString("\tat ")));
+	}
+
+	@Test
+	public void profile() throws Exception {
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				spin();
+			}
+
+		});
+		thread.start();
+		MvcResult result = this.mvc
+				.perform(get("/application/dump/profile?duration=200&interval=5"))
+				.andExpect(request().asyncStarted()).andReturn();
+		result.getAsyncResult(5000);
+		this.mvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/plain"))
+				.andExpect(content()
+						.string(containsString("DumpMvcEndpointTests.spin ")));
+		this.spinning = false;
+		thread.join();
+	}
+
+	@Test
+	public void onlyOneProfileAtATime() throws Exception {
+		MvcResult result = this.mvc
+				.perform(get("/application/dump/profile?duration=500"))
+				.andExpect(request().asyncStarted()).andReturn();
+		this.mvc.perform(get("/application/dump/profile?duration=500"))
+				.andExpect(status().isTooManyRequests());
+		result.getAsyncResult(5000);
+	}
+
+	@Test
+	public void profileWithInvalidDuration() throws Exception {
+		this.mvc.perform(get("/application/dump/profile?duration=0"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void compactWhenDisabled() throws Exception {
+		this.context.getBean(DumpEndpoint.class).setEnabled(false);
+		this.mvc.perform(get("/application/dump/compact"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void profileWhenDisabled() throws Exception {
+		this.context.getBean(DumpEndpoint.class).setEnabled(false);
+		this.mvc.perform(get("/application/dump/profile"))
+				.andExpect(status().isNotFound());
+	}
+
+	private long spin() {
+		long count = 0;
+		while (this.spinning) {
+			count++;
+		}
+		return count;
+	}
+
+	@Import({ JacksonAutoConfiguration.class, AuditAutoConfiguration.class,
+			HttpMessageConvertersAutoConfiguration.class,
+			EndpointWebMvcAutoConfiguration.class, WebMvcAutoConfiguration.class })
+	@Configuration
+	public static class TestConfiguration {
+
+		@Bean
+		public DumpEndpoint endpoint() {
+			return new DumpEndpoint();
+		}
+
+	}
+
+}
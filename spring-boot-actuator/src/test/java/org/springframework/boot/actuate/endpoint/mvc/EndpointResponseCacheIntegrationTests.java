@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.EndpointWebMvcAutoConfiguration;
+import org.springframework.boot.actuate.endpoint.BeansEndpoint;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link EndpointResponseCache}.
+ *
+ * @author agent (agent@local)
+ */
+@RunWith(SpringRunner.class)
+@DirtiesContext
+@SpringBootTest
+@TestPropertySource(properties = { "management.security.enabled=false",
+		"endpoints.cache.enabled=true" })
+public class EndpointResponseCacheIntegrationTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mvc;
+
+	@Before
+	public void setUp() {
+		this.mvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+	}
+
+	@Test
+	public void cachedResponse() throws Exception {
+		this.mvc.perform(get("/application/beans")).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, notNullValue()))
+				.andExpect(content().contentTypeCompatibleWith(
+						ActuatorMediaTypes.APPLICATION_ACTUATOR_V2_JSON))
+				.andExpect(content().string(containsString("\"beans\"")));
+	}
+
+	@Test
+	public void conditionalRequestWithMatchingETag() throws Exception {
+		String eTag = this.mvc.perform(get("/application/beans")).andReturn()
+				.getResponse().getHeader(HttpHeaders.ETAG);
+		this.mvc.perform(get("/application/beans").header(HttpHeaders.IF_NONE_MATCH,
+				eTag)).andExpect(status().isNotModified());
+	}
+
+	@Test
+	public void conditionalRequestWithOtherETag() throws Exception {
+		this.mvc.perform(get("/application/beans").header(HttpHeaders.IF_NONE_MATCH,
+				"W/\"other\"")).andExpect(status().isOk());
+	}
+
+	@Import({ JacksonAutoConfiguration.class,
+			HttpMessageConvertersAutoConfiguration.class,
+			EndpointWebMvcAutoConfiguration.class, WebMvcAutoConfiguration.class })
+	@Configuration
+	public static class TestConfiguration {
+
+		@Bean
+		public BeansEndpoint endpoint() {
+			return new BeansEndpoint();
+		}
+
+	}
+
+}
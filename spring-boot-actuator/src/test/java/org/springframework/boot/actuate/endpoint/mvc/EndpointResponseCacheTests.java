@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link EndpointResponseCache}.
+ *
+ * @author agent (agent@local)
+ */
+public class EndpointResponseCacheTests {
+
+	private final EndpointResponseCache cache = new EndpointResponseCache(
+			new ObjectMapper());
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+	@Test
+	public void responseIsSerializedOnce() throws Exception {
+		TestEndpoint endpoint = new TestEndpoint("alpha");
+		ResponseEntity<byte[]> first = this.cache.getResponse(endpoint, this.request);
+		ResponseEntity<byte[]> second = this.cache.getResponse(endpoint, this.request);
+		assertThat(endpoint.invocations).isEqualTo(1);
+		assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(new String(second.getBody(), "UTF-8"))
+				.isEqualTo("{\"value\":\"alpha\"}");
+		assertThat(second.getHeaders().getETag()).isNotNull()
+				.isEqualTo(first.getHeaders().getETag());
+	}
+
+	@Test
+	public void concurrentMissesInvokeEndpointOnce() throws Exception {
+		TestEndpoint endpoint = new TestEndpoint("alpha");
+		endpoint.delay = 100;
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				responses.add(executor.submit(() -> this.cache.getResponse(endpoint,
+						new MockHttpServletRequest())));
+			}
+			for (Future<ResponseEntity<byte[]>> response : responses) {
+				assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(endpoint.invocations).isEqualTo(1);
+	}
+
+	@Test
+	public void allEndpointsAreCachedByDefault() {
+		assertThat(this.cache.isCached("beans")).isTrue();
+		this.cache.setIds(Collections.singleton("env"));
+		assertThat(this.cache.isCached("beans")).isFalse();
+		assertThat(this.cache.isCached("env")).isTrue();
+	}
+
+	@Test
+	public void eTagChangesWithContent() throws Exception {
+		TestEndpoint endpoint = new TestEndpoint("alpha");
+		String eTag = this.cache.getResponse(endpoint, this.request).getHeaders()
+				.getETag();
+		endpoint.value = "bravo";
+		this.cache.clear();
+		assertThat(this.cache.getResponse(endpoint, this.request).getHeaders()
+				.getETag()).isNotEqualTo(eTag);
+	}
+
+	@Test
+	public void cacheIsClearedWhenContextIsRefreshed() throws Exception {
+		TestEndpoint endpoint = new TestEndpoint("alpha");
+		this.cache.getResponse(endpoint, this.request);
+		this.cache.onApplicationEvent(
+				new ContextRefreshedEvent(new StaticApplicationContext()));
+		this.cache.getResponse(endpoint, this.request);
+		assertThat(endpoint.invocations).isEqualTo(2);
+	}
+
+	@Test
+	public void expiredResponseIsReplaced() throws Exception {
+		this.cache.setTimeToLive(1);
+		TestEndpoint endpoint = new TestEndpoint("alpha");
+		this.cache.getResponse(endpoint, this.request);
+		Thread.sleep(10);
+		this.cache.getResponse(endpoint, this.request);
+		assertThat(endpoint.invocations).isEqualTo(2);
+	}
+
+	@Test
+	public void largeResponseIsCompressedWhenAccepted() throws Exception {
+		String value = StringUtils.collectionToDelimitedString(
+				Collections.nCopies(200, "alpha"), ",");
+		TestEndpoint endpoint = new TestEndpoint(value);
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+		ResponseEntity<byte[]> response = this.cache.getResponse(endpoint,
+				this.request);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isEqualTo("gzip");
+		assertThat(response.getHeaders().getFirst(HttpHeaders.VARY))
+				.isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+		byte[] body = StreamUtils.copyToByteArray(
+				new GZIPInputStream(new ByteArrayInputStream(response.getBody())));
+		assertThat(new String(body, "UTF-8")).contains(value);
+	}
+
+	@Test
+	public void largeResponseIsNotCompressedWhenNotAccepted() throws Exception {
+		String value = StringUtils.collectionToDelimitedString(
+				Collections.nCopies(200, "alpha"), ",");
+		ResponseEntity<byte[]> response = this.cache
+				.getResponse(new TestEndpoint(value), this.request);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isNull();
+		assertThat(new String(response.getBody(), "UTF-8")).contains(value);
+	}
+
+	@Test
+	public void smallResponseIsNotCompressed() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		ResponseEntity<byte[]> response = this.cache
+				.getResponse(new TestEndpoint("alpha"), this.request);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isNull();
+	}
+
+	@Test
+	public void compressionCanBeDisabled() throws Exception {
+		this.cache.setCompress(false);
+		String value = StringUtils.collectionToDelimitedString(
+				Collections.nCopies(200, "alpha"), ",");
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		ResponseEntity<byte[]> response = this.cache
+				.getResponse(new TestEndpoint(value), this.request);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isNull();
+	}
+
+	private static class TestEndpoint extends AbstractEndpoint<Map<String, String>> {
+
+		private String value;
+
+		private int invocations;
+
+		private long delay;
+
+		TestEndpoint(String value) {
+			super("test");
+			this.value = value;
+		}
+
+		@Override
+		public Map<String, String> invoke() {
+			this.invocations++;
+			if (this.delay > 0) {
+				try {
+					Thread.sleep(this.delay);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return Collections.singletonMap("value", this.value);
+		}
+
+	}
+
+}
@@ -120,7 +120,7 @@ public class HalBrowserMvcEndpointVanillaIntegrationTests {
 	@Test
 	public void endpointsEachHaveSelf() throws Exception {
 		Set<String> collections = new HashSet<>(Arrays.asList("/trace", "/beans", "/dump",
-				"/heapdump", "/loggers", "/auditevents"));
+				"/heapdump", "/loggers", "/auditevents", "/prometheus"));
 		for (MvcEndpoint endpoint : this.mvcEndpoints.getEndpoints()) {
 			String path = endpoint.getPath();
 			if (collections.contains(path)) {
@@ -256,6 +256,21 @@ public class HealthMvcEndpointTests {
 		assertThat(health.getStatus() == Status.DOWN).isTrue();
 	}
 
+	@Test
+	public void noCachingWhenRefreshedInBackground() {
+		given(this.endpoint.getTimeToLive()).willReturn(10000L);
+		given(this.endpoint.isRefreshedInBackground()).willReturn(true);
+		given(this.endpoint.invoke())
+				.willReturn(new Health.Builder().up().withDetail("foo", "bar").build());
+		Object result = this.mvc.invoke(this.request, null);
+		assertThat(((Health) result).getStatus() == Status.UP).isTrue();
+		given(this.endpoint.invoke()).willReturn(new Health.Builder().down().build());
+		result = this.mvc.invoke(this.request, null);
+		@SuppressWarnings("unchecked")
+		Health health = ((ResponseEntity<Health>) result).getBody();
+		assertThat(health.getStatus() == Status.DOWN).isTrue();
+	}
+
 	@Test
 	public void newValueIsReturnedOnceTtlExpires() throws InterruptedException {
 		given(this.endpoint.getTimeToLive()).willReturn(50L);
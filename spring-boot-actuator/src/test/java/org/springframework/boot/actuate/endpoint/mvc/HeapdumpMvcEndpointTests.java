@@ -18,13 +18,16 @@ package org.springframework.boot.actuate.endpoint.mvc;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
 import org.fusesource.hawtbuf.ByteArrayInputStream;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,8 +49,10 @@ import org.springframework.util.FileCopyUtils;
 import org.springframework.web.context.WebApplicationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -60,6 +65,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestPropertySource(properties = "management.security.enabled=false")
 public class HeapdumpMvcEndpointTests {
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	@Autowired
 	private WebApplicationContext context;
 
@@ -109,6 +117,49 @@ public class HeapdumpMvcEndpointTests {
 		assertThat(uncompressed).isEqualTo("HEAPDUMP".getBytes());
 	}
 
+	@Test
+	public void invokeWithDirectoryShouldStoreGzipContent() throws Exception {
+		File directory = this.temp.newFolder();
+		this.endpoint.setDirectory(directory);
+		MvcResult result = this.mvc.perform(get("/application/heapdump"))
+				.andExpect(status().isCreated()).andReturn();
+		String name = result.getResponse().getContentAsString();
+		assertThat(result.getResponse().getHeader("Location"))
+				.endsWith("/application/heapdump/" + name);
+		assertThat(directory.list()).containsExactly(name);
+		byte[] bytes = this.mvc.perform(get("/application/heapdump/" + name))
+				.andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsByteArray();
+		GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(bytes));
+		assertThat(FileCopyUtils.copyToByteArray(stream))
+				.isEqualTo("HEAPDUMP".getBytes());
+		this.mvc.perform(get("/application/heapdump/" + name).header("Range",
+				"bytes=0-1")).andExpect(status().isPartialContent())
+				.andExpect(header().string("Content-Length", "2"));
+	}
+
+	@Test
+	public void invokeWithDirectoryWhenCompressionFailsShouldNotStoreAnything()
+			throws Exception {
+		File directory = this.temp.newFolder();
+		this.endpoint.setDirectory(directory);
+		this.endpoint.setHeapDump(null);
+		try {
+			this.mvc.perform(get("/application/heapdump"));
+			fail("Did not throw");
+		}
+		catch (Exception ex) {
+			assertThat(ex).hasRootCauseInstanceOf(NoSuchFileException.class);
+		}
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void downloadWithoutDirectoryShouldReturnNotFoundStatus() throws Exception {
+		this.mvc.perform(get("/application/heapdump/heapdump.hprof.gz"))
+				.andExpect(status().isNotFound());
+	}
+
 	@Test
 	public void invokeOptionsShouldReturnSize() throws Exception {
 		this.mvc.perform(options("/application/heapdump")).andExpect(status().isOk());
@@ -144,6 +195,7 @@ public class HeapdumpMvcEndpointTests {
 			this.available = true;
 			this.locked = false;
 			this.heapDump = "HEAPDUMP";
+			setDirectory(null);
 		}
 
 		@Override
@@ -162,8 +214,10 @@ public class HeapdumpMvcEndpointTests {
 					if (file.exists()) {
 						throw new IOException("File exists");
 					}
-					FileCopyUtils.copy(TestHeapdumpMvcEndpoint.this.heapDump.getBytes(),
-							file);
+					if (TestHeapdumpMvcEndpoint.this.heapDump != null) {
+						FileCopyUtils.copy(
+								TestHeapdumpMvcEndpoint.this.heapDump.getBytes(), file);
+					}
 				}
 
 			};
@@ -177,6 +231,10 @@ public class HeapdumpMvcEndpointTests {
 			this.locked = locked;
 		}
 
+		public void setHeapDump(String heapDump) {
+			this.heapDump = heapDump;
+		}
+
 	}
 
 }
@@ -17,8 +17,10 @@
 package org.springframework.boot.actuate.endpoint.mvc;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -26,12 +28,18 @@ import org.junit.rules.TemporaryFolder;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.env.MockEnvironment;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 /**
  * Tests for {@link LogFileMvcEndpoint}.
@@ -59,6 +67,11 @@ public class LogFileMvcEndpointTests {
 		this.mvc.setEnvironment(this.environment);
 	}
 
+	@After
+	public void after() {
+		this.mvc.destroy();
+	}
+
 	@Test
 	public void notAvailableWithoutLogFile() throws Exception {
 		MockHttpServletResponse response = new MockHttpServletResponse();
@@ -121,4 +134,61 @@ public class LogFileMvcEndpointTests {
 		assertThat("--TEST--").isEqualTo(response.getContentAsString());
 	}
 
+	@Test
+	public void invokeGetsTail() throws Exception {
+		FileCopyUtils.copy("one\ntwo\nthree\n".getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("tail", "2");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getContentAsString()).isEqualTo("two\nthree\n");
+	}
+
+	@Test
+	public void invokeWithInvalidTail() throws Exception {
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("tail", "-1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+	}
+
+	@Test
+	public void invokeGetsRange() throws Exception {
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.addHeader("Range", "bytes=-4");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus())
+				.isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+		assertThat(response.getContentAsString()).isEqualTo("ST--");
+	}
+
+	@Test
+	public void invokeFollowsAppendedContentAsynchronously() throws Exception {
+		FileCopyUtils.copy("one\ntwo\n".getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		this.mvc.setFollowTimeout(1000);
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(this.mvc).build();
+		MvcResult result = mockMvc
+				.perform(get("/logfile").param("tail", "1").param("follow", "true"))
+				.andExpect(request().asyncStarted()).andReturn();
+		Thread.sleep(200);
+		try (FileOutputStream stream = new FileOutputStream(this.logFile, true)) {
+			stream.write("three\n".getBytes());
+		}
+		result.getAsyncResult(5000);
+		assertThat(result.getResponse().getContentType())
+				.startsWith(MediaType.TEXT_PLAIN_VALUE);
+		assertThat(result.getResponse().getContentAsString())
+				.isEqualTo("two\nthree\n");
+	}
+
 }
@@ -16,6 +16,10 @@
 
 package org.springframework.boot.actuate.endpoint.mvc;
 
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
@@ -23,6 +27,10 @@ import org.springframework.boot.actuate.endpoint.Endpoint;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,6 +45,11 @@ public class MvcEndpointsTests {
 
 	private StaticApplicationContext context = new StaticApplicationContext();
 
+	@After
+	public void resetRequestAttributes() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
 	@Test
 	public void picksUpEndpointDelegates() throws Exception {
 		this.context.getDefaultListableBeanFactory().registerSingleton("endpoint",
@@ -90,6 +103,32 @@ public class MvcEndpointsTests {
 		assertThat(this.endpoints.getEndpoints(TestMvcEndpoint.class)).hasSize(1);
 	}
 
+	@Test
+	public void appliesResponseCacheToCachedEndpoints() throws Exception {
+		assertThat(invokeWithResponseCache("test")).isInstanceOf(ResponseEntity.class);
+	}
+
+	@Test
+	public void doesNotApplyResponseCacheToOtherEndpoints() throws Exception {
+		assertThat(invokeWithResponseCache("other")).isEqualTo("foo");
+	}
+
+	private Object invokeWithResponseCache(String cachedId) throws Exception {
+		EndpointResponseCache responseCache = new EndpointResponseCache(
+				new ObjectMapper());
+		responseCache.setIds(Collections.singleton(cachedId));
+		this.context.getDefaultListableBeanFactory().registerSingleton("endpoint",
+				new TestEndpoint());
+		this.endpoints.setResponseCache(responseCache);
+		this.endpoints.setApplicationContext(this.context);
+		this.endpoints.afterPropertiesSet();
+		RequestContextHolder.setRequestAttributes(
+				new ServletRequestAttributes(new MockHttpServletRequest()));
+		EndpointMvcAdapter adapter = (EndpointMvcAdapter) this.endpoints.getEndpoints()
+				.iterator().next();
+		return adapter.invoke();
+	}
+
 	@ConfigurationProperties("endpoints.test")
 	protected static class TestEndpoint extends AbstractEndpoint<String> {
 
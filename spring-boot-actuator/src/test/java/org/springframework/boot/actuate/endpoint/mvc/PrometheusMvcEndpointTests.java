@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PrometheusMvcEndpoint}.
+ *
+ * @author agent (agent@local)
+ */
+public class PrometheusMvcEndpointTests {
+
+	private final InMemoryMetricRepository repository = new InMemoryMetricRepository();
+
+	private PrometheusMvcEndpoint mvc;
+
+	@Before
+	public void setUp() {
+		PublicMetrics system = new PublicMetrics() {
+
+			@Override
+			public Collection<Metric<?>> metrics() {
+				return Arrays.<Metric<?>>asList(new Metric<>("mem", 1024L),
+						new Metric<>("systemload.average", Double.NaN));
+			}
+
+		};
+		MetricsEndpoint delegate = new MetricsEndpoint(Arrays.asList(system,
+				new MetricReaderPublicMetrics(this.repository)));
+		this.mvc = new PrometheusMvcEndpoint(delegate);
+	}
+
+	@Test
+	public void writesTextFormat() throws Exception {
+		this.repository.increment(new Delta<>("counter.status.200.root", 3L));
+		this.repository.set(new Metric<>("gauge.response.root", 12.5));
+		MockHttpServletResponse response = invoke(new MockHttpServletRequest(
+				HttpMethod.GET.name(), "/prometheus"));
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getContentType())
+				.isEqualTo(PrometheusMvcEndpoint.CONTENT_TYPE);
+		assertThat(response.getContentAsString()).isEqualTo("# TYPE mem gauge\n"
+				+ "mem 1024\n" + "# TYPE systemload_average gauge\n"
+				+ "systemload_average NaN\n" + "# TYPE counter_status_200_root counter\n"
+				+ "counter_status_200_root 3\n" + "# TYPE gauge_response_root gauge\n"
+				+ "gauge_response_root 12.5\n");
+	}
+
+	@Test
+	public void writesTagsAsLabels() throws Exception {
+		Date now = new Date();
+		this.repository.increment(new Delta<>("counter.status", 1L, now,
+				Tags.of("status", "200", "uri", "/\"quoted\"")));
+		this.repository.increment(new Delta<>("counter.status", 2L, now,
+				Tags.of("status", "500", "uri", "/")));
+		String content = invoke(new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/prometheus")).getContentAsString();
+		assertThat(content).contains("# TYPE counter_status counter\n"
+				+ "counter_status{status=\"200\",uri=\"/\\\"quoted\\\"\"} 1\n"
+				+ "counter_status{status=\"500\",uri=\"/\"} 2\n");
+	}
+
+	@Test
+	public void gzipIfAccepted() throws Exception {
+		this.repository.set(new Metric<>("gauge.foo", 1L));
+		MockHttpServletRequest request = new MockHttpServletRequest(
+				HttpMethod.GET.name(), "/prometheus");
+		request.addHeader("Accept-Encoding", "gzip, deflate");
+		MockHttpServletResponse response = invoke(request);
+		assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+		String content = StreamUtils.copyToString(new GZIPInputStream(
+				new ByteArrayInputStream(response.getContentAsByteArray())), UTF_8);
+		assertThat(content).endsWith("gauge_foo 1\n");
+	}
+
+	@Test
+	public void notFoundIfDisabled() throws Exception {
+		this.mvc.setEnabled(false);
+		MockHttpServletResponse response = invoke(new MockHttpServletRequest(
+				HttpMethod.GET.name(), "/prometheus"));
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+	}
+
+	@Test
+	public void sanitizeNames() throws Exception {
+		MetricsEndpoint delegate = new MetricsEndpoint(new PublicMetrics() {
+
+			@Override
+			public Collection<Metric<?>> metrics() {
+				return Collections.<Metric<?>>singletonList(
+						new Metric<>("2xx.rate-per:second", 1L));
+			}
+
+		});
+		this.mvc = new PrometheusMvcEndpoint(delegate);
+		String content = invoke(new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/prometheus")).getContentAsString();
+		assertThat(content).contains("\n_2xx_rate_per:second 1\n");
+	}
+
+	@Test
+	public void samplesOfFamilyAreWrittenTogether() throws Exception {
+		Date now = new Date();
+		this.repository.increment(
+				new Delta<>("counter.status", 1L, now, Tags.of("status", "200")));
+		this.repository.set(new Metric<>("counter.status.count", 5L));
+		this.repository.increment(
+				new Delta<>("counter.status", 2L, now, Tags.of("status", "500")));
+		this.mvc = new PrometheusMvcEndpoint(new MetricsEndpoint(Arrays.asList(
+				new MetricReaderPublicMetrics(this.repository), new PublicMetrics() {
+
+					@Override
+					public Collection<Metric<?>> metrics() {
+						return Collections.<Metric<?>>singletonList(new Metric<>(
+								"counter.status", 3L, now, Tags.of("status", "404")));
+					}
+
+				})));
+		String content = invoke(new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/prometheus")).getContentAsString();
+		assertThat(content).isEqualTo("# TYPE counter_status counter\n"
+				+ "counter_status{status=\"200\"} 1\n"
+				+ "counter_status{status=\"500\"} 2\n"
+				+ "counter_status{status=\"404\"} 3\n"
+				+ "# TYPE counter_status_count counter\n" + "counter_status_count 5\n");
+	}
+
+	@Test
+	public void collidingSanitizedNamesAreWrittenOnce() throws Exception {
+		MetricsEndpoint delegate = new MetricsEndpoint(new PublicMetrics() {
+
+			@Override
+			public Collection<Metric<?>> metrics() {
+				return Arrays.<Metric<?>>asList(new Metric<>("gauge.a.b", 1L),
+						new Metric<>("gauge.a_b", 2L));
+			}
+
+		});
+		this.mvc = new PrometheusMvcEndpoint(delegate);
+		String content = invoke(new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/prometheus")).getContentAsString();
+		assertThat(content).isEqualTo("# TYPE gauge_a_b gauge\n" + "gauge_a_b 1\n");
+	}
+
+	private MockHttpServletResponse invoke(MockHttpServletRequest request)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.mvc.invoke(request, response);
+		return response;
+	}
+
+}
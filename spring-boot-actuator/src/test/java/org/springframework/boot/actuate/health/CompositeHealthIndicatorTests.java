@@ -17,16 +17,29 @@
 package org.springframework.boot.actuate.health;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -39,6 +52,8 @@ public class CompositeHealthIndicatorTests {
 
 	private HealthAggregator healthAggregator;
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
 	@Mock
 	private HealthIndicator one;
 
@@ -61,6 +76,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() throws Exception {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -126,4 +146,134 @@ public class CompositeHealthIndicatorTests {
 						+ "\"db2\":{\"status\":\"UNKNOWN\",\"2\":\"2\"}}}");
 	}
 
+	@Test
+	public void concurrentInvocationKeepsIndicatorOrder() throws Exception {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		indicators.put("three", this.three);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		composite.setExecutor(this.executor);
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(result.getDetails().keySet()).containsExactly("one", "two",
+				"three");
+		assertThat(result.getDetails()).containsEntry("two",
+				new Health.Builder().unknown().withDetail("2", "2").build());
+	}
+
+	@Test
+	public void concurrentInvocationWithTimeout() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		given(this.two.health()).willAnswer(new Answer<Health>() {
+
+			@Override
+			public Health answer(InvocationOnMock invocation) throws Throwable {
+				latch.await(10, TimeUnit.SECONDS);
+				return Health.up().build();
+			}
+
+		});
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		composite.setExecutor(this.executor);
+		composite.setTimeout(100);
+		try {
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			Health two = (Health) result.getDetails().get("two");
+			assertThat(two.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(two.getDetails()).containsEntry("error",
+					"Timed out after 100ms");
+			assertThat(result.getDetails()).containsEntry("one",
+					new Health.Builder().unknown().withDetail("1", "1").build());
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void concurrentInvocationWithFailure() throws Exception {
+		given(this.two.health()).willThrow(new IllegalStateException("Failure"));
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		composite.setExecutor(this.executor);
+		Health two = (Health) composite.health().getDetails().get("two");
+		assertThat(two.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(two.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failure");
+	}
+
+	@Test
+	public void concurrentInvocationWithSaturatedExecutor() throws Exception {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		composite.setExecutor(new Executor() {
+
+			private boolean saturated;
+
+			@Override
+			public void execute(Runnable command) {
+				if (this.saturated) {
+					throw new RejectedExecutionException("Saturated");
+				}
+				this.saturated = true;
+				command.run();
+			}
+
+		});
+		Health result = composite.health();
+		assertThat(result.getDetails()).containsEntry("one",
+				new Health.Builder().unknown().withDetail("1", "1").build());
+		Health two = (Health) result.getDetails().get("two");
+		assertThat(two.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(two.getDetails()).containsEntry("error",
+				"Rejected by the health indicator executor");
+		verify(this.two, never()).health();
+	}
+
+	@Test
+	public void concurrentInvocationWithHangingIndicator() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		given(this.two.health()).willAnswer(new Answer<Health>() {
+
+			@Override
+			public Health answer(InvocationOnMock invocation) throws Throwable {
+				latch.await(10, TimeUnit.SECONDS);
+				return Health.up().build();
+			}
+
+		});
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		composite.setExecutor(this.executor);
+		composite.setTimeout(50);
+		try {
+			for (int i = 0; i < 5; i++) {
+				Health result = composite.health();
+				assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+				assertThat(result.getDetails()).containsEntry("one",
+						new Health.Builder().unknown().withDetail("1", "1").build());
+			}
+			verify(this.two, times(1)).health();
+			verify(this.one, times(5)).health();
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
 }
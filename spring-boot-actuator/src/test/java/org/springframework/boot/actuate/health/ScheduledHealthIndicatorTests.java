@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link ScheduledHealthIndicator}.
+ *
+ * @author agent (agent@local)
+ */
+public class ScheduledHealthIndicatorTests {
+
+	private final HealthIndicator delegate = mock(HealthIndicator.class);
+
+	private final ScheduledHealthIndicator indicator = new ScheduledHealthIndicator(
+			this.delegate);
+
+	@Test
+	public void unknownBeforeFirstRefresh() {
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+		verifyZeroInteractions(this.delegate);
+	}
+
+	@Test
+	public void latestResultIsReturned() {
+		given(this.delegate.health())
+				.willReturn(Health.up().withDetail("foo", "bar").build());
+		this.indicator.refresh();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("foo", "bar")
+				.containsKeys("checkAge", "checkDuration");
+		this.indicator.health();
+		verify(this.delegate).health();
+	}
+
+	@Test
+	public void failureIsReportedAsDown() {
+		given(this.delegate.health()).willThrow(new IllegalStateException("Failure"));
+		this.indicator.refresh();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failure");
+	}
+
+	@Test
+	public void staleResultOfBlockedDelegateIsReportedAsDown() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		given(this.delegate.health()).willReturn(Health.up().build())
+				.willAnswer(new Answer<Health>() {
+
+					@Override
+					public Health answer(InvocationOnMock invocation) throws Throwable {
+						latch.await(10, TimeUnit.SECONDS);
+						return Health.up().build();
+					}
+
+				});
+		this.indicator.setMaxAge(100);
+		this.indicator.refresh();
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.UP);
+		Thread refresh = new Thread(this.indicator);
+		refresh.start();
+		try {
+			Thread.sleep(200);
+			Health health = this.indicator.health();
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getDetails()).containsEntry("error",
+					"No result for more than 100ms");
+		}
+		finally {
+			latch.countDown();
+			refresh.join();
+		}
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.UP);
+	}
+
+}
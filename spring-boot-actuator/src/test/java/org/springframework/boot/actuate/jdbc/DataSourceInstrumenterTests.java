@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DataSourceInstrumenter}.
+ *
+ * @author agent (agent@local)
+ */
+public class DataSourceInstrumenterTests {
+
+	private final DataSourceInstrumenter instrumenter = new DataSourceInstrumenter(
+			getClass().getClassLoader());
+
+	private final HikariDataSource hikariDataSource = new HikariDataSource();
+
+	@After
+	public void close() {
+		this.hikariDataSource.close();
+	}
+
+	@Test
+	public void instrumentHikari() {
+		configure(this.hikariDataSource);
+		assertThat(this.instrumenter.isSupported(this.hikariDataSource)).isTrue();
+		DataSource dataSource = this.instrumenter.instrument(this.hikariDataSource);
+		assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+		assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+		assertThat(((HikariDataSource) dataSource).getJdbcUrl())
+				.isEqualTo("jdbc:hsqldb:mem:test");
+	}
+
+	@Test
+	public void unsupportedDataSource() {
+		assertThat(this.instrumenter.isSupported(new SimpleDriverDataSource())).isFalse();
+	}
+
+	@Test
+	public void instrumentedDataSourceIsNotSupported() {
+		configure(this.hikariDataSource);
+		DataSource dataSource = this.instrumenter.instrument(this.hikariDataSource);
+		assertThat(this.instrumenter.isSupported(dataSource)).isFalse();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void instrumentUnsupportedDataSource() {
+		this.instrumenter.instrument(new SimpleDriverDataSource());
+	}
+
+	@Test
+	public void recordCheckoutsAndReleases() throws Exception {
+		configure(this.hikariDataSource);
+		DataSource dataSource = this.instrumenter.instrument(this.hikariDataSource);
+		DataSourceStatistics statistics = ((InstrumentedDataSource) dataSource)
+				.getStatistics();
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+		assertThat(statistics.getCheckoutCount()).isEqualTo(2);
+		assertThat(statistics.getReleaseCount()).isEqualTo(0);
+		first.close();
+		first.close();
+		assertThat(first.isClosed()).isTrue();
+		assertThat(statistics.getReleaseCount()).isEqualTo(1);
+		second.close();
+		assertThat(statistics.getReleaseCount()).isEqualTo(2);
+		assertThat(statistics.getFailureCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void recordFailure() throws Exception {
+		configure(this.hikariDataSource);
+		this.hikariDataSource.setJdbcUrl("jdbc:hsqldb:hsql://localhost:1/none");
+		this.hikariDataSource.setConnectionTimeout(250);
+		DataSource dataSource = this.instrumenter.instrument(this.hikariDataSource);
+		DataSourceStatistics statistics = ((InstrumentedDataSource) dataSource)
+				.getStatistics();
+		try {
+			dataSource.getConnection();
+		}
+		catch (Exception ex) {
+			// Expected
+		}
+		assertThat(statistics.getCheckoutCount()).isEqualTo(0);
+		assertThat(statistics.getFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void metrics() throws Exception {
+		configure(this.hikariDataSource);
+		DataSource dataSource = this.instrumenter.instrument(this.hikariDataSource);
+		dataSource.getConnection().close();
+		Collection<Metric<?>> metrics = new LinkedHashSet<>();
+		((InstrumentedDataSource) dataSource).getStatistics().addMetrics("ds.",
+				metrics);
+		Map<String, Number> values = new HashMap<>();
+		for (Metric<?> metric : metrics) {
+			values.put(metric.getName(), metric.getValue());
+		}
+		assertThat(values).containsEntry("ds.checkouts", 1L);
+		assertThat(values).containsEntry("ds.failures", 0L);
+		assertThat(values).containsEntry("ds.wait.count", 1L);
+		assertThat(values).containsEntry("ds.wait.le.5000", 1L);
+		assertThat(values).containsEntry("ds.hold.count", 1L);
+		assertThat(values).containsEntry("ds.hold.le.60000", 1L);
+		assertThat(values).containsKeys("ds.wait.le.1", "ds.wait.max", "ds.hold.le.1",
+				"ds.hold.max");
+	}
+
+	private void configure(HikariDataSource dataSource) {
+		dataSource.setDriverClassName("org.hsqldb.jdbc.JDBCDriver");
+		dataSource.setJdbcUrl("jdbc:hsqldb:mem:test");
+		dataSource.setUsername("sa");
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Histogram}.
+ *
+ * @author agent (agent@local)
+ */
+public class HistogramTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void emptyHistogram() {
+		Histogram histogram = new Histogram(1, 10);
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getMin()).isEqualTo(0.0);
+		assertThat(histogram.getMax()).isEqualTo(0.0);
+		assertThat(histogram.getValueAtPercentile(0.99)).isEqualTo(0.0);
+	}
+
+	@Test
+	public void valuesAreCountedInBucketOfUpperBound() {
+		Histogram histogram = new Histogram(1, 10);
+		histogram.record(0.5);
+		histogram.record(1);
+		histogram.record(1.5);
+		histogram.record(10);
+		histogram.record(20);
+		Map<String, Number> metrics = getMetrics(histogram);
+		assertThat(metrics).containsEntry("foo.le.1", 2L);
+		assertThat(metrics).containsEntry("foo.le.10", 4L);
+		assertThat(metrics).containsEntry("foo.count", 5L);
+		assertThat(metrics).containsEntry("foo.max", 20.0);
+		assertThat(histogram.getMin()).isEqualTo(0.5);
+		assertThat(histogram.getMean()).isEqualTo(6.6);
+	}
+
+	@Test
+	public void negativeValuesAreRecordedAsZero() {
+		Histogram histogram = new Histogram(1);
+		histogram.record(-5);
+		assertThat(histogram.getMin()).isEqualTo(0.0);
+		assertThat(getMetrics(histogram)).containsEntry("foo.le.1", 1L);
+	}
+
+	@Test
+	public void valueAtPercentileIsCappedByMax() {
+		Histogram histogram = new Histogram(1, 10, 100);
+		histogram.record(1);
+		histogram.record(7);
+		assertThat(histogram.getValueAtPercentile(0.5)).isEqualTo(1.0);
+		assertThat(histogram.getValueAtPercentile(1)).isEqualTo(7.0);
+		histogram.record(500);
+		assertThat(histogram.getValueAtPercentile(1)).isEqualTo(500.0);
+	}
+
+	@Test
+	public void merge() {
+		Histogram first = new Histogram(1, 10);
+		Histogram second = new Histogram(1, 10);
+		first.record(5);
+		second.record(0.5);
+		second.record(20);
+		first.merge(second);
+		assertThat(first.getCount()).isEqualTo(3);
+		assertThat(first.getMin()).isEqualTo(0.5);
+		assertThat(first.getMax()).isEqualTo(20.0);
+		assertThat(getMetrics(first)).containsEntry("foo.le.1", 1L)
+				.containsEntry("foo.le.10", 2L);
+	}
+
+	@Test
+	public void mergeWithDifferentBounds() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new Histogram(1, 10).merge(new Histogram(1, 100));
+	}
+
+	@Test
+	public void boundsMustIncrease() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new Histogram(10, 1);
+	}
+
+	private Map<String, Number> getMetrics(Histogram histogram) {
+		List<Metric<?>> result = new ArrayList<>();
+		histogram.addMetrics("foo", result);
+		Map<String, Number> metrics = new LinkedHashMap<>();
+		for (Metric<?> metric : result) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+}
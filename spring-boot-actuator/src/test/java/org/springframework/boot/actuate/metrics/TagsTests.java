@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Tags}.
+ *
+ * @author agent (agent@local)
+ */
+public class TagsTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void tagsAreEqualRegardlessOfOrder() {
+		Tags tags = Tags.of("status", "200", "method", "GET");
+		assertThat(Tags.of("method", "GET", "status", "200")).isEqualTo(tags);
+		assertThat(Tags.empty().and("method", "GET").and("status", "200"))
+				.isEqualTo(tags);
+		assertThat(Tags.of("method", "GET", "status", "200").hashCode())
+				.isEqualTo(tags.hashCode());
+	}
+
+	@Test
+	public void emptyTagsAreShared() {
+		assertThat(Tags.of()).isSameAs(Tags.empty());
+		assertThat(Tags.of(Collections.<String, String>emptyMap()))
+				.isSameAs(Tags.empty());
+	}
+
+	@Test
+	public void tagsAreSortedByKey() {
+		Tags tags = Tags.of("status", "200", "method", "GET");
+		assertThat(tags.asMap().keySet()).containsExactly("method", "status");
+		assertThat(tags.get("status")).isEqualTo("200");
+		assertThat(tags.get("uri")).isNull();
+	}
+
+	@Test
+	public void andReplacesExistingTag() {
+		Tags tags = Tags.of("status", "200").and("status", "404");
+		assertThat(tags.size()).isEqualTo(1);
+		assertThat(tags.get("status")).isEqualTo("404");
+	}
+
+	@Test
+	public void flatten() {
+		assertThat(Tags.of("status", "200", "method", "GET").flatten("counter.status"))
+				.isEqualTo("counter.status.method.GET.status.200");
+		assertThat(Tags.empty().flatten("counter.foo")).isEqualTo("counter.foo");
+	}
+
+	@Test
+	public void flattenedNamesDoNotCollide() {
+		assertThat(Tags.of("method", "GET").flatten("counter.foo"))
+				.isNotEqualTo(Tags.of("verb", "GET").flatten("counter.foo"));
+		assertThat(Tags.of("x", "bar").flatten("counter.foo"))
+				.isNotEqualTo("counter.foo.bar");
+	}
+
+	@Test
+	public void oddNumberOfArguments() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("key value pairs");
+		Tags.of("status");
+	}
+
+	@Test
+	public void metricsWithDifferentTagsAreNotEqual() {
+		Metric<Long> ok = new Metric<>("foo", 1L, null, Tags.of("status", "200"));
+		Metric<Long> error = new Metric<>("foo", 1L, null, Tags.of("status", "500"));
+		assertThat(ok).isNotEqualTo(error);
+		assertThat(ok).isEqualTo(new Metric<>("foo", 1L, null, Tags.of("status", "200")));
+		assertThat(ok.increment(1).getTags()).isSameAs(ok.getTags());
+	}
+
+}
@@ -16,8 +16,14 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -55,4 +61,45 @@ public class BufferMetricReaderTests {
 		assertThat(this.reader.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void taggedMetricsAreBufferedUnderFlattenedName() {
+		BufferCounterService counterService = new BufferCounterService(this.counters);
+		BufferGaugeService gaugeService = new BufferGaugeService(this.gauges);
+		counterService.increment("foo", Tags.of("status", "200"));
+		counterService.increment("foo", Tags.of("status", "200"));
+		counterService.increment("foo", Tags.of("status", "500"));
+		gaugeService.submit("bar", Tags.of("method", "GET"), 1.5);
+		assertThat(this.reader.findOne("counter.foo.status.200").getValue())
+				.isEqualTo(2L);
+		assertThat(this.reader.findOne("counter.foo.status.500").getValue())
+				.isEqualTo(1L);
+		assertThat(this.reader.findOne("gauge.bar.method.GET").getValue())
+				.isEqualTo(1.5);
+		assertThat(this.reader.count()).isEqualTo(3);
+	}
+
+	@Test
+	public void taggedMetricsAreReadWithTheirTags() {
+		Tags ok = Tags.of("status", "200");
+		new BufferCounterService(this.counters).increment("foo", ok);
+		this.counters.increment("counter.bar", 1);
+		Map<String, Metric<?>> metrics = new HashMap<>();
+		for (Metric<?> metric : this.reader.findAll()) {
+			metrics.put(metric.getName(), metric);
+		}
+		assertThat(metrics).containsOnlyKeys("counter.foo", "counter.bar");
+		assertThat(metrics.get("counter.foo").getTags()).isEqualTo(ok);
+		assertThat(metrics.get("counter.bar").getTags().isEmpty()).isTrue();
+		assertThat(this.reader.findOne("counter.foo.status.200").getTags())
+				.isEqualTo(ok);
+	}
+
+	@Test
+	public void taggedMetricDoesNotCollideWithUntaggedMetric() {
+		this.counters.increment("counter.foo.bar", 1);
+		this.counters.increment("counter.foo", Tags.of("x", "bar"), 2);
+		assertThat(this.reader.count()).isEqualTo(2);
+		assertThat(this.reader.findOne("counter.foo.bar").getValue()).isEqualTo(1L);
+	}
+
 }
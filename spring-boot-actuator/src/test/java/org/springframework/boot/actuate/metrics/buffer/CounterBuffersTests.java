@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,17 @@ public class CounterBuffersTests {
 		assertThat(this.value).isEqualTo(0);
 	}
 
+	@Test
+	public void coarseTimestampsKeepTotals() {
+		CounterBuffers buffers = new CounterBuffers(60000);
+		buffers.increment("foo", 2);
+		long timestamp = buffers.find("foo").getTimestamp();
+		buffers.increment("foo", 3);
+		assertThat(buffers.find("foo").getValue()).isEqualTo(5);
+		assertThat(buffers.find("foo").getTimestamp()).isEqualTo(timestamp);
+		assertThat(timestamp).isGreaterThan(0);
+	}
+
 	@Test
 	public void findNonExistent() {
 		assertThat(this.buffers.find("foo")).isNull();
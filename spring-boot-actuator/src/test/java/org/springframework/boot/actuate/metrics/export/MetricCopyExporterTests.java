@@ -21,6 +21,7 @@ import java.util.Date;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.actuate.metrics.writer.GaugeWriter;
@@ -59,6 +60,21 @@ public class MetricCopyExporterTests {
 		assertThat(this.writer.findOne("counter.foo").getValue()).isEqualTo(5L);
 	}
 
+	@Test
+	public void taggedCounters() {
+		Tags ok = Tags.of("status", "200");
+		Tags error = Tags.of("status", "500");
+		this.reader.increment(new Delta<Number>("counter.foo", 2, new Date(), ok));
+		this.reader.increment(new Delta<Number>("counter.foo", 1, new Date(), error));
+		this.exporter.export();
+		this.reader.increment(new Delta<Number>("counter.foo", 3, new Date(), ok));
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(2);
+		assertThat(this.writer.findOne("counter.foo.status.200").getValue()).isEqualTo(5L);
+		assertThat(this.writer.findOne("counter.foo.status.200").getTags()).isSameAs(ok);
+		assertThat(this.writer.findOne("counter.foo.status.500").getValue()).isEqualTo(1L);
+	}
+
 	@Test
 	public void counterWithGaugeWriter() throws Exception {
 		SimpleGaugeWriter writer = new SimpleGaugeWriter();
@@ -120,15 +136,83 @@ public class MetricCopyExporterTests {
 		assertThat(this.writer.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void unchangedMetricIsNotExportedAgain() {
+		Date timestamp = new Date();
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		this.writer.reset("foo");
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(0);
+	}
+
+	@Test
+	public void changedValueWithSameTimestampIsExported() {
+		Date timestamp = new Date();
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		this.reader.set(new Metric<Number>("foo", 2.4, timestamp));
+		this.exporter.export();
+		assertThat(this.writer.findOne("foo").getValue()).isEqualTo(2.4);
+	}
+
+	@Test
+	public void unchangedMetricIsExportedWhenNotSendingLatest() {
+		Date timestamp = new Date();
+		this.exporter.setSendLatest(false);
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		this.writer.reset("foo");
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void metricIsExportedAgainAfterFailedWrite() {
+		Date timestamp = new Date();
+		SimpleGaugeWriter writer = new SimpleGaugeWriter();
+		writer.setFailing(true);
+		MetricCopyExporter exporter = new MetricCopyExporter(this.reader, writer);
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		exporter.export();
+		assertThat(writer.getValue()).isNull();
+		writer.setFailing(false);
+		exporter.export();
+		assertThat(writer.getValue().getValue()).isEqualTo(2.3);
+	}
+
+	@Test
+	public void resetMetricIsExportedAgain() {
+		Date timestamp = new Date();
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		this.reader.reset("foo");
+		this.exporter.export();
+		this.writer.reset("foo");
+		this.reader.set(new Metric<Number>("foo", 2.3, timestamp));
+		this.exporter.export();
+		assertThat(this.writer.findOne("foo").getValue()).isEqualTo(2.3);
+	}
+
 	private static class SimpleGaugeWriter implements GaugeWriter {
 
 		private Metric<?> value;
 
+		private boolean failing;
+
 		@Override
 		public void set(Metric<?> value) {
+			if (this.failing) {
+				throw new IllegalStateException("Failed");
+			}
 			this.value = value;
 		}
 
+		public void setFailing(boolean failing) {
+			this.failing = failing;
+		}
+
 		public Metric<?> getValue() {
 			return this.value;
 		}
@@ -17,18 +17,31 @@
 package org.springframework.boot.actuate.metrics.export;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.junit.After;
 import org.junit.Test;
 
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.writer.GaugeWriter;
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link MetricExporters}.
@@ -47,6 +60,13 @@ public class MetricExportersTests {
 
 	private MetricWriter writer = mock(MetricWriter.class);
 
+	@After
+	public void close() throws Exception {
+		if (this.exporters != null) {
+			this.exporters.close();
+		}
+	}
+
 	@Test
 	public void emptyWriters() {
 		this.exporters = new MetricExporters(this.export);
@@ -80,4 +100,74 @@ public class MetricExportersTests {
 		assertThat(this.exporters.getExporters()).hasSize(1);
 	}
 
+	@Test
+	public void exportersRunOnDedicatedPool() {
+		this.export.setUpDefaults();
+		this.export.setPoolSize(2);
+		this.export.setDelayMillis(10);
+		Exporter exporter = mock(Exporter.class);
+		GaugeService gaugeService = mock(GaugeService.class);
+		ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+		this.exporters = new MetricExporters(this.export);
+		this.exporters.setGaugeService(gaugeService);
+		this.exporters.setExporters(
+				Collections.<String, Exporter>singletonMap("foo", exporter));
+		this.exporters.configureTasks(registrar);
+		assertThat(registrar.hasTasks()).isFalse();
+		verify(exporter, timeout(5000).atLeastOnce()).export();
+		verify(gaugeService, timeout(5000).atLeastOnce()).submit(eq("timer.export.foo"),
+				anyDouble());
+	}
+
+	@Test
+	public void failedExportIsCounted() {
+		this.export.setUpDefaults();
+		this.export.setPoolSize(2);
+		this.export.setDelayMillis(10);
+		Exporter exporter = mock(Exporter.class);
+		willThrow(new IllegalStateException("Expected")).given(exporter).export();
+		CounterService counterService = mock(CounterService.class);
+		this.exporters = new MetricExporters(this.export);
+		this.exporters.setCounterService(counterService);
+		this.exporters.setExporters(
+				Collections.<String, Exporter>singletonMap("foo", exporter));
+		this.exporters.configureTasks(new ScheduledTaskRegistrar());
+		verify(counterService, timeout(5000).atLeastOnce())
+				.increment("export.foo.failures");
+	}
+
+	@Test
+	public void failedWriteOfMetricCopyExporterIsCounted() {
+		this.export.setUpDefaults();
+		this.export.setPoolSize(2);
+		this.export.setDelayMillis(10);
+		given(this.reader.findAll()).willReturn(Collections
+				.<Metric<?>>singletonList(new Metric<>("gauge.foo", 1.0, new Date())));
+		willThrow(new IllegalStateException("Expected")).given(this.writer)
+				.set(any(Metric.class));
+		MetricCopyExporter exporter = new MetricCopyExporter(this.reader, this.writer);
+		exporter.setIgnoreTimestamps(true);
+		CounterService counterService = mock(CounterService.class);
+		this.exporters = new MetricExporters(this.export);
+		this.exporters.setCounterService(counterService);
+		this.exporters.setExporters(
+				Collections.<String, Exporter>singletonMap("foo", exporter));
+		this.exporters.configureTasks(new ScheduledTaskRegistrar());
+		verify(counterService, timeout(5000).atLeast(2))
+				.increment("export.foo.failures");
+	}
+
+	@Test
+	public void exportersUseSharedSchedulerByDefault() {
+		this.export.setUpDefaults();
+		Exporter exporter = mock(Exporter.class);
+		ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+		this.exporters = new MetricExporters(this.export);
+		this.exporters.setExporters(
+				Collections.<String, Exporter>singletonMap("foo", exporter));
+		this.exporters.configureTasks(registrar);
+		assertThat(registrar.getFixedDelayTaskList()).hasSize(1);
+		verifyZeroInteractions(exporter);
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.metrics.export;
 
+import java.io.Flushable;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -91,4 +92,27 @@ public class PrefixMetricGroupExporterTests {
 		assertThat(Iterables.collection(this.writer.groups())).hasSize(1);
 	}
 
+	@Test
+	public void flushableWriterFlushedAfterExport() {
+		FlushableRepository writer = new FlushableRepository();
+		PrefixMetricGroupExporter exporter = new PrefixMetricGroupExporter(this.reader,
+				writer);
+		this.reader.set("foo", Collections
+				.<Metric<?>>singletonList(new Metric<Number>("foo.bar", 2.3)));
+		exporter.export();
+		assertThat(writer.flushed).isEqualTo(1);
+	}
+
+	private static class FlushableRepository extends InMemoryMultiMetricRepository
+			implements Flushable {
+
+		private int flushed;
+
+		@Override
+		public void flush() {
+			this.flushed++;
+		}
+
+	}
+
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jmx;
+
+import java.util.Date;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.jmx.export.MBeanExporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JmxMetricWriter}.
+ *
+ * @author agent (agent@local)
+ */
+public class JmxMetricWriterTests {
+
+	private MBeanServer server;
+
+	private JmxMetricWriter writer;
+
+	@Before
+	public void init() {
+		this.server = MBeanServerFactory.newMBeanServer();
+		MBeanExporter exporter = new MBeanExporter();
+		exporter.setServer(this.server);
+		this.writer = new JmxMetricWriter(exporter);
+	}
+
+	@After
+	public void close() {
+		MBeanServerFactory.releaseMBeanServer(this.server);
+	}
+
+	@Test
+	public void increment() throws Exception {
+		this.writer.increment(new Delta<>("counter.foo", 1L));
+		this.writer.increment(new Delta<>("counter.foo", 2L));
+		assertThat(getValue("type=counter,value=foo")).isEqualTo(3.0);
+	}
+
+	@Test
+	public void taggedMetricsWithSameNameAreRegisteredSeparately() throws Exception {
+		this.writer.increment(
+				new Delta<>("counter.foo", 1L, new Date(), Tags.of("status", "200")));
+		this.writer.increment(
+				new Delta<>("counter.foo", 2L, new Date(), Tags.of("status", "500")));
+		this.writer.set(
+				new Metric<>("gauge.bar", 1.5, new Date(), Tags.of("method", "GET")));
+		this.writer.set(
+				new Metric<>("gauge.bar", 2.5, new Date(), Tags.of("method", "POST")));
+		assertThat(getValue("type=counter,name=foo,value=status.200")).isEqualTo(1.0);
+		assertThat(getValue("type=counter,name=foo,value=status.500")).isEqualTo(2.0);
+		assertThat(getValue("type=gauge,name=bar,value=method.GET")).isEqualTo(1.5);
+		assertThat(getValue("type=gauge,name=bar,value=method.POST")).isEqualTo(2.5);
+	}
+
+	@Test
+	public void resetTaggedMetric() throws Exception {
+		this.writer.increment(
+				new Delta<>("counter.foo", 1L, new Date(), Tags.of("status", "200")));
+		this.writer.reset("counter.foo.status.200");
+		assertThat(this.server.isRegistered(
+				new ObjectName("org.springframework.metrics:type=counter,name=foo,"
+						+ "value=status.200"))).isFalse();
+	}
+
+	private Object getValue(String properties) throws Exception {
+		return this.server.getAttribute(
+				new ObjectName("org.springframework.metrics:" + properties), "Value");
+	}
+
+}
@@ -17,21 +17,36 @@
 package org.springframework.boot.actuate.metrics.opentsdb;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestOperations;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link OpenTsdbGaugeWriter}.
@@ -50,6 +65,11 @@ public class OpenTsdbGaugeWriterTests {
 		this.writer.setRestTemplate(this.restTemplate);
 	}
 
+	@After
+	public void close() {
+		this.writer.close();
+	}
+
 	@Test
 	public void postSuccessfullyOnFlush() {
 		this.writer.set(new Metric<>("foo", 2.4));
@@ -68,6 +88,118 @@ public class OpenTsdbGaugeWriterTests {
 		verify(this.restTemplate).postForEntity(anyString(), any(Object.class), anyMap());
 	}
 
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void sendTagsOfTaggedMetrics() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.set(new Metric<>("foo", 2.4, new Date(), Tags.of("status", "200")));
+		this.writer.flush();
+		ArgumentCaptor<HttpEntity> entity = ArgumentCaptor.forClass(HttpEntity.class);
+		verify(this.restTemplate).postForEntity(anyString(), entity.capture(), anyMap());
+		OpenTsdbData data = ((List<OpenTsdbData>) entity.getValue().getBody()).get(0);
+		assertThat(data.getMetric()).isEqualTo("foo");
+		assertThat(data.getTags()).containsEntry("status", "200")
+				.containsKey(DefaultOpenTsdbNamingStrategy.DOMAIN_KEY);
+	}
+
+	@Test
+	public void postAsynchronously() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setAsync(true);
+		this.writer.set(new Metric<>("foo", 2.4));
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		assertThat(this.writer.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void retryAsynchronouslyAfterFailure() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willThrow(new ResourceAccessException("down"))
+				.willReturn(emptyResponse());
+		this.writer.setAsync(true);
+		this.writer.setRetryBackoff(1);
+		this.writer.set(new Metric<>("foo", 2.4));
+		verify(this.restTemplate, timeout(5000).times(2)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		assertThat(this.writer.getFailedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void clientErrorsAreNotRetried() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+		this.writer.setAsync(true);
+		this.writer.setRetryBackoff(1);
+		this.writer.set(new Metric<>("foo", 2.4));
+		this.writer.close();
+		verify(this.restTemplate, times(1)).postForEntity(anyString(), any(Object.class),
+				anyMap());
+		assertThat(this.writer.getFailedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropWhenQueueIsFull() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willAnswer(new Answer<Object>() {
+
+					@Override
+					public Object answer(InvocationOnMock invocation) throws Throwable {
+						latch.await();
+						return emptyResponse();
+					}
+
+				});
+		this.writer.setAsync(true);
+		this.writer.setQueueCapacity(1);
+		try {
+			this.writer.set(new Metric<>("foo", 2.4));
+			this.writer.set(new Metric<>("foo", 2.5));
+			this.writer.set(new Metric<>("foo", 2.6));
+			assertThat(this.writer.getDroppedCount()).isGreaterThan(0);
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void dropAfterClose() {
+		this.writer.close();
+		this.writer.set(new Metric<>("foo", 2.4));
+		this.writer.flush();
+		verifyZeroInteractions(this.restTemplate);
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropAsynchronouslyAfterClose() {
+		this.writer.setAsync(true);
+		this.writer.close();
+		this.writer.set(new Metric<>("foo", 2.4));
+		assertThat(this.writer.getQueueSize()).isEqualTo(0);
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+		verifyZeroInteractions(this.restTemplate);
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void postCompressed() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setCompressed(true);
+		this.writer.set(new Metric<>("foo", 2.4));
+		this.writer.flush();
+		ArgumentCaptor<HttpEntity> entity = ArgumentCaptor.forClass(HttpEntity.class);
+		verify(this.restTemplate).postForEntity(anyString(), entity.capture(), anyMap());
+		assertThat(entity.getValue().getBody()).isInstanceOf(byte[].class);
+		assertThat(entity.getValue().getHeaders().getFirst("Content-Encoding"))
+				.isEqualTo("gzip");
+	}
+
 	@SuppressWarnings("rawtypes")
 	private ResponseEntity<Map> emptyResponse() {
 		return new ResponseEntity<>(Collections.emptyMap(), HttpStatus.OK);
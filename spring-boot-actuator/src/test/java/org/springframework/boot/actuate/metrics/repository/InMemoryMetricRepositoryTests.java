@@ -21,6 +21,7 @@ import java.util.Date;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,4 +50,18 @@ public class InMemoryMetricRepositoryTests {
 				offset(0.01));
 	}
 
+	@Test
+	public void incrementTagged() {
+		Tags ok = Tags.of("status", "200");
+		this.repository.increment(new Delta<>("foo", 1, new Date(), ok));
+		this.repository.increment(new Delta<>("foo", 2, new Date(), ok));
+		this.repository.increment(
+				new Delta<>("foo", 1, new Date(), Tags.of("status", "500")));
+		Metric<?> metric = this.repository.findOne("foo.status.200");
+		assertThat(metric.getName()).isEqualTo("foo");
+		assertThat(metric.getTags()).isSameAs(ok);
+		assertThat(metric.getValue().longValue()).isEqualTo(3);
+		assertThat(this.repository.count()).isEqualTo(2);
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.repository;
 
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -24,6 +26,7 @@ import java.util.Set;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -98,4 +101,32 @@ public class InMemoryMultiMetricRepositoryTests {
 		assertThat(metrics.get("foo.bar").getValue()).isEqualTo(3L);
 	}
 
+	@Test
+	public void taggedMetricsWithSameNameAreKeptSeparately() {
+		Tags ok = Tags.of("status", "200");
+		Tags error = Tags.of("status", "500");
+		this.repository.increment("foo", new Delta<Number>("bar", 1L, new Date(), ok));
+		this.repository.increment("foo", new Delta<Number>("bar", 2L, new Date(), ok));
+		this.repository.increment("foo", new Delta<Number>("bar", 5L, new Date(), error));
+		Map<Tags, Metric<?>> metrics = new HashMap<>();
+		for (Metric<?> metric : this.repository.findAll("foo")) {
+			assertThat(metric.getName()).isEqualTo("foo.bar");
+			metrics.put(metric.getTags(), metric);
+		}
+		assertThat(metrics).hasSize(2);
+		assertThat(metrics.get(ok).getValue()).isEqualTo(3L);
+		assertThat(metrics.get(error).getValue()).isEqualTo(5L);
+	}
+
+	@Test
+	public void resetGroupWithTaggedMetrics() {
+		this.repository.set("foo", Collections.<Metric<?>>singleton(new Metric<Number>(
+				"bar", 1.5, new Date(), Tags.of("method", "GET"))));
+		this.repository.set("foo", Collections.<Metric<?>>singleton(new Metric<Number>(
+				"bar", 2.5, new Date(), Tags.of("method", "POST"))));
+		assertThat(this.repository.findAll("foo")).hasSize(2);
+		this.repository.reset("foo");
+		assertThat(this.repository.findAll("foo")).isEmpty();
+	}
+
 }
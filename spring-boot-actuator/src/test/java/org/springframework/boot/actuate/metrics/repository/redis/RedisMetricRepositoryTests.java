@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.util.Date;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -23,6 +25,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Iterables;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.redis.RedisTestServer;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -105,4 +108,61 @@ public class RedisMetricRepositoryTests {
 		assertThat(this.repository.count()).isEqualTo(2);
 	}
 
+	@Test
+	public void batchedWritesAreCoalescedOnFlush() {
+		this.repository.setBatched(true);
+		this.repository.increment(new Delta<>("foo", 3L));
+		this.repository.increment(new Delta<>("foo", 4L));
+		this.repository.set(new Metric<Number>("bar", 12.3));
+		assertThat(this.repository.findOne("foo")).isNull();
+		this.repository.flush();
+		assertThat(this.repository.findOne("foo").getValue().longValue()).isEqualTo(7);
+		assertThat(Iterables.collection(this.repository.findAll())).hasSize(2);
+	}
+
+	@Test
+	public void batchedSetThenIncrement() {
+		this.repository.setBatched(true);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.increment(new Delta<>("foo", 3L));
+		this.repository.setBatched(false);
+		Metric<?> metric = this.repository.findOne("foo");
+		assertThat(metric.getValue().doubleValue()).isEqualTo(15.3, offset(0.01));
+	}
+
+	@Test
+	public void taggedMetricsWithSameNameAreStoredSeparately() {
+		this.repository.increment(new Delta<>("foo", 3L));
+		this.repository.increment(
+				new Delta<>("foo", 1L, new Date(), Tags.of("status", "200")));
+		this.repository.increment(
+				new Delta<>("foo", 2L, new Date(), Tags.of("status", "500")));
+		assertThat(this.repository.findOne("foo").getValue().longValue()).isEqualTo(3);
+		assertThat(this.repository.findOne("foo.status.200").getValue().longValue())
+				.isEqualTo(1);
+		assertThat(this.repository.findOne("foo.status.500").getValue().longValue())
+				.isEqualTo(2);
+		this.repository.reset("foo.status.200");
+		this.repository.reset("foo.status.500");
+	}
+
+	@Test
+	public void batchedTaggedMetricsWithSameNameAreNotCoalesced() {
+		this.repository.setBatched(true);
+		this.repository.set(new Metric<Number>("foo", 1.5));
+		this.repository.set(
+				new Metric<Number>("foo", 2.5, new Date(), Tags.of("method", "GET")));
+		this.repository.set(
+				new Metric<Number>("foo", 3.5, new Date(), Tags.of("method", "POST")));
+		this.repository.flush();
+		assertThat(this.repository.findOne("foo").getValue().doubleValue())
+				.isEqualTo(1.5, offset(0.01));
+		assertThat(this.repository.findOne("foo.method.GET").getValue().doubleValue())
+				.isEqualTo(2.5, offset(0.01));
+		assertThat(this.repository.findOne("foo.method.POST").getValue().doubleValue())
+				.isEqualTo(3.5, offset(0.01));
+		this.repository.reset("foo.method.GET");
+		this.repository.reset("foo.method.POST");
+	}
+
 }
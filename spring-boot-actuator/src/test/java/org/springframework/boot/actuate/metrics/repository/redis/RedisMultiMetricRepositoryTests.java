@@ -18,8 +18,11 @@ package org.springframework.boot.actuate.metrics.repository.redis;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.After;
@@ -33,6 +36,7 @@ import org.junit.runners.Parameterized.Parameters;
 
 import org.springframework.boot.actuate.metrics.Iterables;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.redis.RedisTestServer;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -143,4 +147,41 @@ public class RedisMultiMetricRepositoryTests {
 		assertThat(bar.getValue()).isEqualTo(3d);
 	}
 
+	@Test
+	public void batchedIncrementAndSet() {
+		this.repository.setBatched(true);
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 1));
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 2));
+		this.repository.set("bar",
+				Arrays.<Metric<?>>asList(new Metric<Number>("bar.val", 12.3)));
+		assertThat(this.repository.countGroups()).isEqualTo(0);
+		this.repository.flush();
+		assertThat(this.repository.countGroups()).isEqualTo(2);
+		assertThat(Iterables.collection(this.repository.findAll("foo")).iterator().next()
+				.getValue()).isEqualTo(3d);
+		assertThat(Iterables.collection(this.repository.findAll("bar")).iterator().next()
+				.getValue()).isEqualTo(12.3);
+	}
+
+	@Test
+	public void taggedMetricsWithSameNameAreStoredSeparately() {
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 1, new Date(),
+				Tags.of("status", "200")));
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 2, new Date(),
+				Tags.of("status", "500")));
+		this.repository.setBatched(true);
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 3, new Date(),
+				Tags.of("status", "200")));
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 4, new Date(),
+				Tags.of("status", "500")));
+		this.repository.flush();
+		Map<String, Number> values = new HashMap<>();
+		for (Metric<?> metric : this.repository.findAll("foo")) {
+			values.put(metric.getName(), metric.getValue());
+		}
+		assertThat(values).hasSize(2);
+		assertThat(values.get("foo.bar.status.200")).isEqualTo(4d);
+		assertThat(values.get("foo.bar.status.500")).isEqualTo(6d);
+	}
+
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HistogramGaugeMetricReader}.
+ *
+ * @author agent (agent@local)
+ */
+public class HistogramGaugeMetricReaderTests {
+
+	private final InMemoryHistogramGaugeRepository repository = new InMemoryHistogramGaugeRepository();
+
+	@Test
+	public void defaultPercentiles() {
+		this.repository.record("foo", 10);
+		HistogramGaugeMetricReader reader = new HistogramGaugeMetricReader(
+				this.repository);
+		Map<String, Number> metrics = getMetrics(reader);
+		assertThat(metrics).containsOnlyKeys("foo.count", "foo.mean", "foo.max",
+				"foo.p50", "foo.p95", "foo.p99");
+		assertThat(metrics.get("foo.p99")).isEqualTo(10L);
+		assertThat(reader.count()).isEqualTo(6);
+	}
+
+	@Test
+	public void customPercentiles() {
+		this.repository.record("foo", 10);
+		HistogramGaugeMetricReader reader = new HistogramGaugeMetricReader(
+				this.repository, 0.75, 0.999);
+		assertThat(getMetrics(reader)).containsOnlyKeys("foo.count", "foo.mean",
+				"foo.max", "foo.p75", "foo.p999");
+	}
+
+	@Test
+	public void findOne() {
+		this.repository.record("foo.bar", 10);
+		this.repository.record("foo.bar", 20);
+		HistogramGaugeMetricReader reader = new HistogramGaugeMetricReader(
+				this.repository);
+		assertThat(reader.findOne("foo.bar.count").getValue()).isEqualTo(2L);
+		assertThat(reader.findOne("foo.bar.p50").getValue()).isEqualTo(10L);
+		assertThat(reader.findOne("foo.bar.p42")).isNull();
+		assertThat(reader.findOne("foo.count")).isNull();
+	}
+
+	private Map<String, Number> getMetrics(HistogramGaugeMetricReader reader) {
+		Map<String, Number> metrics = new HashMap<>();
+		for (Metric<?> metric : reader.findAll()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+}
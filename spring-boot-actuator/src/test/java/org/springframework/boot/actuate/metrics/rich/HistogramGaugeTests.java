@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.rich;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Tests for {@link HistogramGauge}.
+ *
+ * @author agent (agent@local)
+ */
+public class HistogramGaugeTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void emptyGauge() {
+		HistogramGauge gauge = new HistogramGauge("foo");
+		assertThat(gauge.getCount()).isEqualTo(0);
+		assertThat(gauge.getMin()).isEqualTo(0);
+		assertThat(gauge.getMax()).isEqualTo(0);
+		assertThat(gauge.getValueAtPercentile(0.99)).isEqualTo(0);
+	}
+
+	@Test
+	public void percentilesWithinPrecision() {
+		HistogramGauge gauge = new HistogramGauge("foo");
+		for (int i = 1; i <= 10000; i++) {
+			gauge.record(i);
+		}
+		assertThat(gauge.getCount()).isEqualTo(10000);
+		assertThat(gauge.getMin()).isEqualTo(1);
+		assertThat(gauge.getMax()).isEqualTo(10000);
+		assertThat(gauge.getMean()).isEqualTo(5000.5, offset(0.01));
+		assertThat((double) gauge.getValueAtPercentile(0.5)).isEqualTo(5000,
+				offset(50.0));
+		assertThat((double) gauge.getValueAtPercentile(0.99)).isEqualTo(9900,
+				offset(99.0));
+		assertThat(gauge.getValueAtPercentile(1)).isEqualTo(10000);
+	}
+
+	@Test
+	public void smallValuesAreExact() {
+		HistogramGauge gauge = new HistogramGauge("foo");
+		gauge.record(3);
+		gauge.record(7);
+		assertThat(gauge.getValueAtPercentile(0.5)).isEqualTo(3);
+		assertThat(gauge.getValueAtPercentile(1)).isEqualTo(7);
+	}
+
+	@Test
+	public void valuesOutOfRangeAreClamped() {
+		HistogramGauge gauge = new HistogramGauge("foo", 1000, 2);
+		gauge.record(-5);
+		gauge.record(5000);
+		assertThat(gauge.getMin()).isEqualTo(0);
+		assertThat(gauge.getMax()).isEqualTo(1000);
+		assertThat(gauge.getValueAtPercentile(1)).isEqualTo(1000);
+	}
+
+	@Test
+	public void merge() {
+		HistogramGauge first = new HistogramGauge("foo");
+		HistogramGauge second = new HistogramGauge("foo");
+		first.record(10);
+		second.record(20);
+		second.record(30);
+		first.merge(second);
+		assertThat(first.getCount()).isEqualTo(3);
+		assertThat(first.getMin()).isEqualTo(10);
+		assertThat(first.getMax()).isEqualTo(30);
+		assertThat(first.getValueAtPercentile(0.5)).isEqualTo(20);
+	}
+
+	@Test
+	public void windowedGaugeForgetsOldValues() {
+		AtomicLong time = new AtomicLong();
+		HistogramGauge gauge = new HistogramGauge("foo", 1000, 2, 3000, time::get);
+		gauge.record(500);
+		time.set(1000);
+		gauge.record(10);
+		assertThat(gauge.getCount()).isEqualTo(2);
+		assertThat(gauge.getMax()).isEqualTo(500);
+		time.set(3000);
+		assertThat(gauge.getCount()).isEqualTo(1);
+		assertThat(gauge.getMax()).isEqualTo(10);
+		assertThat(gauge.getValueAtPercentile(1)).isEqualTo(10);
+		time.set(4000);
+		assertThat(gauge.getCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void windowedGaugeIsClearedAfterBeingIdle() {
+		AtomicLong time = new AtomicLong();
+		HistogramGauge gauge = new HistogramGauge("foo", 1000, 2, 3000, time::get);
+		gauge.record(500);
+		time.set(60000);
+		assertThat(gauge.getCount()).isEqualTo(0);
+		gauge.record(20);
+		assertThat(gauge.getCount()).isEqualTo(1);
+		assertThat(gauge.getMax()).isEqualTo(20);
+	}
+
+	@Test
+	public void mergeWithDifferentLayout() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new HistogramGauge("foo", 1000, 2).merge(new HistogramGauge("foo", 1000, 3));
+	}
+
+}
@@ -21,12 +21,14 @@ import java.net.DatagramSocket;
 import java.net.SocketException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.junit.After;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.Tags;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.util.SocketUtils;
 
@@ -106,6 +108,15 @@ public class StatsdMetricWriterTests {
 				.isEqualTo("me.counter.fo-o:3|c");
 	}
 
+	@Test
+	public void incrementTaggedMetric() throws Exception {
+		this.writer.increment(new Delta<>("counter.status", 3L, new Date(),
+				Tags.of("method", "GET", "status", "200")));
+		this.server.waitForMessage();
+		assertThat(this.server.messagesReceived().get(0))
+				.isEqualTo("me.counter.status.method.GET.status.200:3|c");
+	}
+
 	@Test
 	public void setMetricWithInvalidCharsInName() throws Exception {
 		this.writer.set(new Metric<Long>("gauge.f:o:o", 3L));
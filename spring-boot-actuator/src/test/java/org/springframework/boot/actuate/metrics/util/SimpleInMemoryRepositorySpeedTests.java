@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import org.springframework.boot.actuate.metrics.util.SimpleInMemoryRepository.Callback;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for {@link SimpleInMemoryRepository} comparing locking and lock-free
+ * updates with different numbers of writer threads. Run with
+ * {@code -Dperformance.test=true} for meaningful numbers.
+ *
+ * @author agent (agent@local)
+ */
+@RunWith(Theories.class)
+public class SimpleInMemoryRepositorySpeedTests {
+
+	@DataPoints
+	public static int[] threadCounts = new int[] { 1, 8, 32, 64 };
+
+	@DataPoints
+	public static boolean[] lockFree = new boolean[] { false, true };
+
+	private static final String[] names = new String[] { "foo", "bar", "spam",
+			"bucket" };
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 10000000
+			: 100000;
+
+	private static StopWatch watch = new StopWatch("update");
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Theory
+	public void update(int threadCount, boolean lockFree) throws Exception {
+		final SimpleInMemoryRepository<Long> repository = new SimpleInMemoryRepository<>();
+		repository.setLockFree(lockFree);
+		final int perThread = number / threadCount;
+		final Callback<Long> increment = new Callback<Long>() {
+
+			@Override
+			public Long modify(Long current) {
+				return (current == null ? 1L : current + 1L);
+			}
+
+		};
+		Runnable task = new Runnable() {
+
+			@Override
+			public void run() {
+				for (int i = 0; i < perThread; i++) {
+					repository.update(names[i % names.length], increment);
+				}
+			}
+
+		};
+		ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+		watch.start((lockFree ? "lockFree" : "locking") + "(" + threadCount + ")");
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			futures.add(pool.submit(task));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		watch.stop();
+		pool.shutdown();
+		double rate = (double) perThread * threadCount / watch.getLastTaskTimeMillis()
+				* 1000;
+		System.err.println("Rate(" + watch.getLastTaskName() + ")=" + rate);
+		long total = 0;
+		for (Long value : repository.findAll()) {
+			total += value;
+		}
+		assertThat(total).isEqualTo((long) perThread * threadCount);
+	}
+
+}
@@ -101,6 +101,35 @@ public class SimpleInMemoryRepositoryTests {
 		assertThat(repository.findOne("foo")).isEqualTo(0);
 	}
 
+	@Test
+	public void updateConcurrentLockFree() throws Exception {
+		SimpleInMemoryRepository<Integer> repository = new SimpleInMemoryRepository<>();
+		repository.setLockFree(true);
+		Collection<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			tasks.add(new RepositoryUpdate(repository, 1));
+			tasks.add(new RepositoryUpdate(repository, -1));
+		}
+		List<Future<Boolean>> all = Executors.newFixedThreadPool(10).invokeAll(tasks);
+		for (Future<Boolean> future : all) {
+			assertThat(future.get(1, TimeUnit.SECONDS)).isTrue();
+		}
+		assertThat(repository.findOne("foo")).isEqualTo(0);
+	}
+
+	@Test
+	public void updateAfterRemove() {
+		this.repository.set("foo", "spam");
+		this.repository.remove("foo");
+		this.repository.update("foo", new Callback<String>() {
+			@Override
+			public String modify(String current) {
+				return (current == null ? "bar" : current);
+			}
+		});
+		assertThat(this.repository.findOne("foo")).isEqualTo("bar");
+	}
+
 	private static class RepositoryUpdate implements Callable<Boolean> {
 
 		private final SimpleInMemoryRepository<Integer> repository;
@@ -22,6 +22,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.boot.actuate.metrics.Tags;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -78,6 +80,16 @@ public class DefaultCounterServiceTests {
 		assertThat(this.captor.getValue().getValue()).isEqualTo(-1L);
 	}
 
+	@Test
+	public void incrementTagged() {
+		Tags tags = Tags.of("status", "200");
+		this.service.increment("foo", tags);
+		verify(this.repository).increment(this.captor.capture());
+		assertThat(this.captor.getValue().getName()).isEqualTo("counter.foo");
+		assertThat(this.captor.getValue().getTags()).isSameAs(tags);
+		assertThat(this.captor.getValue().getValue()).isEqualTo(1L);
+	}
+
 	@Test
 	public void resetResetsCounter() throws Exception {
 		this.service.reset("foo");
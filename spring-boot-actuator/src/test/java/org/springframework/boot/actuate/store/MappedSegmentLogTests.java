@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.store;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.actuate.store.MappedSegmentLog.RecordCallback;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedSegmentLog}.
+ *
+ * @author agent (agent@local)
+ */
+public class MappedSegmentLogTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private MappedSegmentLog log;
+
+	@After
+	public void close() throws Exception {
+		if (this.log != null) {
+			this.log.close();
+		}
+	}
+
+	@Test
+	public void readInOrder() throws Exception {
+		this.log = new MappedSegmentLog(this.temp.getRoot());
+		append(1, "foo");
+		append(2, "bar");
+		assertThat(read(0, false)).containsExactly("1:foo", "2:bar");
+		assertThat(read(0, true)).containsExactly("2:bar", "1:foo");
+	}
+
+	@Test
+	public void readAfter() throws Exception {
+		this.log = new MappedSegmentLog(this.temp.getRoot());
+		append(1, "foo");
+		append(2, "bar");
+		append(3, "baz");
+		assertThat(read(2, false)).containsExactly("2:bar", "3:baz");
+	}
+
+	@Test
+	public void readEmptyPayload() throws Exception {
+		this.log = new MappedSegmentLog(this.temp.getRoot());
+		append(1, "");
+		assertThat(read(0, false)).containsExactly("1:");
+	}
+
+	@Test
+	public void oldestSegmentsAreDeleted() throws Exception {
+		// Each record takes 18 bytes so a segment holds 3 of them
+		this.log = new MappedSegmentLog(this.temp.getRoot(), 64, 2);
+		for (int i = 0; i < 10; i++) {
+			append(i, "r" + i);
+		}
+		assertThat(this.log.getSegmentCount()).isEqualTo(2);
+		assertThat(this.temp.getRoot().list()).hasSize(2);
+		assertThat(read(0, false)).containsExactly("6:r6", "7:r7", "8:r8", "9:r9");
+	}
+
+	@Test
+	public void recordsSurviveReopening() throws Exception {
+		File directory = this.temp.getRoot();
+		this.log = new MappedSegmentLog(directory, 64, 4);
+		for (int i = 0; i < 4; i++) {
+			append(i, "r" + i);
+		}
+		this.log.close();
+		this.log = new MappedSegmentLog(directory, 64, 4);
+		append(4, "r4");
+		assertThat(read(0, false)).containsExactly("0:r0", "1:r1", "2:r2", "3:r3",
+				"4:r4");
+	}
+
+	@Test
+	public void otherFilesAreIgnored() throws Exception {
+		File directory = this.temp.getRoot();
+		this.log = new MappedSegmentLog(directory, 64, 4);
+		append(0, "r0");
+		this.log.close();
+		assertThat(new File(directory, "backup.log").createNewFile()).isTrue();
+		assertThat(new File(directory, "1.log").createNewFile()).isTrue();
+		assertThat(new File(directory, "99999999999999999999.log").createNewFile())
+				.isTrue();
+		this.log = new MappedSegmentLog(directory, 64, 4);
+		assertThat(this.log.getSegmentCount()).isEqualTo(1);
+		assertThat(read(0, false)).containsExactly("0:r0");
+	}
+
+	@Test
+	public void recordLargerThanSegment() throws Exception {
+		this.log = new MappedSegmentLog(this.temp.getRoot(), 64, 2);
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("does not fit in a segment");
+		this.log.append(0, new byte[64]);
+	}
+
+	private void append(long timestamp, String payload) {
+		this.log.append(timestamp, payload.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private List<String> read(long after, boolean reverse) {
+		final List<String> records = new ArrayList<>();
+		this.log.read(after, reverse, new RecordCallback() {
+
+			@Override
+			public boolean doWithRecord(long timestamp, ByteBuffer payload) {
+				byte[] bytes = new byte[payload.remaining()];
+				payload.get(bytes);
+				records.add(timestamp + ":" + new String(bytes, StandardCharsets.UTF_8));
+				return true;
+			}
+
+		});
+		return records;
+	}
+
+}
@@ -18,6 +18,9 @@ package org.springframework.boot.actuate.trace;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -57,4 +60,40 @@ public class InMemoryTraceRepositoryTests {
 		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("foo");
 	}
 
+	@Test
+	public void capacityIncreasedKeepsExistingTraces() {
+		this.repository.setCapacity(2);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		this.repository.setCapacity(3);
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(3);
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(2).getInfo().get("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void concurrentAdds() throws Exception {
+		this.repository.setCapacity(10);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 1000; i++) {
+			final int value = i;
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					InMemoryTraceRepositoryTests.this.repository.add(
+							Collections.<String, Object>singletonMap("value", value));
+				}
+
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(10);
+		assertThat(traces).doesNotContainNull();
+	}
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedFileTraceRepository}.
+ *
+ * @author agent (agent@local)
+ */
+public class MappedFileTraceRepositoryTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private MappedFileTraceRepository repository;
+
+	@After
+	public void close() throws Exception {
+		if (this.repository != null) {
+			this.repository.close();
+		}
+	}
+
+	@Test
+	public void limited() throws Exception {
+		this.repository = new MappedFileTraceRepository(this.temp.getRoot());
+		this.repository.setLimit(2);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void reverseFalse() throws Exception {
+		this.repository = new MappedFileTraceRepository(this.temp.getRoot());
+		this.repository.setReverse(false);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces.get(0).getInfo().get("foo")).isEqualTo("bar");
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void tracesSurviveReopening() throws Exception {
+		this.repository = new MappedFileTraceRepository(this.temp.getRoot());
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.close();
+		this.repository = new MappedFileTraceRepository(this.temp.getRoot());
+		assertThat(this.repository.findAll()).hasSize(1);
+		assertThat(this.repository.findAll().get(0).getInfo()).containsEntry("foo",
+				"bar");
+	}
+
+}
@@ -39,6 +39,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -318,4 +319,53 @@ public class WebRequestTraceFilterTests {
 		assertThat(map.get("request").toString()).isEqualTo("{Accept=application/json}");
 	}
 
+	@Test
+	public void filterDoesNotCaptureRequestsThatAreNotSampled() throws Exception {
+		this.properties.getSampling().setRate(0);
+		MockHttpServletRequest request = spy(new MockHttpServletRequest("GET", "/foo"));
+		request.addHeader("Accept", "application/json");
+		this.filter.doFilter(request, new MockHttpServletResponse(),
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+		verify(request, never()).getHeaderNames();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterAlwaysTracesServerErrors() throws Exception {
+		this.properties.getSampling().setRate(0);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		request.addHeader("Accept", "application/json");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setStatus(503);
+		this.filter.doFilter(request, response, new MockFilterChain());
+		assertThat(this.repository.findAll()).hasSize(1);
+		Map<String, Object> headers = (Map<String, Object>) this.repository.findAll()
+				.get(0).getInfo().get("headers");
+		assertThat(headers.get("request").toString())
+				.isEqualTo("{Accept=application/json}");
+	}
+
+	@Test
+	public void filterDoesNotTraceServerErrorsWhenDisabled() throws Exception {
+		this.properties.getSampling().setRate(0);
+		this.properties.getSampling().setErrors(false);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setStatus(503);
+		this.filter.doFilter(new MockHttpServletRequest("GET", "/foo"), response,
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
+	@Test
+	public void filterAlwaysTracesSlowRequests() throws Exception {
+		this.properties.getSampling().setRate(0);
+		this.properties.getSampling().setSlowThreshold(0L);
+		this.filter.doFilter(new MockHttpServletRequest("GET", "/foo"),
+				new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(this.repository.findAll()).hasSize(1);
+		assertThat(this.repository.findAll().get(0).getInfo().get("path"))
+				.isEqualTo("/foo");
+	}
+
 }
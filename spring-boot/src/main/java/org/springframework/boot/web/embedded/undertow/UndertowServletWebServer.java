@@ -85,7 +85,7 @@ public class UndertowServletWebServer implements WebServer {
 
 	private final String serverHeader;
 
-	private Undertow undertow;
+	private volatile Undertow undertow;
 
 	private volatile boolean started = false;
 
@@ -329,6 +329,15 @@ public class UndertowServletWebServer implements WebServer {
 		return ports.get(0).getNumber();
 	}
 
+	/**
+	 * Returns access to the underlying Undertow server. Safe to call from any thread,
+	 * e.g. to read statistics while the server is starting.
+	 * @return the Undertow server or {@code null} if the server has not been started
+	 */
+	public Undertow getUndertow() {
+		return this.undertow;
+	}
+
 	/**
 	 * An active Undertow port.
 	 */